@@ -28,13 +28,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.stream.Collectors;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -57,7 +54,6 @@ public class GLXMLReader extends DefaultHandler {
         String name;
         int value;
         boolean hasValue;
-        boolean used;
 
         GLenum() {
         }
@@ -329,21 +325,6 @@ public class GLXMLReader extends DefaultHandler {
         }
     }
 
-    /**
-     * https://stackoverflow.com/questions/109383/sort-a-mapkey-value-by-values-java#answer-2581754
-     */
-    static <K, V extends Comparable<? super V>> Map<K, V> sortByValue(Map<K, V> map) {
-        return map.entrySet()
-                  .stream()
-                  .sorted(Map.Entry.comparingByValue(/*Collections.reverseOrder()*/))
-                  .collect(Collectors.toMap(
-                    Map.Entry::getKey, 
-                    Map.Entry::getValue, 
-                    (e1, e2) -> e1, 
-                    LinkedHashMap::new
-                  ));
-    }
-
     private static String sanitize(String name) {
         if (name == null) return null;
         return name.replaceAll("[^a-zA-Z0-9_]", "_");
@@ -356,6 +337,59 @@ public class GLXMLReader extends DefaultHandler {
         return false;
     }
 
+    /* Number of enums per string constant, to stay well below the 64K constant pool entry limit */
+    private static final int ENUMS_PER_CHUNK = 500;
+
+    /**
+     * Append the accessor of an EnumGroup whose values are sorted and packed into string constants, which is much smaller than code
+     * populating a map.
+     */
+    private static void appendEnumGroup(StringBuilder sb, String visibility, String name, Map<Integer, String> entries) {
+        int[] values = entries.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        StringBuilder valueChunks = new StringBuilder();
+        StringBuilder nameChunks = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i % ENUMS_PER_CHUNK == 0) {
+                if (i > 0) {
+                    valueChunks.append("\", ");
+                    nameChunks.append("\", ");
+                }
+                valueChunks.append("\"");
+                nameChunks.append("\"");
+            } else {
+                nameChunks.append(' ');
+            }
+            appendChar(valueChunks, (char) (values[i] >>> 16));
+            appendChar(valueChunks, (char) values[i]);
+            nameChunks.append(entries.get(values[i]));
+        }
+        if (values.length > 0) {
+            valueChunks.append("\"");
+            nameChunks.append("\"");
+        }
+        sb.append("  private static EnumGroup ").append(name).append(";\n");
+        sb.append("  ").append(visibility).append(" static EnumGroup ").append(name).append("() {\n");
+        sb.append("    if (").append(name).append(" != null)\n");
+        sb.append("      return ").append(name).append(";\n");
+        sb.append("    ").append(name).append(" = EnumGroup.decode(new String[] {").append(valueChunks).append("}, new String[] {").append(nameChunks).append("});\n");
+        sb.append("    return ").append(name).append(";\n");
+        sb.append("  }\n");
+    }
+
+    private static void appendChar(StringBuilder sb, char c) {
+        if (c == '"' || c == '\\') {
+            sb.append('\\').append(c);
+        } else if (c >= 0x20 && c < 0x7F) {
+            sb.append(c);
+        } else {
+            /* Line terminators must not be written as unicode escapes, because these are translated before the string literal is parsed */
+            if (c == '\n' || c == '\r')
+                sb.append(String.format("\\%03o", (int) c));
+            else
+                sb.append(String.format("\\u%04x", (int) c));
+        }
+    }
+
     private void generate() throws Exception {
         StringBuilder sb = new StringBuilder();
         StringBuilder prolog = new StringBuilder();
@@ -366,104 +400,22 @@ public class GLXMLReader extends DefaultHandler {
         FileOutputStream fos = new FileOutputStream(file);
         Writer writer = new OutputStreamWriter(fos);
         prolog.append("package org.lwjglx.debug;\n");
-        prolog.append("import java.util.Map;\n");
-        prolog.append("import java.util.HashMap;\n");
         prolog.append("public class GLmetadata {\n");
-        /* See which GLenum is actually used in a group*/
-        for (Group group : groups.values()) {
-            for (GLenum e : group.enums.values()) {
-                if (!e.hasValue)
-                    continue;
-                if ((e.name.endsWith("_ARB") || e.name.endsWith("_EXT") || e.name.endsWith("_NV") || e.name.endsWith("_OES") || e.name.endsWith("_ATI")) && group.enums.containsValue(new GLenum(e.value))) {
-                    continue;
-                }
-                e.used = true;
-            }
-        }
-        /* See which GLenum is used in an extension */
-        for (Extension ext : extensions.values()) {
-            if (ext.commands.isEmpty())
-                continue;
-            /* Are there any commands referencing this extension? */
-            boolean commandReferences = false;
-            for (Command cmd : commands.values()) {
-                if (cmd.extension == ext) {
-                    commandReferences = true;
-                    break;
-                }
-            }
-            if (!commandReferences)
-                continue;
-            /* Does this extension has any commands we need to resolve parameters of? */
-            boolean hasCommands = false;
-            for (Command cmd : ext.commands.values()) {
-                for (Param param : cmd.params) {
-                    if ("GLboolean".equals(param.type) || "GLenum".equals(param.type) || "GLbitfield".equals(param.type)) {
-                        hasCommands = true;
-                        break;
-                    }
-                }
-                if ("GLboolean".equals(cmd.returnType.type) || "GLenum".equals(cmd.returnType.type) || "GLbitfield".equals(cmd.returnType.type)) {
-                    hasCommands = true;
-                }
-            }
-            if (!hasCommands) {
-                continue;
-            }
-            for (GLenum e : ext.enums.values()) {
-                if (!e.hasValue)
-                    continue;
-                e.used = true;
-            }
-        }
-        /* Print used GLenums */
-        for (GLenum e : sortByValue(enums).values()) {
-            if (!e.hasValue || !e.used)
-                continue;
-            sb.append("  private static final int ").append(e.name).append(" = ").append(e.value).append(";\n");
-        }
         for (Group group : groups.values()) {
             String gname = sanitize(group.name);
             if (gname == null) {
                 gname = "_null_";
             }
-            int numEnums = 0;
-            Iterator<GLenum> it = group.enums.values().iterator();
-            while (it.hasNext()) {
-                GLenum e = it.next();
+            Map<Integer, String> entries = new HashMap<>();
+            for (GLenum e : group.enums.values()) {
                 if (!e.hasValue)
                     continue;
                 if ((e.name.endsWith("_ARB") || e.name.endsWith("_EXT") || e.name.endsWith("_NV") || e.name.endsWith("_OES") || e.name.endsWith("_ATI")) && group.enums.containsValue(new GLenum(e.value))) {
                     continue;
                 }
-                numEnums++;
+                entries.put(e.value, e.name);
             }
-            sb.append("  private static Map<Integer, String> ").append(gname).append(";\n");
-            int i = 0;
-            it = group.enums.values().iterator();
-            StringBuilder groupInit = new StringBuilder();
-            do {
-                sb.append("  private static void ").append(gname).append(i).append("() {\n");
-                groupInit.append("    ").append(gname).append(i).append("();\n");
-                for (int t = 0; it.hasNext() && t < 100; t++) {
-                    GLenum e = it.next();
-                    if (!e.hasValue)
-                        continue;
-                    if ((e.name.endsWith("_ARB") || e.name.endsWith("_EXT") || e.name.endsWith("_NV") || e.name.endsWith("_OES") || e.name.endsWith("_ATI")) && group.enums.containsValue(new GLenum(e.value))) {
-                        continue;
-                    }
-                    sb.append("    ").append(gname).append(".put(").append(e.name).append(", \"").append(e.name).append("\");\n");
-                }
-                sb.append("  }\n");
-                i++;
-            } while (it.hasNext());
-            sb.append("  public static Map<Integer, String> ").append(gname).append("() {\n");
-            sb.append("    if (").append(gname).append(" != null)\n");
-            sb.append("      return ").append(gname).append(";\n");
-            sb.append("    ").append(gname).append(" = new HashMap<Integer, String>(").append(numEnums).append(");\n");
-            sb.append(groupInit.toString());
-            sb.append("    return ").append(gname).append(";\n");
-            sb.append("  }\n");
+            appendEnumGroup(sb, "public", gname, entries);
         }
         for (Extension ext : extensions.values()) {
             if (ext.enums.isEmpty() || ext.commands.isEmpty())
@@ -506,34 +458,14 @@ public class GLXMLReader extends DefaultHandler {
             }
             if (!commandReferences)
                 continue;
-            int numEnums = 0;
-            for (GLenum e : ext.enums.values()) {
-                if (!e.hasValue)
-                    continue;
-                numEnums++;
-            }
-            sb.append("  private static Map<Integer, String> ").append(ext.name).append(";\n");
-            sb.append("  private static Map<Integer, String> ").append(ext.name).append("() {\n");
-            sb.append("    if (").append(ext.name).append(" != null)\n");
-            sb.append("      return ").append(ext.name).append(";\n");
-            sb.append("    ").append(ext.name).append(" = new HashMap<Integer, String>(").append(numEnums).append(");\n");
+            Map<Integer, String> entries = new HashMap<>();
             for (GLenum e : ext.enums.values()) {
                 if (!e.hasValue)
                     continue;
-                sb.append("    ").append(ext.name).append(".put(").append(e.name).append(", \"").append(e.name).append("\");\n");
+                entries.put(e.value, e.name);
             }
-            sb.append("    return ").append(ext.name).append(";\n");
-            sb.append("  }\n");
+            appendEnumGroup(sb, "private", ext.name, entries);
         }
-        
-        prolog.append("  @SafeVarargs\n");
-        prolog.append("  private static Map<Integer, String> merge(Map<Integer, String>... maps) {\n");
-        prolog.append("    Map<Integer, String> result = new HashMap<>();\n");
-        prolog.append("    for (Map<Integer, String> map : maps) {\n");
-        prolog.append("      if (map != null) result.putAll(map);\n");
-        prolog.append("    }\n");
-        prolog.append("    return result;\n");
-        prolog.append("  }\n");
 
         for (Command cmd : commands.values()) {
             boolean found = false;
@@ -558,7 +490,7 @@ public class GLXMLReader extends DefaultHandler {
             sb.append("  public static Command ").append(cmd.name).append("() {\n");
             sb.append("    if (").append(cmd.name).append(" != null)\n");
             sb.append("      return ").append(cmd.name).append(";\n");
-            sb.append("    Command cmd = new Command(").append(numParams).append(");\n");
+            sb.append("    Command cmd = new Command(\"").append(cmd.name).append("\", ").append(numParams).append(");\n");
             
             if (!cmd.returnType.groups.isEmpty()) {
                 if (cmd.returnType.groups.size() == 1) {
@@ -566,7 +498,7 @@ public class GLXMLReader extends DefaultHandler {
                     if (gname == null) gname = "_null_";
                     sb.append("    cmd.returnGroup = ").append(gname).append("();\n");
                 } else {
-                    sb.append("    cmd.returnGroup = merge(");
+                    sb.append("    cmd.returnGroup = EnumGroup.merge(");
                     int i = 0;
                     for (Group g : cmd.returnType.groups) {
                         if (i > 0) sb.append(", ");
@@ -590,7 +522,7 @@ public class GLXMLReader extends DefaultHandler {
                         if (gname == null) gname = "_null_";
                         sb.append("    cmd.addParam(\"").append(param.name).append("\", ").append(gname).append("());\n");
                     } else {
-                        sb.append("    cmd.addParam(\"").append(param.name).append("\", merge(");
+                        sb.append("    cmd.addParam(\"").append(param.name).append("\", EnumGroup.merge(");
                         int i = 0;
                         for (Group g : param.groups) {
                             if (i > 0) sb.append(", ");
@@ -32,9 +32,10 @@ import java.lang.instrument.IllegalClassFormatException;
 import java.lang.instrument.Instrumentation;
 import java.security.ProtectionDomain;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import org.lwjglx.debug.org.lwjgl.opengl.Context;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
@@ -42,6 +43,8 @@ import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.LocalVariablesSorter;
 import org.objectweb.asm.util.TraceClassVisitor;
 
 import joptsimple.OptionParser;
@@ -52,9 +55,15 @@ public class Agent implements ClassFileTransformer, Opcodes {
 
     private static final String RT_InternalName = "org/lwjglx/debug/RT";
 
-    private static final AtomicInteger counter = new AtomicInteger();
+    /* The transformer installed via premain() or agentmain(), if any */
+    private static Agent attached;
+    /* Each attach gets its own Instrumentation, and only the one used to add the transformer can remove it again */
+    private static Instrumentation attachedInstrumentation;
 
     private final Set<Pattern> excludes;
+    /* Names of the classes modified by a transformer that is able to retransform, so that they can be restored on detach */
+    private final Set<String> transformedClasses = ConcurrentHashMap.newKeySet();
+    private boolean retransforming;
 
     private Agent(Set<Pattern> excludes) {
         this.excludes = excludes;
@@ -79,6 +88,9 @@ public class Agent implements ClassFileTransformer, Opcodes {
     }
 
     private String resolveOwner(String methodOwner, String methodName, String methodDesc) {
+        String indexedOwner = MethodIndex.resolveOwner(methodOwner, methodName, methodDesc);
+        if (indexedOwner != null)
+            return indexedOwner;
         StringBuilder resolvedOwner = new StringBuilder(); // <- just a container for a String
         try {
             ClassReader cr;
@@ -107,6 +119,30 @@ public class Agent implements ClassFileTransformer, Opcodes {
         return resolvedOwner.length() == 0 ? null : resolvedOwner.toString();
     }
 
+    /* Maximum number of locals remembering the last buffer whose endianness was recorded, which the write sites of a method share */
+    private static final int MAX_WRITTEN_BUFFER_LOCALS = 8;
+
+    private static Map<String, Integer> methodsWithMultiByteWrites(ClassReader cr) {
+        Map<String, Integer> methods = new HashMap<String, Integer>();
+        cr.accept(new ClassVisitor(ASM9) {
+            public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+                return new MethodVisitor(ASM9) {
+                    public void visitMethodInsn(int opcode, String owner, String mname, String mdesc, boolean itf) {
+                        if (opcode == INVOKEVIRTUAL && Util.isBuffer(owner) && Util.isMultiByteWrite(owner, mname)) {
+                            Integer sites = methods.get(name + desc);
+                            methods.put(name + desc, sites != null ? sites + 1 : 1);
+                        }
+                    }
+                };
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return methods;
+    }
+
+    private static boolean isBufferStateChange(String name, String desc) {
+        return name.equals("order") && desc.startsWith("(Ljava/nio/ByteOrder;)") || name.equals("position") && desc.startsWith("(I)");
+    }
+
     private static final Map<String, Set<String>> mustInstrumentMethods = new HashMap<>();
     {
         mustInstrumentMethods.put("org/lwjgl/glfw/GLFWErrorCallback", Collections.singleton("set()Lorg/lwjgl/glfw/GLFWErrorCallback;"));
@@ -130,26 +166,53 @@ public class Agent implements ClassFileTransformer, Opcodes {
 	);
 
     private static boolean isPackageOfClassExcluded(String className) {
-    	return excludedPackagePrefixes.stream().anyMatch(packagePrefix -> className.startsWith(packagePrefix));
+    	/* No lambda here, which would need to load classes while the transformer is already running when attaching */
+    	for (String packagePrefix : excludedPackagePrefixes) {
+    		if (className.startsWith(packagePrefix))
+    			return true;
+    	}
+    	return false;
     }
 
     private byte[] transform_(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
         if ((className == null || isPackageOfClassExcluded(className)) && !mustInstrumentMethods.containsKey(className)) {
             return null;
         }
+        String cacheKey = ClassCache.key(className, classfileBuffer);
+        if (cacheKey != null) {
+            ClassCache.Entry entry = ClassCache.load(cacheKey);
+            boolean proxiesDefined = true;
+            if (entry != null) {
+                for (Proxy proxy : entry.proxies) {
+                    proxiesDefined &= InterceptClassGenerator.defineCached(loader, proxy);
+                }
+            }
+            if (entry != null && proxiesDefined) {
+                if (DEBUG.enabled)
+                    debug("Using cached transformation of: " + className);
+                Log.maxSourceLength = Math.max(Log.maxSourceLength, entry.sourceLength);
+                Log.maxLineNumberLength = Math.max(Log.maxLineNumberLength, entry.lineNumberLength);
+                if (retransforming && entry.classBytes != null)
+                    transformedClasses.add(className);
+                return entry.classBytes;
+            }
+        }
         boolean forcedInstrumentation = mustInstrumentMethods.containsKey(className);
         Set<String> forceInstrumentationMethods = forcedInstrumentation ? mustInstrumentMethods.get(className) : null;
         ClassReader cr = new ClassReader(classfileBuffer);
+        /* Methods writing to NIO buffers get locals remembering the last buffers whose endianness was recorded */
+        Map<String, Integer> bufferWritingMethods = methodsWithMultiByteWrites(cr);
         ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
         class Modifications {
             boolean modified;
             boolean needsProxyClass;
             String sourceFile;
+            int lineNumberLength = 1;
         }
         final Modifications modifications = new Modifications();
         Map<String, InterceptedCall> calls = new LinkedHashMap<String, InterceptedCall>();
-        String callerName = className.replace('.', '/');
-        String proxyName = "org/lwjglx/debug/$Proxy$" + counter.incrementAndGet();
+        /* The distinct proxy classes called, to be stored in the class cache */
+        Map<String, Proxy> proxies = new LinkedHashMap<String, Proxy>();
         ClassVisitor cv = new ClassVisitor(ASM9, cw) {
             public void visitSource(String source, String debug) {
                 super.visitSource(source, debug);
@@ -161,8 +224,17 @@ public class Agent implements ClassFileTransformer, Opcodes {
                 MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
                 if (forcedInstrumentation && !forceInstrumentationMethods.contains(name + desc))
                     return mv;
-                return new MethodVisitor(ASM9, mv) {
+                MethodVisitor writer = mv;
+                Integer writeSites = bufferWritingMethods.get(name + desc);
+                LocalVariablesSorter lvs = writeSites != null ? new LocalVariablesSorter(access, desc, mv) : null;
+                return new MethodVisitor(ASM9, lvs != null ? lvs : mv) {
                     private int lastLineNumber = -1;
+                    /*
+                     * One local per write site, so that a loop filling several buffers in turn, such as positions and normals, hits on every
+                     * buffer. Only when there are more sites than locals do sites share a local.
+                     */
+                    private int[] lastWrittenBuffers;
+                    private int writeSite;
 
                     public void visitCode() {
                         // Check main method
@@ -172,6 +244,19 @@ public class Agent implements ClassFileTransformer, Opcodes {
                             modifications.modified = true;
                         }
                         super.visitCode();
+                        if (lvs != null) {
+                            lastWrittenBuffers = new int[Math.min(writeSites, MAX_WRITTEN_BUFFER_LOCALS)];
+                            for (int i = 0; i < lastWrittenBuffers.length; i++)
+                                lastWrittenBuffers[i] = lvs.newLocal(Type.getType(Object.class));
+                            forgetWrittenBuffers();
+                        }
+                    }
+
+                    private void forgetWrittenBuffers() {
+                        for (int local : lastWrittenBuffers) {
+                            writer.visitInsn(ACONST_NULL);
+                            writer.visitVarInsn(ASTORE, local);
+                        }
                     }
 
                     public void visitLineNumber(int line, Label start) {
@@ -202,14 +287,15 @@ public class Agent implements ClassFileTransformer, Opcodes {
                                             resolvedOwner = resolvedOwner.substring(0, resolvedOwner.length() - 1);
                                         }
                                         call = new InterceptedCall(owner, resolvedOwner, name, desc);
-                                        String methodName;
-                                        methodName = name + call.index;
-                                        call.generatedMethodName = methodName;
+                                        Proxy proxy = InterceptClassGenerator.proxy(loader, call);
+                                        call.proxyInternalName = proxy.name;
+                                        proxies.put(proxy.name, proxy);
                                         calls.put(key, call);
                                     }
-                                    Log.maxLineNumberLength = Math.max(Log.maxLineNumberLength, (int) (Math.log10(lastLineNumber) + 1));
+                                    modifications.lineNumberLength = Math.max(modifications.lineNumberLength, (int) (Math.log10(lastLineNumber) + 1));
+                                    Log.maxLineNumberLength = Math.max(Log.maxLineNumberLength, modifications.lineNumberLength);
                                     // modify invokedynamic handle
-                                    Handle newHandle = new Handle(H_INVOKESTATIC, proxyName, call.generatedMethodName, call.desc, false);
+                                    Handle newHandle = new Handle(H_INVOKESTATIC, call.proxyInternalName, call.name, call.desc, false);
                                     bootstrapMethodArguments[1] = newHandle;
                                     modifications.needsProxyClass = true;
                                 }
@@ -219,7 +305,24 @@ public class Agent implements ClassFileTransformer, Opcodes {
                     }
 
                     public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
-                        if (opcode == INVOKEVIRTUAL && Util.isBuffer(owner) && Util.isMultiByteWrite(owner, name)) {
+                        if (opcode == INVOKEVIRTUAL && Util.isBuffer(owner) && Util.isMultiByteWrite(owner, name) && lastWrittenBuffers != null && desc.endsWith(")L" + owner + ";")) {
+                            /*
+                             * Keep the intrinsic store and only record the endianness when the returned buffer is not the one
+                             * last recorded by this write site in this method invocation. Tight buffer-filling loops then skip the map lookups.
+                             */
+                            int lastWrittenBuffer = lastWrittenBuffers[writeSite++ % lastWrittenBuffers.length];
+                            super.visitMethodInsn(opcode, owner, name, desc, itf);
+                            writer.visitInsn(DUP);
+                            writer.visitVarInsn(ALOAD, lastWrittenBuffer);
+                            writer.visitMethodInsn(INVOKESTATIC, RT_InternalName, "written", "(L" + owner + ";Ljava/lang/Object;)Ljava/lang/Object;", false);
+                            writer.visitVarInsn(ASTORE, lastWrittenBuffer);
+                            modifications.modified = true;
+                        } else if (opcode == INVOKEVIRTUAL && Util.isBuffer(owner) && lastWrittenBuffers != null && isBufferStateChange(name, desc)) {
+                            /* A buffer's byte order or position changed, so record the next write of any buffer again */
+                            super.visitMethodInsn(opcode, owner, name, desc, itf);
+                            forgetWrittenBuffers();
+                            modifications.modified = true;
+                        } else if (opcode == INVOKEVIRTUAL && Util.isBuffer(owner) && Util.isMultiByteWrite(owner, name)) {
                             mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, name, "(L" + owner + ";" + desc.substring(1), itf);
                             modifications.modified = true;
                         } else if (opcode == INVOKEVIRTUAL && owner.equals("java/nio/ByteBuffer") && Util.isTypedViewMethod(name)) {
@@ -250,18 +353,26 @@ public class Agent implements ClassFileTransformer, Opcodes {
                                     resolvedOwner = resolvedOwner.substring(0, resolvedOwner.length() - 1);
                                 }
                                 call = new InterceptedCall(owner, resolvedOwner, name, desc);
-                                String methodName;
-                                methodName = name + call.index;
-                                call.generatedMethodName = methodName;
+                                Proxy proxy = InterceptClassGenerator.proxy(loader, call);
+                                call.proxyInternalName = proxy.name;
+                                proxies.put(proxy.name, proxy);
                                 calls.put(key, call);
                             }
-                            Log.maxLineNumberLength = Math.max(Log.maxLineNumberLength, (int) (Math.log10(lastLineNumber) + 1));
-                            String proxyDesc = call.desc;
-                            if (TRACE.enabled) {
+                            modifications.lineNumberLength = Math.max(modifications.lineNumberLength, (int) (Math.log10(lastLineNumber) + 1));
+                            Log.maxLineNumberLength = Math.max(Log.maxLineNumberLength, modifications.lineNumberLength);
+                            if (TRACE.enabled || MUTABLE.enabled) {
+                                /* Pass the call site to the shared proxy */
+                                if (modifications.sourceFile != null)
+                                    mv.visitLdcInsn(modifications.sourceFile);
+                                else
+                                    mv.visitInsn(ACONST_NULL);
                                 Util.ldcI(mv, lastLineNumber);
-                                proxyDesc = call.desc.substring(0, call.desc.lastIndexOf(')')) + "I" + call.desc.substring(call.desc.lastIndexOf(')'));
                             }
-                            mv.visitMethodInsn(INVOKESTATIC, proxyName, call.generatedMethodName, proxyDesc, itf);
+                            if (HISTOGRAM != null) {
+                                /* and the id of the call site to record the time of the call for */
+                                Util.ldcI(mv, CallProfiler.site(call.name, call.desc, className, modifications.sourceFile, lastLineNumber));
+                            }
+                            mv.visitMethodInsn(INVOKESTATIC, call.proxyInternalName, call.name, InterceptClassGenerator.proxyDesc(call.desc), itf);
                             modifications.needsProxyClass = true;
                         } else {
                             super.visitMethodInsn(opcode, owner, name, desc, itf);
@@ -270,20 +381,32 @@ public class Agent implements ClassFileTransformer, Opcodes {
                 };
             }
         };
-        cr.accept(cv, 0);
+        cr.accept(cv, bufferWritingMethods.isEmpty() ? 0 : ClassReader.EXPAND_FRAMES);
+        ClassCache.Entry entry = cacheKey != null ? new ClassCache.Entry() : null;
+        if (entry != null) {
+            entry.sourceLength = modifications.sourceFile != null ? modifications.sourceFile.length() : 0;
+            entry.lineNumberLength = modifications.lineNumberLength;
+        }
         if (!modifications.needsProxyClass && !modifications.modified) {
             if (DEBUG.enabled)
                 debug("Did not modify: " + className);
+            if (entry != null)
+                ClassCache.store(cacheKey, entry);
             return null;
         }
         if (DEBUG.enabled) {
             debug("Modified [" + className + "] (" + calls.size() + " calls into LWJGL)");
         }
-        if (modifications.needsProxyClass) {
-            /* Generate proxy class */
-            InterceptClassGenerator.generate(loader, proxyName, callerName, calls.values(), modifications.sourceFile);
+        if (entry != null) {
+            entry.proxies.addAll(proxies.values());
         }
         byte[] arr = cw.toByteArray();
+        if (retransforming)
+            transformedClasses.add(className);
+        if (entry != null) {
+            entry.classBytes = arr;
+            ClassCache.store(cacheKey, entry);
+        }
         if (DEBUG.enabled) {
             TraceClassVisitor tcv = new TraceClassVisitor(new PrintWriter(System.err));
             ClassReader tcr = new ClassReader(arr);
@@ -379,7 +502,7 @@ public class Agent implements ClassFileTransformer, Opcodes {
         return sb.toString();
     }
 
-    public static void premain(String agentArguments, Instrumentation instrumentation) {
+    private static Set<Pattern> init(String agentArguments) {
         Set<Pattern> excludes = new HashSet<Pattern>();
         /*
          * Exclude MemoryStack.stackPush/stackPop to avoid getting "Asymmetric pop detected" messages from the DebugMemoryStack
@@ -400,9 +523,20 @@ public class Agent implements ClassFileTransformer, Opcodes {
             parser.accepts("debug");
             parser.accepts("trace");
             parser.accepts("nothrow");
+            parser.accepts("crosscheck");
+            parser.accepts("mutable");
+            parser.accepts("usage");
+            OptionSpec<Long> lazyerrors = parser.accepts("lazyerrors").withOptionalArg().ofType(Long.class);
             OptionSpec<String> validate = parser.accepts("validate").withOptionalArg().ofType(String.class);
             OptionSpec<Long> sleep = parser.accepts("sleep").withRequiredArg().ofType(Long.class);
             OptionSpec<String> output = parser.accepts("output").withRequiredArg().ofType(String.class);
+            OptionSpec<String> async = parser.accepts("async").withOptionalArg().ofType(String.class);
+            OptionSpec<String> range = parser.accepts("range").withRequiredArg().ofType(String.class);
+            OptionSpec<String> binarytrace = parser.accepts("binarytrace").withRequiredArg().ofType(String.class);
+            OptionSpec<String> flightrecorder = parser.accepts("flightrecorder").withRequiredArg().ofType(String.class);
+            OptionSpec<String> persist = parser.accepts("persist").withRequiredArg().ofType(String.class);
+            OptionSpec<String> histogram = parser.accepts("histogram").withOptionalArg().ofType(String.class);
+            OptionSpec<String> gpu = parser.accepts("gpu").withOptionalArg().ofType(String.class);
             OptionSet options = parser.parse(args);
             if (options.has("exclude")) {
                 List<String> excluded = options.valuesOf(path);
@@ -423,15 +557,143 @@ public class Agent implements ClassFileTransformer, Opcodes {
             }
             if (options.has("nothrow"))
                 Properties.NO_THROW_ON_ERROR.enable();
+            if (options.has("crosscheck"))
+                Properties.CROSSCHECK.enable();
+            if (options.has("mutable"))
+                Properties.MUTABLE.enable();
+            if (options.has("usage"))
+                Properties.GPU_MEMORY.enable();
+            if (options.has("lazyerrors")) {
+                Properties.LAZY_ERRORS.enable();
+                if (options.hasArgument(lazyerrors))
+                    Properties.LAZY_ERRORS_INTERVAL = options.valueOf(lazyerrors);
+            }
             if (options.has("sleep"))
                 Properties.SLEEP = options.valueOf(sleep);
             if (options.has("output"))
                 Properties.OUTPUT = options.valueOf(output);
+            if (options.has("async"))
+                Properties.ASYNC_OUTPUT = options.hasArgument(async) ? options.valueOf(async) : "block";
+            if (options.has("range"))
+                Properties.TRACE_FRAMES = options.valueOf(range);
+            if (options.has("binarytrace"))
+                Properties.TRACE_BINARY = options.valueOf(binarytrace);
+            if (options.has("flightrecorder"))
+                Properties.FLIGHT_RECORDER = options.valueOf(flightrecorder);
+            if (options.has("persist"))
+                Properties.PERSIST = options.valueOf(persist);
+            if (options.has("histogram"))
+                Properties.HISTOGRAM = options.hasArgument(histogram) ? options.valueOf(histogram) : "";
+            if (options.has("gpu"))
+                Properties.GPU_PROFILE = options.hasArgument(gpu) ? options.valueOf(gpu) : "";
         }
+        if (Properties.TRACE_BINARY != null || Properties.FLIGHT_RECORDER != null || Properties.TRACE_FRAMES != null)
+            Properties.TRACE.enable();
+        if (Properties.GPU_PROFILE != null && !Properties.GPU_PROFILE.isEmpty() && !"draws".equals(Properties.GPU_PROFILE))
+            throw new AssertionError("Invalid GPU profiler mode [" + Properties.GPU_PROFILE + "]. Use no value or 'draws'");
+        RT.validating = Properties.VALIDATE.enabled;
+        RT.tracing = Properties.TRACE.enabled;
+        TraceCapture.init();
         LWJGLInit.init();
-        Agent t = new Agent(excludes);
-        instrumentation.addTransformer(t);
+        MethodIndex.load();
+        ClassCache.init(excludes);
+        return excludes;
+    }
+
+    public static synchronized void premain(String agentArguments, Instrumentation instrumentation) {
+        Agent t = new Agent(init(agentArguments));
+        /* Remember the transformed classes, so that an agent started with the JVM can be detached like an attached one */
+        t.retransforming = true;
+        instrumentation.addTransformer(t, true);
+        attached = t;
+        attachedInstrumentation = instrumentation;
         RT.mainThread = Thread.currentThread();
     }
 
+    public static synchronized void agentmain(String agentArguments, Instrumentation instrumentation) {
+        if ("detach".equals(agentArguments)) {
+            detach();
+            return;
+        }
+        if (attached != null) {
+            info("LWJGLX/debug is already attached. Attach with argument [detach] first to change the options.");
+            return;
+        }
+        Agent t = new Agent(init(agentArguments));
+        t.retransforming = true;
+        instrumentation.addTransformer(t, true);
+        attached = t;
+        attachedInstrumentation = instrumentation;
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Class<?> c : instrumentation.getAllLoadedClasses()) {
+            String className = c.getName().replace('.', '/');
+            if (className.equals("org/lwjgl/glfw/GLFW")) {
+                /* The application most likely already called glfwInit(), since it cannot do much with GLFW otherwise */
+                RT.glfwInitialized = true;
+            }
+            if (c.isArray() || c.isPrimitive() || !instrumentation.isModifiableClass(c))
+                continue;
+            if (isPackageOfClassExcluded(className) && !mustInstrumentMethods.containsKey(className))
+                continue;
+            classes.add(c);
+        }
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("main".equals(thread.getName()))
+                RT.mainThread = thread;
+        }
+        RT.attached = true;
+        retransform(instrumentation, classes);
+        info("Attached LWJGLX/debug and retransformed " + t.transformedClasses.size() + " of " + classes.size() + " loaded classes");
+    }
+
+    private static void detach() {
+        Agent t = attached;
+        if (t == null) {
+            info("LWJGLX/debug is not attached");
+            return;
+        }
+        Instrumentation instrumentation = attachedInstrumentation;
+        instrumentation.removeTransformer(t);
+        attached = null;
+        attachedInstrumentation = null;
+        /* Without our transformer, retransforming yields the original class bytes again */
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Class<?> c : instrumentation.getAllLoadedClasses()) {
+            if (t.transformedClasses.contains(c.getName().replace('.', '/')) && instrumentation.isModifiableClass(c))
+                classes.add(c);
+        }
+        retransform(instrumentation, classes);
+        RT.attached = false;
+        /*
+         * The application keeps creating, binding and deleting objects without us seeing it, so the contexts must rebuild their state from GL
+         * queries when attaching again
+         */
+        Context.validationSwitchedOn();
+        /* Attaching again must start from the defaults instead of the options of this attach */
+        InterceptClassGenerator.forgetProxies();
+        Properties.reset();
+        info("Detached LWJGLX/debug and restored " + classes.size() + " classes");
+        Log.flush();
+    }
+
+    private static void retransform(Instrumentation instrumentation, List<Class<?>> classes) {
+        /* Retransform in batches, falling back to single classes so that one failing class does not affect the others */
+        final int batchSize = 256;
+        for (int i = 0; i < classes.size(); i += batchSize) {
+            List<Class<?>> batch = classes.subList(i, Math.min(classes.size(), i + batchSize));
+            try {
+                instrumentation.retransformClasses(batch.toArray(new Class<?>[batch.size()]));
+            } catch (Throwable t) {
+                for (Class<?> c : batch) {
+                    try {
+                        instrumentation.retransformClasses(c);
+                    } catch (Throwable e) {
+                        if (DEBUG.enabled)
+                            debug("Could not retransform [" + c.getName() + "]: " + e);
+                    }
+                }
+            }
+        }
+    }
+
 }
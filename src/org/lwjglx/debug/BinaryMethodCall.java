@@ -0,0 +1,284 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import static org.lwjglx.debug.BinaryTrace.*;
+
+import java.nio.Buffer;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * {@link MethodCall} which records the parameters and return value of a call in the binary trace format instead of building strings.
+ */
+class BinaryMethodCall extends MethodCall {
+
+    final Sink data = new Sink(64);
+
+    /* Whether strings go into the string table of the flight recorder instead of the one of the binary trace */
+    private final boolean flightRecorded;
+
+    BinaryMethodCall(String source, int line, String name, boolean flightRecorded) {
+        super(source, line, name);
+        this.flightRecorded = flightRecorded;
+    }
+
+    /**
+     * Return the id of the given string in the string table, or <code>-1</code> if the string table has no more space for it.
+     */
+    private int stringId(String s) {
+        return flightRecorded ? FlightRecorder.stringId(s) : BinaryTrace.stringId(s);
+    }
+
+    private void putEnum(String s) {
+        if (s == null) {
+            data.putByte(TAG_NULL);
+            return;
+        }
+        int id = stringId(s);
+        if (id == -1) {
+            data.putByte(TAG_TEXT);
+            data.putString(s);
+        } else {
+            data.putByte(TAG_ENUM);
+            data.putInt(id);
+        }
+    }
+
+    boolean isFlightRecorded() {
+        return flightRecorded;
+    }
+
+    void clear() {
+        data.pos = 0;
+    }
+
+    private void putValue(Object val) {
+        if (val instanceof String) {
+            data.putByte(TAG_STRING);
+            data.putString((String) val);
+        } else if (val instanceof Buffer) {
+            Buffer buffer = (Buffer) val;
+            data.putByte(TAG_BUFFER);
+            data.putByte(bufferTypeIndex(bufferType(buffer)));
+            data.putByte(buffer.isDirect() ? 1 : 0);
+            data.putLong(buffer.isDirect() ? MemoryUtil.memAddress0(buffer) : 0L);
+            data.putInt(buffer.position());
+            data.putInt(buffer.limit());
+            data.putInt(buffer.capacity());
+        } else if (val instanceof PointerBuffer) {
+            PointerBuffer buffer = (PointerBuffer) val;
+            data.putByte(TAG_BUFFER);
+            data.putByte(bufferTypeIndex("PointerBuffer"));
+            data.putByte(1);
+            data.putLong(buffer.address());
+            data.putInt(buffer.position());
+            data.putInt(buffer.limit());
+            data.putInt(buffer.capacity());
+        } else if (val == null) {
+            data.putByte(TAG_NULL);
+        } else {
+            data.putByte(TAG_TEXT);
+            data.putString(String.valueOf(val));
+        }
+    }
+
+    public MethodCall param(int param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_INT);
+        data.putInt(param);
+        return this;
+    }
+
+    public MethodCall param(short param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_SHORT);
+        data.putShort(param);
+        return this;
+    }
+
+    public MethodCall param(long param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_LONG);
+        data.putLong(param);
+        return this;
+    }
+
+    public MethodCall param(Object param) {
+        if (param instanceof PointerBuffer) {
+            /* Same as MethodCall, which does not print PointerBuffer parameters */
+            return this;
+        }
+        data.putByte(ITEM_PARAM);
+        putValue(param);
+        return this;
+    }
+
+    public MethodCall paramEnum(String param) {
+        data.putByte(ITEM_PARAM);
+        putEnum(param);
+        return this;
+    }
+
+    /**
+     * Write the GLenum or GLbitfield value with the command it belongs to, so that the decoder looks up its name instead of the calling thread.
+     */
+    private void putGLenum(byte tag, int commandId, int paramIndex, int value) {
+        data.putByte(tag);
+        data.putInt(commandId);
+        data.putByte(paramIndex);
+        data.putInt(value);
+    }
+
+    public MethodCall paramEnum(Command cmd, int paramIndex, int param) {
+        int commandId = stringId(cmd.name);
+        if (commandId == -1)
+            return paramEnum(RT.glEnumFor(cmd, paramIndex, param));
+        data.putByte(ITEM_PARAM);
+        putGLenum(TAG_GLENUM, commandId, paramIndex, param);
+        return this;
+    }
+
+    public MethodCall paramBitField(Command cmd, int paramIndex, int param) {
+        int commandId = stringId(cmd.name);
+        data.putByte(ITEM_PARAM);
+        if (commandId == -1) {
+            data.putByte(TAG_TEXT);
+            data.putString(cmd.params.get(paramIndex).group.decodeBitField(param));
+        } else {
+            putGLenum(TAG_GLBITFIELD, commandId, paramIndex, param);
+        }
+        return this;
+    }
+
+    public MethodCall param(boolean param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_BOOLEAN);
+        data.putByte(param ? 1 : 0);
+        return this;
+    }
+
+    public MethodCall param(char param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_CHAR);
+        data.putShort(param);
+        return this;
+    }
+
+    public MethodCall param(float param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_FLOAT);
+        data.putInt(Float.floatToRawIntBits(param));
+        return this;
+    }
+
+    public MethodCall param(double param) {
+        data.putByte(ITEM_PARAM);
+        data.putByte(TAG_DOUBLE);
+        data.putLong(Double.doubleToRawLongBits(param));
+        return this;
+    }
+
+    public int returnValue(int val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_INT);
+        data.putInt(val);
+        return val;
+    }
+
+    public float returnValue(float val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_FLOAT);
+        data.putInt(Float.floatToRawIntBits(val));
+        return val;
+    }
+
+    public double returnValue(double val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_DOUBLE);
+        data.putLong(Double.doubleToRawLongBits(val));
+        return val;
+    }
+
+    public short returnValue(short val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_SHORT);
+        data.putShort(val);
+        return val;
+    }
+
+    public long returnValue(long val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_LONG);
+        data.putLong(val);
+        return val;
+    }
+
+    public boolean returnValue(boolean val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_BOOLEAN);
+        data.putByte(val ? 1 : 0);
+        return val;
+    }
+
+    public char returnValue(char val) {
+        data.putByte(ITEM_RETURN);
+        data.putByte(TAG_CHAR);
+        data.putShort(val);
+        return val;
+    }
+
+    public Object returnValue(Object val) {
+        data.putByte(ITEM_RETURN);
+        putValue(val);
+        return val;
+    }
+
+    public Object returnValueEnum(String val) {
+        data.putByte(ITEM_RETURN);
+        putEnum(val);
+        return val;
+    }
+
+    public void returnValueEnum(Command cmd, int val) {
+        int commandId = stringId(cmd.name);
+        if (commandId == -1) {
+            returnValueEnum(RT.glEnumReturnFor(cmd, val));
+            return;
+        }
+        data.putByte(ITEM_RETURN);
+        putGLenum(TAG_GLENUM, commandId, RETURN_INDEX, val);
+    }
+
+    public void comment(String comment) {
+        data.putByte(ITEM_COMMENT);
+        if (comment == null) {
+            data.putByte(TAG_NULL);
+        } else {
+            data.putByte(TAG_TEXT);
+            data.putString(comment);
+        }
+    }
+
+}
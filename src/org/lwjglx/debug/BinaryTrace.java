@@ -0,0 +1,301 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.lwjglx.debug.org.lwjgl.opengl.Context;
+
+/**
+ * Writer of the binary trace format, which is rendered as text by {@link TraceDecoder}.
+ * <p>
+ * Each thread collects whole records in its own buffer, which is appended to the trace file when it gets full, when the thread has ended and at
+ * JVM shutdown. The names of GLenum and GLbitfield values are only looked up by the decoder.
+ */
+class BinaryTrace {
+
+    static final int MAGIC = 0x4C4A5854;
+    static final int VERSION = 2;
+
+    /* Record types */
+    static final byte RECORD_STRING = 1;
+    static final byte RECORD_CALL = 2;
+
+    /* Kinds of the items of a call record */
+    static final byte ITEM_PARAM = 1;
+    static final byte ITEM_RETURN = 2;
+    static final byte ITEM_COMMENT = 3;
+
+    /* Value tags */
+    static final byte TAG_INT = 1;
+    static final byte TAG_SHORT = 2;
+    static final byte TAG_LONG = 3;
+    static final byte TAG_FLOAT = 4;
+    static final byte TAG_DOUBLE = 5;
+    static final byte TAG_BOOLEAN = 6;
+    static final byte TAG_CHAR = 7;
+    /* A string that is printed as is and that is written once into the string table (GLenum names, etc.) */
+    static final byte TAG_ENUM = 8;
+    /* A string that is printed as is */
+    static final byte TAG_TEXT = 9;
+    /* A Java string argument that is printed quoted and escaped */
+    static final byte TAG_STRING = 10;
+    static final byte TAG_BUFFER = 11;
+    static final byte TAG_NULL = 12;
+    /* A GLenum value, written as the string id of the command name, the index of the parameter ({@link #RETURN_INDEX} for the return value) and the value */
+    static final byte TAG_GLENUM = 13;
+    /* A GLbitfield value, written like TAG_GLENUM */
+    static final byte TAG_GLBITFIELD = 14;
+
+    static final int RETURN_INDEX = -1;
+
+    /* Buffer types of TAG_BUFFER values */
+    static final String[] BUFFER_TYPES = { "ByteBuffer", "ShortBuffer", "IntBuffer", "LongBuffer", "CharBuffer", "FloatBuffer", "DoubleBuffer", "PointerBuffer", "<UNKNOWN>" };
+
+    static int bufferTypeIndex(String type) {
+        for (int i = 0; i < BUFFER_TYPES.length - 1; i++)
+            if (BUFFER_TYPES[i].equals(type))
+                return i;
+        return BUFFER_TYPES.length - 1;
+    }
+
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    /**
+     * Growable big-endian byte sink.
+     */
+    static final class Sink {
+        byte[] buf;
+        int pos;
+        /* The thread writing into this sink, if it is the sink of a thread in the binary trace */
+        Thread owner;
+
+        Sink(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        private void ensure(int n) {
+            if (pos + n > buf.length) {
+                byte[] newBuf = new byte[Math.max(buf.length << 1, pos + n)];
+                System.arraycopy(buf, 0, newBuf, 0, pos);
+                buf = newBuf;
+            }
+        }
+
+        void putByte(int v) {
+            ensure(1);
+            buf[pos++] = (byte) v;
+        }
+
+        void putShort(int v) {
+            ensure(2);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        void putInt(int v) {
+            ensure(4);
+            buf[pos++] = (byte) (v >>> 24);
+            buf[pos++] = (byte) (v >>> 16);
+            buf[pos++] = (byte) (v >>> 8);
+            buf[pos++] = (byte) v;
+        }
+
+        void putLong(long v) {
+            putInt((int) (v >>> 32));
+            putInt((int) v);
+        }
+
+        void putString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes, 0, bytes.length);
+        }
+
+        void putBytes(byte[] bytes, int off, int len) {
+            ensure(len);
+            System.arraycopy(bytes, off, buf, pos, len);
+            pos += len;
+        }
+    }
+
+    private static final OutputStream OUT;
+    static {
+        /* The format definitions of this class are also used by the flight recorder and the decoder */
+        if (Properties.TRACE_BINARY != null) {
+            try {
+                OUT = new FileOutputStream(Properties.TRACE_BINARY);
+                Sink header = new Sink(8);
+                header.putInt(MAGIC);
+                header.putInt(VERSION);
+                OUT.write(header.buf, 0, header.pos);
+            } catch (IOException e) {
+                throw new AssertionError("Failed to create binary trace file: " + Properties.TRACE_BINARY, e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                public void run() {
+                    flushAll();
+                }
+            }));
+        } else {
+            OUT = null;
+        }
+    }
+    private static final Map<String, Integer> stringIds = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextStringId = new AtomicInteger();
+    private static final List<Sink> threadSinks = new ArrayList<>();
+    private static final ThreadLocal<Sink> threadSink = new ThreadLocal<Sink>() {
+        protected Sink initialValue() {
+            Sink sink = new Sink(FLUSH_THRESHOLD + 1024);
+            sink.owner = Thread.currentThread();
+            synchronized (threadSinks) {
+                flushEndedThreads();
+                threadSinks.add(sink);
+            }
+            return sink;
+        }
+    };
+
+    /**
+     * Return the id of the given string in the string table, writing its definition into the current thread's sink when it is new.
+     */
+    static int stringId(String s) {
+        Sink sink = threadSink.get();
+        synchronized (sink) {
+            return stringId(sink, s);
+        }
+    }
+
+    private static int stringId(Sink sink, String s) {
+        Integer id = stringIds.get(s);
+        if (id != null)
+            return id.intValue();
+        synchronized (stringIds) {
+            id = stringIds.get(s);
+            if (id != null)
+                return id.intValue();
+            int newId = nextStringId.getAndIncrement();
+            /* The decoder reads all string definitions first, so the order across threads does not matter */
+            sink.putByte(RECORD_STRING);
+            sink.putInt(newId);
+            sink.putString(s);
+            stringIds.put(s, newId);
+            return newId;
+        }
+    }
+
+    static void write(BinaryMethodCall mc) {
+        Sink sink = threadSink.get();
+        Context context = Context.CURRENT_CONTEXT.get();
+        boolean flushed = false;
+        /* The sink is only contended when flushAll() runs at the same time */
+        synchronized (sink) {
+            int sourceId = mc.source != null ? stringId(sink, mc.source) : -1;
+            int nameId = stringId(sink, mc.name);
+            Sink data = mc.data;
+            sink.putByte(RECORD_CALL);
+            sink.putLong(System.nanoTime());
+            sink.putLong(Thread.currentThread().getId());
+            sink.putByte(context != null ? 1 : 0);
+            sink.putInt(context != null ? context.counter : 0);
+            if (sourceId != -1) {
+                sink.putByte(TAG_ENUM);
+                sink.putInt(sourceId);
+            } else {
+                sink.putByte(TAG_NULL);
+            }
+            sink.putInt(mc.line);
+            sink.putByte(TAG_ENUM);
+            sink.putInt(nameId);
+            sink.putShort(Log.maxSourceLength);
+            sink.putShort(Log.maxLineNumberLength);
+            sink.putInt(data.pos);
+            sink.putBytes(data.buf, 0, data.pos);
+            if (sink.pos >= FLUSH_THRESHOLD) {
+                flush(sink);
+                flushed = true;
+            }
+        }
+        if (flushed) {
+            synchronized (threadSinks) {
+                flushEndedThreads();
+            }
+        }
+    }
+
+    /* The caller must hold the lock of the sink */
+    private static void flush(Sink sink) {
+        synchronized (OUT) {
+            try {
+                OUT.write(sink.buf, 0, sink.pos);
+            } catch (IOException e) {
+                Log.error("Failed to write binary trace", e);
+            }
+        }
+        sink.pos = 0;
+    }
+
+    /**
+     * Write and remove the sinks of all threads that have ended. The caller must hold the lock of {@link #threadSinks}.
+     */
+    private static void flushEndedThreads() {
+        for (Iterator<Sink> it = threadSinks.iterator(); it.hasNext();) {
+            Sink sink = it.next();
+            if (sink.owner.isAlive())
+                continue;
+            synchronized (sink) {
+                if (sink.pos > 0)
+                    flush(sink);
+            }
+            it.remove();
+        }
+    }
+
+    static void flushAll() {
+        synchronized (threadSinks) {
+            for (Sink sink : threadSinks) {
+                synchronized (sink) {
+                    if (sink.pos > 0)
+                        flush(sink);
+                }
+            }
+        }
+        synchronized (OUT) {
+            try {
+                OUT.flush();
+            } catch (IOException e) {
+                Log.error("Failed to flush binary trace", e);
+            }
+        }
+    }
+
+}
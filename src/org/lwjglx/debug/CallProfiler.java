@@ -0,0 +1,289 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.objectweb.asm.Type;
+
+/**
+ * CPU time histograms of the intercepted calls per call site.
+ * <p>
+ * Every generated proxy method measures the time of the LWJGL call (including the validation done by our override methods, but neither the check
+ * for GL errors nor the trace) and
+ * records it into a log-linear histogram of the calling thread. The histograms of all threads are only merged when the table is printed.
+ */
+public class CallProfiler {
+
+    /* 32 linear sub-buckets per power of two, so each bucket is within ~3% of the values recorded into it */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /* Durations are capped at 2^36 ns (about 68 seconds) */
+    private static final long MAX_VALUE = (1L << 36) - 1L;
+    private static final int BUCKETS = bucket(MAX_VALUE) + 1;
+
+    static class Site {
+        final String function;
+        final String caller;
+        final String source;
+        final int line;
+
+        Site(String function, String caller, String source, int line) {
+            this.function = function;
+            this.caller = caller;
+            this.source = source;
+            this.line = line;
+        }
+    }
+
+    static class Histogram {
+        final long[] counts = new long[BUCKETS];
+        long count;
+        long total;
+        long max;
+
+        void record(long nanos) {
+            long value = Math.min(Math.max(nanos, 0L), MAX_VALUE);
+            counts[bucket(value)]++;
+            count++;
+            total += value;
+            if (value > max)
+                max = value;
+        }
+
+        void add(Histogram h) {
+            for (int i = 0; i < BUCKETS; i++)
+                counts[i] += h.counts[i];
+            count += h.count;
+            total += h.total;
+            max = Math.max(max, h.max);
+        }
+
+        long percentile(double p) {
+            long rank = Math.max(1L, (long) Math.ceil(p * count));
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return Math.min(highestValue(i), max);
+            }
+            return max;
+        }
+    }
+
+    private static class ThreadHistograms {
+        /* indexed by call site */
+        volatile Histogram[] sites = new Histogram[64];
+    }
+
+    private static final List<Site> sites = new ArrayList<Site>();
+    private static final Map<String, Integer> siteIds = new HashMap<String, Integer>();
+    private static final List<ThreadHistograms> threads = new ArrayList<ThreadHistograms>();
+    private static final ThreadLocal<ThreadHistograms> threadHistograms = new ThreadLocal<ThreadHistograms>() {
+        protected ThreadHistograms initialValue() {
+            ThreadHistograms t = new ThreadHistograms();
+            synchronized (threads) {
+                threads.add(t);
+            }
+            return t;
+        }
+    };
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            public void run() {
+                print();
+            }
+        }));
+    }
+
+    static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS)
+            return bucket;
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1L;
+    }
+
+    /**
+     * Return the id of the given call site, which the generated code passes to {@link #record(int, long)}.
+     * <p>
+     * The <code>caller</code> is the internal name of the calling class or <code>null</code> for calls via method references. Calls of different
+     * overloads of a function on the same line are separate call sites.
+     */
+    static int site(String function, String desc, String caller, String source, int line) {
+        String key = function + desc + " " + caller + ":" + line;
+        synchronized (sites) {
+            Integer id = siteIds.get(key);
+            if (id == null) {
+                id = Integer.valueOf(sites.size());
+                sites.add(new Site(function + parameters(desc), caller, source, line));
+                siteIds.put(key, id);
+            }
+            return id.intValue();
+        }
+    }
+
+    /* The simple names of the parameter types, to tell overloads apart in the table */
+    private static String parameters(String desc) {
+        StringBuilder sb = new StringBuilder("(");
+        Type[] types = Type.getArgumentTypes(desc);
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0)
+                sb.append(", ");
+            String className = types[i].getClassName();
+            sb.append(className.substring(className.lastIndexOf('.') + 1));
+        }
+        return sb.append(")").toString();
+    }
+
+    /**
+     * Record the time since <code>start</code> (as returned by {@link System#nanoTime()}) for the given call site.
+     */
+    public static void record(int site, long start) {
+        long nanos = System.nanoTime() - start;
+        ThreadHistograms t = threadHistograms.get();
+        Histogram[] histograms = t.sites;
+        if (site >= histograms.length) {
+            histograms = Arrays.copyOf(histograms, Math.max(site + 1, histograms.length * 2));
+            t.sites = histograms;
+        }
+        Histogram h = histograms[site];
+        if (h == null) {
+            h = new Histogram();
+            histograms[site] = h;
+        }
+        h.record(nanos);
+    }
+
+    private static Histogram[] merge() {
+        Histogram[] merged;
+        synchronized (sites) {
+            merged = new Histogram[sites.size()];
+        }
+        synchronized (threads) {
+            for (ThreadHistograms t : threads) {
+                Histogram[] histograms = t.sites;
+                for (int i = 0; i < histograms.length && i < merged.length; i++) {
+                    if (histograms[i] == null)
+                        continue;
+                    if (merged[i] == null)
+                        merged[i] = new Histogram();
+                    merged[i].add(histograms[i]);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static String format(long nanos) {
+        return String.format("%,.2f", nanos / 1E3);
+    }
+
+    /**
+     * Build the table of all call sites seen so far, with the most expensive call sites in total first.
+     */
+    static String table() {
+        final Histogram[] merged = merge();
+        List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < merged.length; i++) {
+            if (merged[i] != null && merged[i].count > 0)
+                order.add(Integer.valueOf(i));
+        }
+        Collections.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                return Long.compare(merged[b.intValue()].total, merged[a.intValue()].total);
+            }
+        });
+        List<String[]> rows = new ArrayList<String[]>();
+        rows.add(new String[] { "Function", "Call site", "Count", "p50 us", "p99 us", "Max us", "Total ms" });
+        for (Integer i : order) {
+            Site site;
+            synchronized (sites) {
+                site = sites.get(i.intValue());
+            }
+            Histogram h = merged[i.intValue()];
+            String callSite;
+            if (site.caller == null)
+                callSite = "(method reference)";
+            else if (site.source != null && site.line >= 0)
+                callSite = site.source + ":" + site.line;
+            else
+                callSite = site.caller.replace('/', '.');
+            rows.add(new String[] { site.function, callSite, String.format("%,d", h.count), format(h.percentile(0.5)), format(h.percentile(0.99)),
+                    format(h.max), String.format("%,.2f", h.total / 1E6) });
+        }
+        int[] widths = new int[rows.get(0).length];
+        for (String[] row : rows) {
+            for (int c = 0; c < row.length; c++)
+                widths[c] = Math.max(widths[c], row[c].length());
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("CPU time of intercepted calls per call site\n");
+        for (String[] row : rows) {
+            for (int c = 0; c < row.length; c++) {
+                /* Left-align the function and call site, right-align the numbers */
+                String format = c < 2 ? "%-" + widths[c] + "s" : "%" + widths[c] + "s";
+                if (c > 0)
+                    sb.append("  ");
+                sb.append(String.format(format, row[c]));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Print the table to the file given via {@link Properties#HISTOGRAM} or to the log if no file was given.
+     */
+    static void print() {
+        String table = table();
+        if (Properties.HISTOGRAM == null || Properties.HISTOGRAM.trim().isEmpty()) {
+            Log.info(table, Integer.MAX_VALUE);
+            Log.flush();
+            return;
+        }
+        try (PrintStream out = new PrintStream(new FileOutputStream(Properties.HISTOGRAM))) {
+            out.print(table);
+        } catch (IOException e) {
+            Log.error("Failed to write call histograms to file: " + Properties.HISTOGRAM, e);
+        }
+    }
+
+}
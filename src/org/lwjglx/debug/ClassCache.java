@@ -0,0 +1,206 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import static org.lwjglx.debug.Log.*;
+import static org.lwjglx.debug.Properties.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Persistent on-disk cache of transformed classes and their generated proxy classes.
+ * <p>
+ * Entries are keyed by a hash of the original class bytes, the agent and LWJGL versions and all options affecting the generated code.
+ */
+class ClassCache {
+
+    private static final int MAGIC = 0x4C4A4432;
+
+    static class Entry {
+        /* null when the class did not need to be modified */
+        byte[] classBytes;
+        /* the shared proxy classes called by the class */
+        List<Proxy> proxies = new ArrayList<Proxy>();
+        int sourceLength;
+        int lineNumberLength;
+    }
+
+    private static File directory;
+    private static byte[] environment;
+
+    static boolean enabled() {
+        return directory != null;
+    }
+
+    static void init(Set<Pattern> excludes) {
+        /* This is called on every attach, whose options may not use the cache or need other keys */
+        directory = null;
+        environment = null;
+        if (PERSIST == null || PERSIST.trim().isEmpty())
+            return;
+        if (HISTOGRAM != null) {
+            /* The call site ids baked into the transformed classes are only valid for the current run */
+            info("Not using the class cache because call histograms are enabled");
+            return;
+        }
+        File dir = new File(PERSIST).getAbsoluteFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new AssertionError("Could not create class cache directory: " + dir.getAbsolutePath());
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("agent=").append(codeSourceVersion(Agent.class.getProtectionDomain().getCodeSource())).append('\n');
+        sb.append("lwjgl=").append(org.lwjgl.Version.getVersion()).append('\n');
+        sb.append("validate=").append(VALIDATE.enabled).append('\n');
+        sb.append("strict=").append(STRICT.enabled).append('\n');
+        sb.append("trace=").append(TRACE.enabled).append('\n');
+        sb.append("mutable=").append(MUTABLE.enabled).append('\n');
+        sb.append("sleep=").append(SLEEP).append('\n');
+        Set<String> sortedExcludes = new TreeSet<String>();
+        for (Pattern p : excludes)
+            sortedExcludes.add(p.pattern());
+        sb.append("excludes=").append(sortedExcludes).append('\n');
+        environment = sb.toString().getBytes(StandardCharsets.UTF_8);
+        directory = dir;
+        if (DEBUG.enabled)
+            debug("Using class cache in: " + dir.getAbsolutePath());
+    }
+
+    private static String codeSourceVersion(CodeSource cs) {
+        String version = Agent.class.getPackage().getImplementationVersion();
+        URL location = cs != null ? cs.getLocation() : null;
+        if (location == null)
+            return String.valueOf(version);
+        /* Snapshot builds keep their version, so also take the jar itself into account */
+        File file = new File(location.getPath());
+        return version + "@" + location + ":" + file.length() + ":" + file.lastModified();
+    }
+
+    /**
+     * Compute the cache key of the given class or return <code>null</code> if the cache must not be used for it.
+     */
+    static String key(String className, byte[] classBytes) {
+        if (directory == null)
+            return null;
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-1 not available", e);
+        }
+        md.update(environment);
+        md.update(className.getBytes(StandardCharsets.UTF_8));
+        md.update(classBytes);
+        byte[] digest = md.digest();
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    static Entry load(String key) {
+        File file = new File(directory, key);
+        if (!file.isFile())
+            return null;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != MAGIC)
+                return null;
+            Entry entry = new Entry();
+            entry.sourceLength = in.readInt();
+            entry.lineNumberLength = in.readInt();
+            entry.classBytes = readBytes(in);
+            int numProxies = in.readInt();
+            for (int i = 0; i < numProxies; i++) {
+                String proxyKey = in.readUTF();
+                String proxyName = in.readUTF();
+                entry.proxies.add(new Proxy(proxyKey, proxyName, readBytes(in)));
+            }
+            return entry;
+        } catch (IOException e) {
+            if (DEBUG.enabled)
+                debug("Could not read class cache entry [" + file + "]: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    static void store(String key, Entry entry) {
+        File file = new File(directory, key);
+        try {
+            /* Write to a temporary file first so that concurrently starting JVMs never see partial entries */
+            File tmp = File.createTempFile(key, ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tmp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(entry.sourceLength);
+                out.writeInt(entry.lineNumberLength);
+                writeBytes(out, entry.classBytes);
+                out.writeInt(entry.proxies.size());
+                for (Proxy proxy : entry.proxies) {
+                    out.writeUTF(proxy.key);
+                    out.writeUTF(proxy.name);
+                    writeBytes(out, proxy.bytes);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            if (DEBUG.enabled)
+                debug("Could not write class cache entry [" + file + "]: " + e.getMessage());
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+}
@@ -53,6 +53,7 @@ class ClassMetadata implements Opcodes {
     static boolean hasNullables;
 
     final Map<String, MethodInfo> methods = new HashMap<>();
+    String superName;
 
     static ClassMetadata create(String internalName, ClassLoader cl) {
         /* Has Nullable support be checked already? */
@@ -63,7 +64,12 @@ class ClassMetadata implements Opcodes {
         }
         if (meta.containsKey(internalName))
             return meta.get(internalName);
-        final ClassMetadata m = new ClassMetadata();
+        /* Prefer the metadata precomputed at build time */
+        ClassMetadata m = MethodIndex.get(internalName);
+        if (m != null) {
+            meta.put(internalName, m);
+            return m;
+        }
         InputStream is = cl.getResourceAsStream(internalName + ".class");
         ClassReader cr;
         try {
@@ -71,6 +77,18 @@ class ClassMetadata implements Opcodes {
         } catch (IOException e) {
             return null;
         }
+        m = read(cr);
+        meta.put(internalName, m);
+        try {
+            is.close();
+        } catch (IOException e) {
+        }
+        return m;
+    }
+
+    static ClassMetadata read(ClassReader cr) {
+        final ClassMetadata m = new ClassMetadata();
+        m.superName = cr.getSuperName();
         cr.accept(new ClassVisitor(ASM9) {
             public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
                 boolean isPublic = (access & ACC_PUBLIC) != 0;
@@ -130,11 +148,6 @@ class ClassMetadata implements Opcodes {
                 };
             }
         }, ClassReader.SKIP_FRAMES);
-        meta.put(internalName, m);
-        try {
-            is.close();
-        } catch (IOException e) {
-        }
         return m;
     }
 
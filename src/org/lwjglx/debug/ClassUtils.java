@@ -57,6 +57,13 @@ class ClassUtils {
         }
     }
 
+    /**
+     * Return the class loader that {@link #defineClass(ClassLoader, Class, String, byte[])} defines classes in.
+     */
+    static ClassLoader definingLoader(ClassLoader cl, Class<?> hostClass) {
+        return lookupDefineClass != null ? hostClass.getClassLoader() : cl;
+    }
+
     static <T> Class<T> defineClass(ClassLoader cl, Class<?> hostClass, String name, byte[] definition) {
         if (lookupDefineClass != null) {
             try {
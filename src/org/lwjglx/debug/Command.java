@@ -0,0 +1,48 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A GL command with the enum groups of its parameters and return value, as generated into <code>GLmetadata</code>.
+ */
+class Command {
+    final String name;
+    final List<Param> params;
+    EnumGroup returnGroup;
+    EnumGroup extension;
+
+    Command(String name, int numParams) {
+        this.name = name;
+        params = new ArrayList<>(numParams);
+    }
+
+    void addParam(String name, EnumGroup group) {
+        Param p = new Param();
+        p.name = name;
+        p.group = group;
+        params.add(p);
+    }
+}
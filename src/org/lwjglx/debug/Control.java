@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import org.lwjglx.debug.org.lwjgl.opengl.Context;
+import org.lwjglx.debug.org.lwjgl.opengl.GpuProfiler;
+
+/**
+ * Switches validation, trace and sleep on and off while the application is running.
+ * <p>
+ * This requires the agent option <code>mutable</code>, with which every intercepted call is generated with and without validation and trace.
+ * Additionally, the call histograms of the agent option <code>histogram</code> can be printed at any time and sections can be marked for the GPU
+ * profiler of the agent option <code>gpu</code>.
+ */
+public class Control {
+
+    private static void checkMutable() {
+        if (!Properties.MUTABLE.enabled)
+            throw new IllegalStateException("Switching at runtime requires the agent option 'mutable' or the system property 'org.lwjglx.MUTABLE'");
+    }
+
+    public static boolean isValidating() {
+        return RT.validating;
+    }
+
+    /**
+     * Switch validation on or off. While validation is off, no objects and bindings are tracked, so when it is switched on again, each OpenGL
+     * context queries its current bindings on its next call and treats objects it does not know like objects created before attaching.
+     */
+    public static void setValidating(boolean validating) {
+        checkMutable();
+        if (validating && !RT.validating)
+            Context.validationSwitchedOn();
+        /* The volatile write of RT.validating publishes the other fields to the threads calling the generated code */
+        Properties.VALIDATE.enabled = validating;
+        RT.validating = validating;
+    }
+
+    public static boolean isTracing() {
+        return RT.tracing;
+    }
+
+    /**
+     * Switch the trace on or off. When the trace is restricted to a range of frames (agent option <code>range</code>), this only lasts until the end
+     * of the current frame.
+     */
+    public static void setTracing(boolean tracing) {
+        checkMutable();
+        Properties.TRACE.enabled = tracing;
+        RT.tracing = tracing;
+    }
+
+    public static long getSleep() {
+        return Properties.SLEEP;
+    }
+
+    /**
+     * Set the number of milliseconds to sleep before each intercepted call. 0 disables sleeping.
+     */
+    public static void setSleep(long millis) {
+        checkMutable();
+        Properties.SLEEP = millis;
+    }
+
+    private static void checkGpuProfile() {
+        if (Properties.GPU_PROFILE == null)
+            throw new IllegalStateException("GPU sections require the agent option 'gpu' or the system property 'org.lwjglx.GPU_PROFILE'");
+    }
+
+    /**
+     * Begin a section of GL calls whose GPU time is reported, like <code>glPushDebugGroup</code> does. Sections can be nested.
+     */
+    public static void pushGpuSection(String name) {
+        checkGpuProfile();
+        GpuProfiler.push(name);
+    }
+
+    /**
+     * End the section begun by the last call of {@link #pushGpuSection(String)}.
+     */
+    public static void popGpuSection() {
+        checkGpuProfile();
+        GpuProfiler.pop();
+    }
+
+    /**
+     * Print the CPU time histograms of the intercepted calls recorded so far, the same way as it is done when the JVM exits.
+     */
+    public static void printHistograms() {
+        if (Properties.HISTOGRAM == null)
+            throw new IllegalStateException("Call histograms require the agent option 'histogram' or the system property 'org.lwjglx.HISTOGRAM'");
+        CallProfiler.print();
+    }
+
+}
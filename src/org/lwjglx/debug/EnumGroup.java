@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A group of GLenum values and their names, stored as arrays sorted by value.
+ * <p>
+ * Instances are created by the generated GLmetadata class.
+ */
+public class EnumGroup {
+
+    private final int[] values;
+    private final String[] names;
+
+    /* Names of the single-bit values by bit index and all other non-zero values, for decoding bitfields */
+    private final String[] bitNames = new String[32];
+    private final int[] maskValues;
+    private final String[] maskNames;
+
+    EnumGroup(int[] values, String[] names) {
+        this.values = values;
+        this.names = names;
+        int numMasks = 0;
+        for (int v : values) {
+            if (Integer.bitCount(v) > 1)
+                numMasks++;
+        }
+        maskValues = new int[numMasks];
+        maskNames = new String[numMasks];
+        for (int i = 0, m = 0; i < values.length; i++) {
+            int v = values[i];
+            if (Integer.bitCount(v) == 1) {
+                bitNames[Integer.numberOfTrailingZeros(v)] = names[i];
+            } else if (v != 0) {
+                maskValues[m] = v;
+                maskNames[m++] = names[i];
+            }
+        }
+    }
+
+    /**
+     * Decode a group from its generated representation, in which each value is packed into two chars (high and low 16 bits) and the names are
+     * separated by a single space.
+     */
+    static EnumGroup decode(String[] valueChunks, String[] nameChunks) {
+        int count = 0;
+        for (String chunk : valueChunks)
+            count += chunk.length() >>> 1;
+        int[] values = new int[count];
+        String[] names = new String[count];
+        int i = 0;
+        for (String chunk : valueChunks) {
+            for (int c = 0; c < chunk.length(); c += 2)
+                values[i++] = chunk.charAt(c) << 16 | chunk.charAt(c + 1);
+        }
+        i = 0;
+        for (String chunk : nameChunks) {
+            int start = 0;
+            for (int end; (end = chunk.indexOf(' ', start)) != -1; start = end + 1)
+                names[i++] = chunk.substring(start, end);
+            names[i++] = chunk.substring(start);
+        }
+        return new EnumGroup(values, names);
+    }
+
+    /**
+     * Merge the given groups. For values contained in multiple groups, the name in the last group wins.
+     */
+    static EnumGroup merge(EnumGroup... groups) {
+        Map<Integer, String> merged = new TreeMap<>();
+        for (EnumGroup group : groups) {
+            if (group == null)
+                continue;
+            for (int i = 0; i < group.values.length; i++)
+                merged.put(group.values[i], group.names[i]);
+        }
+        int[] values = new int[merged.size()];
+        String[] names = new String[merged.size()];
+        int i = 0;
+        for (Map.Entry<Integer, String> e : merged.entrySet()) {
+            values[i] = e.getKey();
+            names[i++] = e.getValue();
+        }
+        return new EnumGroup(values, names);
+    }
+
+    public String get(int value) {
+        int i = Arrays.binarySearch(values, value);
+        return i >= 0 ? names[i] : null;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    String decodeBitField(int value) {
+        StringBuilder sb = new StringBuilder();
+        for (int bits = value; bits != 0; bits &= bits - 1) {
+            String name = bitNames[Integer.numberOfTrailingZeros(bits)];
+            if (name != null)
+                append(sb, name);
+        }
+        for (int i = 0; i < maskValues.length; i++) {
+            /* handle "ALL" masks */
+            if ((value & maskValues[i]) == maskValues[i])
+                append(sb, maskNames[i]);
+        }
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String name) {
+        if (sb.length() > 0)
+            sb.append(" | ");
+        sb.append(name);
+    }
+
+}
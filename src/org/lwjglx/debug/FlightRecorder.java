@@ -0,0 +1,260 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import static org.lwjglx.debug.BinaryTrace.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.lwjglx.debug.BinaryTrace.Sink;
+import org.lwjglx.debug.org.lwjgl.opengl.Context;
+
+/**
+ * Records the last calls of each thread into a memory-mapped ring file.
+ * <p>
+ * Since the pages of the file are owned by the operating system, the recorded calls survive a crash of the JVM and can be printed afterwards with
+ * {@link TraceDecoder}.
+ * <p>
+ * File layout: a header of {@link #HEADER_SIZE} bytes, the string table of {@link #STRING_TABLE_SIZE} bytes and {@link #MAX_THREADS} regions of
+ * one thread each. The string table holds the length and UTF-8 bytes of each string, whose id is its index in the table. Each region has a
+ * {@link #THREAD_HEADER_SIZE} bytes header with the thread id and name, followed by the ring of slots of {@link #SLOT_SIZE} bytes. A slot holds the
+ * sequence number of the call in the thread (0 while being written), the length of the record and the record in the format of
+ * {@link BinaryTrace#RECORD_CALL} records, with strings that did not fit into the string table written inline.
+ * <p>
+ * The region of a thread that has ended is given to a new thread once all regions were used.
+ */
+class FlightRecorder {
+
+    static final int MAGIC = 0x4C4A5846;
+    static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 64;
+    static final int THREAD_HEADER_SIZE = 128;
+    static final int SLOT_SIZE = 512;
+    static final int SLOT_HEADER_SIZE = 8 + 4;
+    static final int MAX_THREADS = 64;
+    static final int STRING_TABLE_SIZE = 1 << 18;
+    /* Offset of the number of used bytes of the string table in the header */
+    static final int STRING_TABLE_USED = 24;
+
+    private static final int MAX_THREAD_NAME_LENGTH = THREAD_HEADER_SIZE - 8 - 4;
+
+    private static final byte[] TRUNCATED;
+    static {
+        Sink truncated = new Sink(32);
+        truncated.putByte(ITEM_COMMENT);
+        truncated.putByte(TAG_TEXT);
+        truncated.putString("parameters truncated");
+        TRUNCATED = new byte[truncated.pos];
+        System.arraycopy(truncated.buf, 0, TRUNCATED, 0, truncated.pos);
+    }
+
+    private static final int CALLS_PER_THREAD = (int) Math.max(1L, Math.min(Properties.FLIGHT_RECORDER_CALLS, 1 << 20));
+    private static final int THREAD_REGION_SIZE = THREAD_HEADER_SIZE + CALLS_PER_THREAD * SLOT_SIZE;
+    private static final MappedByteBuffer MAP;
+    static {
+        File file = new File(Properties.FLIGHT_RECORDER).getAbsoluteFile();
+        long size = HEADER_SIZE + STRING_TABLE_SIZE + (long) MAX_THREADS * THREAD_REGION_SIZE;
+        if (size > Integer.MAX_VALUE)
+            throw new AssertionError("Flight recorder file would be too large. Decrease org.lwjglx.FLIGHT_RECORDER_CALLS.");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            /* Truncate first so that no slots of a previous session survive */
+            raf.setLength(0L);
+            raf.setLength(size);
+            MAP = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, size);
+        } catch (IOException e) {
+            throw new AssertionError("Failed to create flight recorder file: " + file.getAbsolutePath(), e);
+        }
+        MAP.putInt(0, MAGIC);
+        MAP.putInt(4, VERSION);
+        MAP.putInt(8, MAX_THREADS);
+        MAP.putInt(12, CALLS_PER_THREAD);
+        MAP.putInt(16, SLOT_SIZE);
+        MAP.putInt(20, STRING_TABLE_SIZE);
+    }
+
+    private static final Map<String, Integer> stringIds = new ConcurrentHashMap<>();
+    /* View of the string table, guarded by stringIds */
+    private static final ByteBuffer stringTable = MAP.duplicate();
+    private static int stringTableUsed;
+    private static int stringCount;
+
+    private static final class ThreadRing {
+        /* Own view of the mapped file, so that the position can be modified without synchronization */
+        final ByteBuffer buffer = MAP.duplicate();
+        final Sink record = new Sink(SLOT_SIZE);
+        final int offset;
+        final Thread owner;
+        long sequence;
+
+        ThreadRing(int offset, Thread owner) {
+            this.offset = offset;
+            this.owner = owner;
+        }
+    }
+
+    /* The rings of all threads by their region, guarded by itself */
+    private static final ThreadRing[] rings = new ThreadRing[MAX_THREADS];
+    private static boolean noMoreSpaceLogged;
+
+    private static final ThreadLocal<ThreadRing> ring = new ThreadLocal<ThreadRing>() {
+        protected ThreadRing initialValue() {
+            Thread thread = Thread.currentThread();
+            ThreadRing r = allocateRing(thread);
+            if (r == null) {
+                if (!noMoreSpaceLogged) {
+                    noMoreSpaceLogged = true;
+                    Log.info("Flight recorder has no more space for thread [" + thread.getName() + "] until another thread ends");
+                }
+                return null;
+            }
+            byte[] name = thread.getName().getBytes(StandardCharsets.UTF_8);
+            int nameLength = Math.min(name.length, MAX_THREAD_NAME_LENGTH);
+            r.buffer.putInt(r.offset + 8, nameLength);
+            r.buffer.position(r.offset + 12);
+            r.buffer.put(name, 0, nameLength);
+            /* The thread id marks the region as used */
+            r.buffer.putLong(r.offset, thread.getId());
+            return r;
+        }
+    };
+
+    /**
+     * Create the ring of the given thread in a region that was never used, or else in the region of a thread that has ended.
+     *
+     * @return the ring or <code>null</code> if all regions belong to running threads
+     */
+    private static ThreadRing allocateRing(Thread thread) {
+        synchronized (rings) {
+            int index = -1;
+            for (int i = 0; i < MAX_THREADS && index == -1; i++) {
+                if (rings[i] == null)
+                    index = i;
+            }
+            if (index == -1) {
+                for (int i = 0; i < MAX_THREADS && index == -1; i++) {
+                    if (!rings[i].owner.isAlive())
+                        index = i;
+                }
+                if (index == -1)
+                    return null;
+                /* Clear the calls of the ended thread, so that none of them is printed as a call of the new thread */
+                ByteBuffer buffer = rings[index].buffer;
+                int offset = rings[index].offset;
+                buffer.putLong(offset, 0L);
+                for (int j = 0; j < CALLS_PER_THREAD; j++)
+                    buffer.putLong(offset + THREAD_HEADER_SIZE + j * SLOT_SIZE, 0L);
+            }
+            ThreadRing r = new ThreadRing(HEADER_SIZE + STRING_TABLE_SIZE + index * THREAD_REGION_SIZE, thread);
+            rings[index] = r;
+            return r;
+        }
+    }
+
+    /**
+     * Return the id of the given string in the string table, or <code>-1</code> if the string table has no more space for it.
+     */
+    static int stringId(String s) {
+        Integer id = stringIds.get(s);
+        if (id != null)
+            return id.intValue();
+        synchronized (stringIds) {
+            id = stringIds.get(s);
+            if (id != null)
+                return id.intValue();
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            int newId = -1;
+            if (stringTableUsed + 4 + bytes.length <= STRING_TABLE_SIZE) {
+                newId = stringCount++;
+                stringTable.position(HEADER_SIZE + stringTableUsed);
+                stringTable.putInt(bytes.length);
+                stringTable.put(bytes);
+                stringTableUsed += 4 + bytes.length;
+                /* Only make the string visible to the decoder once it is complete */
+                MAP.putInt(STRING_TABLE_USED, stringTableUsed);
+            }
+            stringIds.put(s, newId);
+            return newId;
+        }
+    }
+
+    private static void putText(Sink sink, String s) {
+        if (s == null) {
+            sink.putByte(TAG_NULL);
+            return;
+        }
+        int id = stringId(s);
+        if (id == -1) {
+            sink.putByte(TAG_TEXT);
+            sink.putString(s);
+        } else {
+            sink.putByte(TAG_ENUM);
+            sink.putInt(id);
+        }
+    }
+
+    static void record(BinaryMethodCall mc) {
+        ThreadRing r = ring.get();
+        if (r == null)
+            return;
+        Sink record = r.record;
+        record.pos = 0;
+        Context context = Context.CURRENT_CONTEXT.get();
+        record.putLong(System.nanoTime());
+        record.putLong(Thread.currentThread().getId());
+        record.putByte(context != null ? 1 : 0);
+        record.putInt(context != null ? context.counter : 0);
+        putText(record, mc.source);
+        record.putInt(mc.line);
+        putText(record, mc.name);
+        record.putShort(Log.maxSourceLength);
+        record.putShort(Log.maxLineNumberLength);
+        Sink data = mc.data;
+        if (record.pos + 4 + data.pos <= SLOT_SIZE - SLOT_HEADER_SIZE) {
+            record.putInt(data.pos);
+            record.putBytes(data.buf, 0, data.pos);
+        } else {
+            record.putInt(TRUNCATED.length);
+            record.putBytes(TRUNCATED, 0, TRUNCATED.length);
+            if (record.pos > SLOT_SIZE - SLOT_HEADER_SIZE)
+                return;
+        }
+        long sequence = ++r.sequence;
+        int slot = r.offset + THREAD_HEADER_SIZE + (int) ((sequence - 1L) % CALLS_PER_THREAD) * SLOT_SIZE;
+        ByteBuffer buffer = r.buffer;
+        buffer.putLong(slot, 0L);
+        buffer.putInt(slot + 8, record.pos);
+        buffer.position(slot + SLOT_HEADER_SIZE);
+        buffer.put(record.buf, 0, record.pos);
+        buffer.putLong(slot, sequence);
+    }
+
+}
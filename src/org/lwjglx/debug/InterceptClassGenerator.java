@@ -29,34 +29,33 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 import org.lwjglx.debug.ClassMetadata.MethodInfo;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.util.TraceClassVisitor;
 
 class InterceptedCall {
-    private static final AtomicInteger counter = new AtomicInteger();
-
-    int index;
     String receiverInternalName;
     String resolvedReceiverInternalName;
     String name;
     String glName;
     String desc;
-    String generatedMethodName;
+    String proxyInternalName;
 
     InterceptedCall(String receiverInternalName, String resolvedReceiverInternalName, String name, String desc) {
-        this.index = counter.incrementAndGet();
         this.receiverInternalName = receiverInternalName;
         this.resolvedReceiverInternalName = resolvedReceiverInternalName;
         this.name = name;
@@ -93,42 +92,29 @@ class Method {
     }
 }
 
-class ClassKey {
-    final ClassLoader cl;
-    final String internalName;
-
-    ClassKey(ClassLoader cl, String internalName) {
-        this.cl = cl;
-        this.internalName = internalName;
-    }
-
-    public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + cl.hashCode();
-        result = prime * result + internalName.hashCode();
-        return result;
-    }
-
-    public boolean equals(Object obj) {
-        if (this == obj)
-            return true;
-        ClassKey other = (ClassKey) obj;
-        if (cl != other.cl)
-            return false;
-        if (!internalName.equals(other.internalName))
-            return false;
-        return true;
-    }
-}
-
 class InterceptClassGenerator implements Opcodes {
 
     private static final String MethodCall_InternalName = "org/lwjglx/debug/MethodCall";
     private static final String MethodCall_Desc = "L" + MethodCall_InternalName + ";";
     private static final String RT_InternalName = "org/lwjglx/debug/RT";
+    private static final String Context_InternalName = "org/lwjglx/debug/org/lwjgl/opengl/Context";
 
-    private static final Map<ClassKey, HashSet<Method>> declaredMethods = new ConcurrentHashMap<>();
+    /* The methods declared by override classes, per class loader they were looked up in and weakly keyed so that reloaded class loaders can be collected */
+    private static final Map<ClassLoader, Map<String, HashSet<Method>>> declaredMethods = new WeakHashMap<>();
+
+    /* The proxy classes defined so far in each class loader, which are shared by all callers of the same LWJGL method */
+    private static class Proxies {
+        final Map<String, Proxy> byKey = new HashMap<>();
+        final Set<String> names = new HashSet<>();
+    }
+    private static final Map<ClassLoader, Proxies> proxies = new WeakHashMap<>();
+
+    private static final Pattern STORAGE_CHANGING_METHODS = Pattern.compile(
+            "n?gl(Copy|Compressed)?(Tex|Texture|MultiTex)(Image|Storage)[123]D\\w*|n?gl(Named)?RenderbufferStorage\\w*|n?glGenerate(Texture|MultiTex)?Mipmap\\w*"
+            /* Deleting a texture or renderbuffer detaches it from the bound framebuffer */
+            + "|n?glDelete(Textures|Renderbuffers)\\w*");
+
+    private static final Pattern BUFFER_WRITING_METHODS = Pattern.compile("n?glClear(Named)?Buffer(Sub)?Data\\w*|ngl(Named)?BufferSubData\\w*");
 
     private static boolean isGLcall(InterceptedCall call) {
         return (call.name.startsWith("gl") || call.name.startsWith("ngl")) && call.resolvedReceiverInternalName.startsWith("org/lwjgl/opengl/");
@@ -178,6 +164,14 @@ class InterceptClassGenerator implements Opcodes {
         return false;
     }
 
+    private static boolean changesStorage(InterceptedCall call) {
+        return STORAGE_CHANGING_METHODS.matcher(call.name).matches();
+    }
+
+    private static boolean writesBuffer(InterceptedCall call) {
+        return BUFFER_WRITING_METHODS.matcher(call.name).matches();
+    }
+
     private static void checkFunctionSupported(MethodVisitor mv, String name) {
         mv.visitFieldInsn(GETFIELD, "org/lwjgl/opengl/GLCapabilities", name, "J");
         mv.visitLdcInsn(name);
@@ -186,11 +180,22 @@ class InterceptClassGenerator implements Opcodes {
 
     private static String getClassForMethod(ClassLoader cl, String desc, InterceptedCall call) {
         String className = "org/lwjglx/debug/" + call.resolvedReceiverInternalName;
-        ClassKey key = new ClassKey(cl, className);
-        HashSet<Method> dmethods = declaredMethods.get(key);
+        if (MethodIndex.coversOverrides(className)) {
+            ClassMetadata overrides = MethodIndex.get(className);
+            return overrides != null && overrides.methods.containsKey(call.name + desc) ? className : null;
+        }
+        Map<String, HashSet<Method>> loaderMethods;
+        synchronized (declaredMethods) {
+            loaderMethods = declaredMethods.get(cl);
+            if (loaderMethods == null) {
+                loaderMethods = new ConcurrentHashMap<>();
+                declaredMethods.put(cl, loaderMethods);
+            }
+        }
+        HashSet<Method> dmethods = loaderMethods.get(className);
         if (dmethods == null) {
             dmethods = new HashSet<>();
-            declaredMethods.put(key, dmethods);
+            loaderMethods.put(className, dmethods);
             InputStream is = cl.getResourceAsStream(className + ".class");
             if (is == null) {
                 return null;
@@ -219,7 +224,196 @@ class InterceptClassGenerator implements Opcodes {
         return null;
     }
 
-    public static Class<?> generate(ClassLoader classLoader, String proxyInternalName, String callerName, Collection<InterceptedCall> calls, String source) {
+    private static void generateCall(ClassLoader classLoader, InterceptedCall call, MethodVisitor mv, boolean validate) {
+        if (validate) {
+            /* Check if the method may only be called from the main thread */
+            if (isMainThreadMethod(call)) {
+                mv.visitLdcInsn(call.name);
+                mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "checkMainThread", "(Ljava/lang/String;)V", false);
+            }
+            /* and whether it was a GLFW method that requires glfwInit() to have been called */
+            if (requiresGlfwInit(call)) {
+                mv.visitLdcInsn(call.name);
+                mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "checkGlfwInitialized", "(Ljava/lang/String;)V", false);
+            }
+        }
+        /* Validate buffer arguments and also load all arguments onto stack */
+        Type[] paramTypes = Type.getArgumentTypes(call.desc);
+        Type retType = Type.getReturnType(call.desc);
+        ClassMetadata classMetadata = ClassMetadata.create(call.resolvedReceiverInternalName, classLoader);
+        MethodInfo minfo = classMetadata.methods.get(call.name + call.desc);
+        int var = loadArgumentsAndValidateArguments(mv, paramTypes, classMetadata, minfo, call, validate);
+        /* Allocate locals for the source/line parameters (only available when TRACE) */
+        int sourceVar = -1, lineVar = -1;
+        if (TRACE.enabled || MUTABLE.enabled) {
+            sourceVar = var++;
+            lineVar = var++;
+        }
+        /* and for the call site id and the start time when recording call histograms */
+        int siteVar = -1, startVar = -1;
+        if (HISTOGRAM != null) {
+            siteVar = var++;
+            startVar = var;
+            var += 2;
+        }
+        /* check if GL call */
+        call.glName = glCall(call);
+        if (call.glName != null) {
+            if (validate) {
+                /* if GL call, then check whether GLCapabilities have been set */
+                mv.visitMethodInsn(INVOKESTATIC, "org/lwjgl/opengl/GL", "getCapabilities", "()Lorg/lwjgl/opengl/GLCapabilities;", false);
+                /* and whether the function is supported */
+                checkFunctionSupported(mv, call.glName);
+            }
+        }
+        /* Optionally delay the call */
+        sleep(mv);
+        /* Do we want to output a call trace? */
+        if (TRACE.enabled || MUTABLE.enabled) {
+            /* Skip the trace when it is switched off at runtime */
+            Label traced = new Label();
+            mv.visitFieldInsn(GETSTATIC, RT_InternalName, "tracing", "Z");
+            mv.visitJumpInsn(IFNE, traced);
+            callUserMethodOrDirect(classLoader, call, mv, validate, siteVar, startVar);
+            mv.visitInsn(retType.getOpcode(IRETURN));
+            mv.visitLabel(traced);
+            /* What is the expected descriptor of the trace method? */
+            String traceMethodDesc = buildTraceMethodDesc(call, retType);
+            /* push a new MethodCall object on the stack */
+            mv.visitVarInsn(ALOAD, sourceVar);
+            mv.visitVarInsn(ILOAD, lineVar);
+            mv.visitLdcInsn(call.name);
+            mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "methodCall", "(Ljava/lang/String;ILjava/lang/String;)" + MethodCall_Desc, false);
+            int methodCallVar = var++; // <- local to hold the created MethodCall
+            /* check if we have a user-provided trace method */
+            String traceMethodOwnerName = getClassForMethod(classLoader, traceMethodDesc, call);
+            if (traceMethodOwnerName != null) {
+                mv.visitVarInsn(ASTORE, methodCallVar); // <- store in local
+                /* Call a user-provided intercept method or the target method */
+                callUserMethodOrDirect(classLoader, call, mv, validate, siteVar, startVar);
+                /* Store the return value in a local */
+                int retVar = var++;
+                if (retType.getSort() != Type.VOID) {
+                    mv.visitVarInsn(retType.getOpcode(ISTORE), retVar);
+                }
+                /* Repeat the arguments onto stack */
+                loadArguments(mv, paramTypes);
+                /* and load the return value (if any) */
+                if (retType.getSort() != Type.VOID) {
+                    mv.visitVarInsn(retType.getOpcode(ILOAD), retVar);
+                } else {
+                    mv.visitInsn(ACONST_NULL);
+                }
+                /* Call the trace method */
+                mv.visitVarInsn(ALOAD, methodCallVar);
+                mv.visitMethodInsn(INVOKESTATIC, traceMethodOwnerName, call.name, traceMethodDesc, false);
+                mv.visitVarInsn(ALOAD, methodCallVar);
+                mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "methodCall", "(Lorg/lwjglx/debug/MethodCall;)V", false);
+                if (retType.getSort() != Type.VOID) {
+                    /* Load return value on stack for final return from proxy method */
+                    mv.visitVarInsn(retType.getOpcode(ILOAD), retVar);
+                }
+            } else {
+                /* No user-provided trace method -> generate default trace prolog */
+                mv.visitInsn(DUP); // <- duplicate MethodCall to be reused in generateDefaultTraceBefore()
+                mv.visitVarInsn(ASTORE, methodCallVar); // <- store in local
+                /* Generate trace prolog */
+                generateDefaultTraceBefore(call, mv, paramTypes, minfo);
+                /* Call a user-provided intercept method or the target method */
+                callUserMethodOrDirect(classLoader, call, mv, validate, siteVar, startVar);
+                /* Generate default trace epilog */
+                generateDefaultTraceAfter(call, mv, methodCallVar, retType, minfo);
+            }
+        } else {
+            /* Call a user-provided intercept method or the target method */
+            callUserMethodOrDirect(classLoader, call, mv, validate, siteVar, startVar);
+        }
+        /* and finally return the return value */
+        mv.visitInsn(retType.getOpcode(IRETURN));
+    }
+
+    private static Proxies proxies(ClassLoader classLoader) {
+        ClassLoader definingLoader = ClassUtils.definingLoader(classLoader, RT.class);
+        Proxies p = proxies.get(definingLoader);
+        if (p == null) {
+            p = new Proxies();
+            proxies.put(definingLoader, p);
+        }
+        return p;
+    }
+
+    /**
+     * The options the code of a proxy class depends on, so that attaching again with other options does not reuse proxies generated before.
+     */
+    private static String proxyOptions() {
+        return " validate=" + VALIDATE.enabled + " trace=" + TRACE.enabled + " mutable=" + MUTABLE.enabled + " debug=" + DEBUG.enabled + " histogram="
+                + (HISTOGRAM != null) + " sleep=" + (SLEEP > 0L);
+    }
+
+    /**
+     * Return the proxy class of the given call, generating and defining it when no caller in the class loader needed it so far.
+     */
+    static Proxy proxy(ClassLoader classLoader, InterceptedCall call) {
+        String key = call.resolvedReceiverInternalName + "." + call.name + call.desc + proxyOptions();
+        String name;
+        synchronized (proxies) {
+            Proxies p = proxies(classLoader);
+            Proxy proxy = p.byKey.get(key);
+            if (proxy != null)
+                return proxy;
+            /* The name must be stable across JVM runs for the class cache, so derive it from the method */
+            String owner = call.resolvedReceiverInternalName.substring(call.resolvedReceiverInternalName.lastIndexOf('/') + 1);
+            String baseName = "org/lwjglx/debug/$Proxy$" + owner + "$" + call.name + "$" + Integer.toHexString(call.desc.hashCode());
+            name = baseName;
+            for (int i = 2; p.names.contains(name); i++)
+                name = baseName + "$" + i;
+            p.names.add(name);
+        }
+        /* Generate outside of the lock, because this can load classes */
+        byte[] bytes = generate(classLoader, name, call);
+        Proxy proxy = new Proxy(key, name, ClassCache.enabled() ? bytes : null);
+        synchronized (proxies) {
+            Proxies p = proxies(classLoader);
+            Proxy existing = p.byKey.get(key);
+            if (existing != null)
+                return existing;
+            p.byKey.put(key, proxy);
+        }
+        return proxy;
+    }
+
+    /**
+     * Forget all proxy classes generated so far, so that attaching again generates them for the new options. Their names stay taken, because the
+     * classes remain defined in their class loaders.
+     */
+    static void forgetProxies() {
+        synchronized (proxies) {
+            for (Proxies p : proxies.values())
+                p.byKey.clear();
+        }
+    }
+
+    /**
+     * Define a proxy class loaded from the class cache, unless it was already defined in the class loader.
+     * 
+     * @return <code>false</code> if the name of the proxy is taken by a different proxy, such as one generated for other options before
+     *         detaching, so that the cached class calling it must not be used
+     */
+    static boolean defineCached(ClassLoader classLoader, Proxy proxy) {
+        synchronized (proxies) {
+            Proxies p = proxies(classLoader);
+            if (!p.names.add(proxy.name)) {
+                Proxy defined = p.byKey.get(proxy.key);
+                return defined != null && defined.name.equals(proxy.name);
+            }
+            if (!p.byKey.containsKey(proxy.key))
+                p.byKey.put(proxy.key, proxy);
+        }
+        ClassUtils.defineClass(classLoader, RT.class, proxy.name, proxy.bytes);
+        return true;
+    }
+
+    private static byte[] generate(ClassLoader classLoader, String proxyInternalName, InterceptedCall call) {
         ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
         cw.visit(V1_6, ACC_PUBLIC | ACC_SUPER | ACC_SYNTHETIC, proxyInternalName, null, "java/lang/Object", null);
         MethodVisitor ctor = cw.visitMethod(ACC_PRIVATE | ACC_SYNTHETIC, "<init>", "()V", null, null);
@@ -229,119 +423,62 @@ class InterceptClassGenerator implements Opcodes {
         ctor.visitInsn(RETURN);
         ctor.visitMaxs(-1, -1);
         ctor.visitEnd();
-        /* Generate a new method for each intercepted call */
-        for (InterceptedCall call : calls) {
-            String effectiveDesc = call.desc;
-            if (TRACE.enabled) {
-                effectiveDesc = call.desc.substring(0, call.desc.lastIndexOf(')')) + "I" + call.desc.substring(call.desc.lastIndexOf(')'));
-            }
-            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC | ACC_SYNTHETIC, call.generatedMethodName, effectiveDesc, null, null);
-            mv.visitCode();
-            {
-                if (VALIDATE.enabled) {
-                    /* Check if the method may only be called from the main thread */
-                    if (isMainThreadMethod(call)) {
-                        mv.visitLdcInsn(call.name);
-                        mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "checkMainThread", "(Ljava/lang/String;)V", false);
-                    }
-                    /* and whether it was a GLFW method that requires glfwInit() to have been called */
-                    if (requiresGlfwInit(call)) {
-                        mv.visitLdcInsn(call.name);
-                        mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "checkGlfwInitialized", "(Ljava/lang/String;)V", false);
-                    }
-                }
-                /* Validate buffer arguments and also load all arguments onto stack */
-                Type[] paramTypes = Type.getArgumentTypes(call.desc);
-                Type retType = Type.getReturnType(call.desc);
-                ClassMetadata classMetadata = ClassMetadata.create(call.resolvedReceiverInternalName, classLoader);
-                MethodInfo minfo = classMetadata.methods.get(call.name + call.desc);
-                int var = loadArgumentsAndValidateArguments(mv, paramTypes, classMetadata, minfo, call);
-                /* Allocate locals for the source/line parameters (only available when TRACE) */
-                int lineVar = var++;
-                /* check if GL call */
-                call.glName = glCall(call);
-                if (call.glName != null) {
-                    if (VALIDATE.enabled) {
-                        /* if GL call, then check whether GLCapabilities have been set */
-                        mv.visitMethodInsn(INVOKESTATIC, "org/lwjgl/opengl/GL", "getCapabilities", "()Lorg/lwjgl/opengl/GLCapabilities;", false);
-                        /* and whether the function is supported */
-                        checkFunctionSupported(mv, call.glName);
-                    }
-                }
-                /* Optionally delay the call */
-                sleep(mv);
-                /* Do we want to output a call trace? */
-                if (TRACE.enabled) {
-                    /* What is the expected descriptor of the trace method? */
-                    String traceMethodDesc = buildTraceMethodDesc(call, retType);
-                    /* push a new MethodCall object on the stack */
-                    if (source != null)
-                        mv.visitLdcInsn(source);
-                    else
-                        mv.visitInsn(ACONST_NULL);
-                    mv.visitVarInsn(ILOAD, lineVar);
-                    mv.visitLdcInsn(call.name);
-                    mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "methodCall", "(Ljava/lang/String;ILjava/lang/String;)" + MethodCall_Desc, false);
-                    int methodCallVar = var++; // <- local to hold the created MethodCall
-                    /* check if we have a user-provided trace method */
-                    String traceMethodOwnerName = getClassForMethod(classLoader, traceMethodDesc, call);
-                    if (traceMethodOwnerName != null) {
-                        mv.visitVarInsn(ASTORE, methodCallVar); // <- store in local
-                        /* Call a user-provided intercept method or the target method */
-                        callUserMethodOrDirect(classLoader, call, mv);
-                        /* Store the return value in a local */
-                        int retVar = var++;
-                        if (retType.getSort() != Type.VOID) {
-                            mv.visitVarInsn(retType.getOpcode(ISTORE), retVar);
-                        }
-                        /* Repeat the arguments onto stack */
-                        loadArguments(mv, paramTypes);
-                        /* and load the return value (if any) */
-                        if (retType.getSort() != Type.VOID) {
-                            mv.visitVarInsn(retType.getOpcode(ILOAD), retVar);
-                        } else {
-                            mv.visitInsn(ACONST_NULL);
-                        }
-                        /* Call the trace method */
-                        mv.visitVarInsn(ALOAD, methodCallVar);
-                        mv.visitMethodInsn(INVOKESTATIC, traceMethodOwnerName, call.name, traceMethodDesc, false);
-                        mv.visitVarInsn(ALOAD, methodCallVar);
-                        mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "methodCall", "(Lorg/lwjglx/debug/MethodCall;)V", false);
-                        if (retType.getSort() != Type.VOID) {
-                            /* Load return value on stack for final return from proxy method */
-                            mv.visitVarInsn(retType.getOpcode(ILOAD), retVar);
-                        }
-                    } else {
-                        /* No user-provided trace method -> generate default trace prolog */
-                        mv.visitInsn(DUP); // <- duplicate MethodCall to be reused in generateDefaultTraceBefore()
-                        mv.visitVarInsn(ASTORE, methodCallVar); // <- store in local
-                        /* Generate trace prolog */
-                        generateDefaultTraceBefore(call, mv, paramTypes, minfo);
-                        /* Call a user-provided intercept method or the target method */
-                        callUserMethodOrDirect(classLoader, call, mv);
-                        /* Generate default trace epilog */
-                        generateDefaultTraceAfter(call, mv, methodCallVar, retType, minfo);
-                    }
-                } else {
-                    /* Call a user-provided intercept method or the target method */
-                    callUserMethodOrDirect(classLoader, call, mv);
-                }
-                /* and finally return the return value */
-                mv.visitInsn(retType.getOpcode(IRETURN));
+        String effectiveDesc = proxyDesc(call.desc);
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC | ACC_SYNTHETIC, call.name, effectiveDesc, null, null);
+        mv.visitCode();
+        if (MUTABLE.enabled) {
+            /* Generate the call with and without validation and choose at runtime */
+            Label unvalidated = new Label();
+            mv.visitFieldInsn(GETSTATIC, RT_InternalName, "validating", "Z");
+            mv.visitJumpInsn(IFEQ, unvalidated);
+            generateCall(classLoader, call, mv, true);
+            mv.visitLabel(unvalidated);
+            generateCall(classLoader, call, mv, false);
+        } else {
+            generateCall(classLoader, call, mv, VALIDATE.enabled);
+        }
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
+        if (!effectiveDesc.equals(call.desc)) {
+            /* Method references to the LWJGL method have no call site to pass */
+            MethodVisitor bridge = cw.visitMethod(ACC_PUBLIC | ACC_STATIC | ACC_SYNTHETIC, call.name, call.desc, null, null);
+            bridge.visitCode();
+            loadArguments(bridge, Type.getArgumentTypes(call.desc));
+            if (TRACE.enabled || MUTABLE.enabled) {
+                bridge.visitInsn(ACONST_NULL);
+                bridge.visitInsn(ICONST_M1);
             }
-            mv.visitMaxs(-1, -1);
-            mv.visitEnd();
+            if (HISTOGRAM != null)
+                Util.ldcI(bridge, CallProfiler.site(call.name, call.desc, null, null, -1));
+            bridge.visitMethodInsn(INVOKESTATIC, proxyInternalName, call.name, effectiveDesc, false);
+            bridge.visitInsn(Type.getReturnType(call.desc).getOpcode(IRETURN));
+            bridge.visitMaxs(-1, -1);
+            bridge.visitEnd();
         }
         cw.visitEnd();
         byte[] arr = cw.toByteArray();
         if (DEBUG.enabled) {
-            debug("Created proxy class for [" + callerName + "] (" + String.format("%,d", arr.length) + " bytes)");
+            debug("Created proxy class for [" + call.resolvedReceiverInternalName + "." + call.name + call.desc + "] (" + String.format("%,d", arr.length) + " bytes)");
             TraceClassVisitor tcv = new TraceClassVisitor(new PrintWriter(System.err));
             ClassReader tcr = new ClassReader(arr);
             tcr.accept(tcv, 0);
         }
-        Class<?> generatedClass = ClassUtils.defineClass(classLoader, RT.class, proxyInternalName, arr);
-        return generatedClass;
+        ClassUtils.defineClass(classLoader, RT.class, proxyInternalName, arr);
+        return arr;
+    }
+
+    /**
+     * The descriptor of the proxy method, which additionally takes the source file and line of the call site when it might be traced and the id of
+     * the call site when recording call histograms.
+     */
+    static String proxyDesc(String desc) {
+        String callSite = "";
+        if (TRACE.enabled || MUTABLE.enabled)
+            callSite += "Ljava/lang/String;I";
+        if (HISTOGRAM != null)
+            callSite += "I";
+        int end = desc.lastIndexOf(')');
+        return desc.substring(0, end) + callSite + desc.substring(end);
     }
 
     private static String buildTraceMethodDesc(InterceptedCall call, Type retType) {
@@ -357,17 +494,26 @@ class InterceptClassGenerator implements Opcodes {
     }
 
     private static void sleep(MethodVisitor mv) {
-        if (Properties.SLEEP > 0L) {
+        if (MUTABLE.enabled) {
+            /* Test the sleep time here, so that the call is skipped while it is 0 */
+            Label awake = new Label();
+            mv.visitFieldInsn(GETSTATIC, "org/lwjglx/debug/Properties", "SLEEP", "J");
+            mv.visitInsn(LCONST_0);
+            mv.visitInsn(LCMP);
+            mv.visitJumpInsn(IFLE, awake);
+            mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "delay", "()V", false);
+            mv.visitLabel(awake);
+        } else if (Properties.SLEEP > 0L) {
             mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "delay", "()V", false);
         }
     }
 
-    private static int loadArgumentsAndValidateArguments(MethodVisitor mv, Type[] paramTypes, ClassMetadata classMetadata, MethodInfo minfo, InterceptedCall call) {
+    private static int loadArgumentsAndValidateArguments(MethodVisitor mv, Type[] paramTypes, ClassMetadata classMetadata, MethodInfo minfo, InterceptedCall call, boolean validate) {
         int var = 0; // <- counts the used local variables
         for (int i = 0; i < paramTypes.length; i++) {
             Type paramType = paramTypes[i];
             mv.visitVarInsn(paramType.getOpcode(ILOAD), var);
-            if (VALIDATE.enabled) {
+            if (validate) {
                 if (paramType.getSort() == Type.OBJECT && Util.isBuffer(paramType.getInternalName())) {
                     mv.visitInsn(DUP);
                     mv.visitLdcInsn(call.resolvedReceiverInternalName);
@@ -398,7 +544,11 @@ class InterceptClassGenerator implements Opcodes {
         }
     }
 
-    private static void callUserMethodOrDirect(ClassLoader classLoader, InterceptedCall call, MethodVisitor mv) {
+    private static void callUserMethodOrDirect(ClassLoader classLoader, InterceptedCall call, MethodVisitor mv, boolean validate, int siteVar, int startVar) {
+        if (siteVar != -1) {
+            mv.visitMethodInsn(INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+            mv.visitVarInsn(LSTORE, startVar);
+        }
         /* Check if we have a user-provided validation method */
         String validationMethodOwnerName = getClassForMethod(classLoader, call.desc, call);
         if (validationMethodOwnerName != null) {
@@ -408,8 +558,21 @@ class InterceptClassGenerator implements Opcodes {
             /* we don't have a user-defined validation method yet, so just call the target method directly */
             mv.visitMethodInsn(INVOKESTATIC, call.resolvedReceiverInternalName, call.name, call.desc, false);
         }
+        if (siteVar != -1) {
+            mv.visitVarInsn(ILOAD, siteVar);
+            mv.visitVarInsn(LLOAD, startVar);
+            mv.visitMethodInsn(INVOKESTATIC, "org/lwjglx/debug/CallProfiler", "record", "(IJ)V", false);
+        }
+        /* Invalidate cached framebuffer completeness if the call (re-)specified or deleted texture or renderbuffer storage */
+        if (validate && call.glName != null && changesStorage(call)) {
+            mv.visitMethodInsn(INVOKESTATIC, Context_InternalName, "storageChanged", "()V", false);
+        }
+        /* Invalidate cached index ranges if the call wrote a buffer object without a wrapper tracking which one */
+        if (validate && call.glName != null && writesBuffer(call)) {
+            mv.visitMethodInsn(INVOKESTATIC, Context_InternalName, "buffersWritten", "()V", false);
+        }
         /* Check GL error if it was a GL call */
-        if (VALIDATE.enabled && call.glName != null && !call.glName.equals("glGetError")) {
+        if (validate && call.glName != null && !call.glName.equals("glGetError")) {
             mv.visitLdcInsn(call.name);
             mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "checkError", "(Ljava/lang/String;)V", false);
         }
@@ -425,8 +588,8 @@ class InterceptClassGenerator implements Opcodes {
         mv.visitMethodInsn(INVOKESTATIC, "org/lwjglx/debug/GLmetadata", fieldName, "()Lorg/lwjglx/debug/Command;", false);
         Util.ldcI(mv, glEnumIndex);
         mv.visitVarInsn(ILOAD, var);
-        mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, helperMethod, "(Lorg/lwjglx/debug/Command;II)Ljava/lang/String;", false);
-        mv.visitMethodInsn(INVOKEVIRTUAL, MethodCall_InternalName, "paramEnum", "(Ljava/lang/String;)" + MethodCall_Desc, false);
+        /* the MethodCall decides when to look up the name of the GLenum or to decode the bitfield */
+        mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, helperMethod, "(" + MethodCall_Desc + "Lorg/lwjglx/debug/Command;II)" + MethodCall_Desc, false);
         glEnumIndex++;
         return glEnumIndex;
     }
@@ -449,9 +612,9 @@ class InterceptClassGenerator implements Opcodes {
             Type paramType = paramTypes[i];
             String nativeType = minfo.parameterNativeTypes[i];
             if ("GLenum".equals(nativeType) || "GLboolean".equals(nativeType)) {
-                glEnumIndex = loadGLenum(call.glName, "glEnumFor", mv, var, glEnumIndex);
+                glEnumIndex = loadGLenum(call.glName, "paramEnum", mv, var, glEnumIndex);
             } else if ("GLbitfield".equals(nativeType)) {
-                glEnumIndex = loadGLenum(call.glName, "decodeBitField", mv, var, glEnumIndex);
+                glEnumIndex = loadGLenum(call.glName, "paramBitField", mv, var, glEnumIndex);
             } else if ("GLFWwindow *".equals(nativeType)) {
                 mv.visitVarInsn(paramType.getOpcode(ILOAD), var);
                 mv.visitMethodInsn(INVOKESTATIC, RT_InternalName, "paramGlfwWindow", "(" + MethodCall_Desc + paramType.getDescriptor() + ")" + MethodCall_Desc, false);
@@ -59,6 +59,7 @@ public class Log {
                         os = zos;
                         Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
                             public void run() {
+                                flush();
                                 try {
                                     zos.closeEntry();
                                     zos.finish();
@@ -74,6 +75,7 @@ public class Log {
                         os = zos;
                         Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
                             public void run() {
+                                flush();
                                 try {
                                     zos.finish();
                                     zos.flush();
@@ -93,6 +95,20 @@ public class Log {
         OUTPUT = outStream;
     }
 
+    private static final LogWriter WRITER;
+    static {
+        if (Properties.ASYNC_OUTPUT != null) {
+            WRITER = new LogWriter(OUTPUT, LogWriter.Policy.parse(Properties.ASYNC_OUTPUT), (int) Properties.ASYNC_OUTPUT_CAPACITY);
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                public void run() {
+                    flush();
+                }
+            }));
+        } else {
+            WRITER = null;
+        }
+    }
+
     public static class DebugStreamFactory implements java.util.function.Supplier<java.io.PrintStream> {
         public PrintStream get() {
             return Log.OUTPUT;
@@ -137,9 +153,27 @@ public class Log {
 
     private static void log(String level, String message, int multiline, Throwable t) {
         Context context = CURRENT_CONTEXT.get();
+        Integer contextCounter = context != null ? Integer.valueOf(context.counter) : null;
+        if (WRITER != null)
+            WRITER.log(level, contextCounter, message, multiline, t);
+        else
+            OUTPUT.print(format(level, contextCounter, message, multiline, t));
+    }
+
+    /**
+     * Wait until all messages logged so far have been written to {@link #OUTPUT}.
+     */
+    public static void flush() {
+        if (WRITER != null)
+            WRITER.flush();
+        else
+            OUTPUT.flush();
+    }
+
+    static String format(String level, Integer contextCounter, String message, int multiline, Throwable t) {
         String prefix;
-        if (context != null) {
-            prefix = "[" + level + "][" + context.counter + "] ";
+        if (contextCounter != null) {
+            prefix = "[" + level + "][" + contextCounter + "] ";
         } else {
             prefix = "[" + level + "] ";
         }
@@ -174,7 +208,7 @@ public class Log {
                 msg.append(st[i].toString()).append("\n");
             }
         }
-        OUTPUT.print(prefix + msg.toString());
+        return prefix + msg.toString();
     }
 
     public static void info(String message) {
@@ -207,4 +241,20 @@ public class Log {
         log("trace", message);
     }
 
+    /**
+     * Trace the given call. With asynchronous output the call is formatted on the log writer thread, which frees it afterwards.
+     *
+     * @return <code>true</code> if the log writer took the call, or <code>false</code> if the call was already written
+     */
+    static boolean trace(MethodCall mc) {
+        if (WRITER == null || mc.returnedTo == null) {
+            trace(mc.toString());
+            return false;
+        }
+        Context context = CURRENT_CONTEXT.get();
+        Integer contextCounter = context != null ? Integer.valueOf(context.counter) : null;
+        WRITER.trace(contextCounter, mc, maxSourceLength, maxLineNumberLength);
+        return true;
+    }
+
 }
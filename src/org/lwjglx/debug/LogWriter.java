@@ -0,0 +1,265 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Formats and writes log messages on a background thread.
+ * <p>
+ * Producers enqueue the unformatted messages, or the {@link MethodCall} of a traced call, into a bounded lock-free queue (see
+ * <a href="http://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue">Bounded MPMC queue</a>). What happens when the queue
+ * is full is decided by the {@link Policy}.
+ */
+class LogWriter {
+
+    enum Policy {
+        /* Wait until the writer thread made space */
+        BLOCK,
+        /* Discard the oldest queued message */
+        DROP_OLDEST,
+        /* Discard the new message */
+        DROP_NEWEST;
+
+        static Policy parse(String value) {
+            if (value == null || value.isEmpty() || "block".equalsIgnoreCase(value))
+                return BLOCK;
+            if ("dropoldest".equalsIgnoreCase(value))
+                return DROP_OLDEST;
+            if ("dropnewest".equalsIgnoreCase(value))
+                return DROP_NEWEST;
+            throw new AssertionError("Unknown asynchronous output policy: " + value + ". Use one of: block, dropoldest, dropnewest");
+        }
+    }
+
+    private static final class Record {
+        final String level;
+        final Integer contextCounter;
+        final String message;
+        final int multiline;
+        final Throwable t;
+        /* The traced call to format instead of the message, which is freed after formatting */
+        final MethodCall call;
+        final int maxSourceLength;
+        final int maxLineNumberLength;
+
+        Record(String level, Integer contextCounter, String message, int multiline, Throwable t) {
+            this.level = level;
+            this.contextCounter = contextCounter;
+            this.message = message;
+            this.multiline = multiline;
+            this.t = t;
+            this.call = null;
+            this.maxSourceLength = 0;
+            this.maxLineNumberLength = 0;
+        }
+
+        Record(Integer contextCounter, MethodCall call, int maxSourceLength, int maxLineNumberLength) {
+            this.level = "trace";
+            this.contextCounter = contextCounter;
+            this.message = null;
+            this.multiline = 2;
+            this.t = null;
+            this.call = call;
+            this.maxSourceLength = maxSourceLength;
+            this.maxLineNumberLength = maxLineNumberLength;
+        }
+
+        String message() {
+            return call != null ? call.toString(maxSourceLength, maxLineNumberLength) : message;
+        }
+
+        void free() {
+            if (call != null)
+                call.free();
+        }
+    }
+
+    private final PrintStream out;
+    private final Policy policy;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    /* Number of enqueued messages */
+    private final AtomicLong enqueued = new AtomicLong();
+    /* Number of enqueued messages that were written or dropped */
+    private final AtomicLong done = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long reportedDropped;
+    private final Thread thread;
+    private volatile boolean parked;
+
+    LogWriter(PrintStream out, Policy policy, int capacity) {
+        this.out = out;
+        this.policy = policy;
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+        this.mask = size - 1;
+        this.thread = new Thread(new Runnable() {
+            public void run() {
+                write();
+            }
+        }, "LWJGLX log writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private boolean offer(Object e) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0L) {
+                if (tail.compareAndSet(pos, pos + 1L)) {
+                    elements[index] = e;
+                    sequences.set(index, pos + 1L);
+                    return true;
+                }
+            } else if (diff < 0L) {
+                return false;
+            }
+        }
+    }
+
+    private Object poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1L);
+            if (diff == 0L) {
+                if (head.compareAndSet(pos, pos + 1L)) {
+                    Object e = elements[index];
+                    elements[index] = null;
+                    sequences.set(index, pos + mask + 1L);
+                    return e;
+                }
+            } else if (diff < 0L) {
+                return null;
+            }
+        }
+    }
+
+    void log(String level, Integer contextCounter, String message, int multiline, Throwable t) {
+        enqueue(new Record(level, contextCounter, message, multiline, t));
+    }
+
+    void trace(Integer contextCounter, MethodCall call, int maxSourceLength, int maxLineNumberLength) {
+        enqueue(new Record(contextCounter, call, maxSourceLength, maxLineNumberLength));
+    }
+
+    private void enqueue(Record record) {
+        while (!offer(record)) {
+            if (policy == Policy.DROP_NEWEST) {
+                dropped.incrementAndGet();
+                record.free();
+                return;
+            } else if (policy == Policy.DROP_OLDEST) {
+                Record oldest = (Record) poll();
+                if (oldest != null) {
+                    oldest.free();
+                    dropped.incrementAndGet();
+                    done.incrementAndGet();
+                }
+            } else if (!thread.isAlive()) {
+                /* Nothing makes space anymore, so write the queued messages and this one on the calling thread */
+                drain();
+                enqueued.incrementAndGet();
+                writeRecord(record);
+                return;
+            } else {
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(this, 50000L);
+            }
+        }
+        enqueued.incrementAndGet();
+        if (parked)
+            LockSupport.unpark(thread);
+    }
+
+    private void reportDropped() {
+        long d = dropped.get();
+        if (d != reportedDropped) {
+            out.print(Log.format("warn", null, "Dropped " + (d - reportedDropped) + " log messages because the output queue was full", 2, null));
+            reportedDropped = d;
+        }
+    }
+
+    private void write() {
+        while (true) {
+            Record record = (Record) poll();
+            if (record == null) {
+                parked = true;
+                if (sequences.get((int) head.get() & mask) != head.get() + 1L)
+                    LockSupport.parkNanos(this, 10000000L);
+                parked = false;
+                continue;
+            }
+            writeRecord(record);
+            reportDropped();
+        }
+    }
+
+    private void writeRecord(Record record) {
+        try {
+            out.print(Log.format(record.level, record.contextCounter, record.message(), record.multiline, record.t));
+        } catch (Throwable t) {
+            /* For example, the toString() of a traced argument threw, which must not end the writer thread and with it all output */
+            try {
+                out.print(Log.format("error", record.contextCounter, "Could not write " + record.level + " message: " + t, 2, null));
+            } catch (Throwable ignored) {
+            }
+        } finally {
+            record.free();
+        }
+        done.incrementAndGet();
+    }
+
+    private void drain() {
+        Record record;
+        while ((record = (Record) poll()) != null)
+            writeRecord(record);
+    }
+
+    /**
+     * Wait until all messages enqueued so far have been written.
+     */
+    void flush() {
+        long target = enqueued.get();
+        while (done.get() < target && thread.isAlive()) {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(100000L);
+        }
+        if (!thread.isAlive())
+            drain();
+        out.flush();
+    }
+
+}
@@ -31,20 +31,52 @@ import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryUtil;
 
 public class MethodCall {
 
-    private String source;
-    private int line;
-    private String name;
-
-    private final List<String> params = new ArrayList<String>();
-    private String returnValue;
+    /* Kinds of recorded values, which are only converted to strings when the call is output */
+    private static final byte INT = 0;
+    private static final byte SHORT = 1;
+    private static final byte LONG = 2;
+    private static final byte FLOAT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte CHAR = 6;
+    /* Object printed with String.valueOf() */
+    private static final byte OBJECT = 7;
+    /* Java string printed quoted and escaped */
+    private static final byte STRING = 8;
+    /* NIO buffer with its position in the upper and its limit in the lower 32 bits of the value */
+    private static final byte BUFFER = 9;
+    /* GLbitfield value decoded with the EnumGroup in the object slot */
+    private static final byte BITFIELD = 10;
+    /* GLenum value in the lower and the parameter index (-1 for the return value) in the upper 32 bits, looked up with the Command in the object slot */
+    private static final byte GLENUM = 11;
+
+    String source;
+    int line;
+    String name;
+
+    /* Next free MethodCall of the same thread, when this one is not in use */
+    MethodCall next;
+    /* Where the log writer returns this MethodCall to after formatting it, or null when it is only used by its thread */
+    AtomicReference<MethodCall> returnedTo;
+
+    private byte[] kinds = new byte[8];
+    private long[] values = new long[8];
+    private Object[] objects = new Object[8];
+    private int numParams;
+
+    private byte returnKind;
+    private long returnValue;
+    private Object returnObject;
     private boolean hasReturnValue;
 
     private String comment;
@@ -55,25 +87,76 @@ public class MethodCall {
         this.name = name;
     }
 
-    public MethodCall param(int param) {
-        params.add(Integer.toString(param));
+    void reset(String source, int line, String name) {
+        this.source = source;
+        this.line = line;
+        this.name = name;
+    }
+
+    /**
+     * Drop all recorded values, so that this MethodCall can be reused for the next call.
+     */
+    void clear() {
+        for (int i = 0; i < numParams; i++)
+            objects[i] = null;
+        numParams = 0;
+        returnObject = null;
+        hasReturnValue = false;
+        comment = null;
+    }
+
+    /**
+     * Give this MethodCall back to its thread from the log writer thread.
+     */
+    void free() {
+        clear();
+        MethodCall head;
+        do {
+            head = returnedTo.get();
+            next = head;
+        } while (!returnedTo.compareAndSet(head, this));
+    }
+
+    private MethodCall add(byte kind, long value, Object object) {
+        if (numParams == kinds.length) {
+            kinds = Arrays.copyOf(kinds, numParams << 1);
+            values = Arrays.copyOf(values, numParams << 1);
+            objects = Arrays.copyOf(objects, numParams << 1);
+        }
+        kinds[numParams] = kind;
+        values[numParams] = value;
+        objects[numParams] = object;
+        numParams++;
         return this;
     }
 
+    private void setReturnValue(byte kind, long value, Object object) {
+        returnKind = kind;
+        returnValue = value;
+        returnObject = object;
+        hasReturnValue = true;
+    }
+
+    private static long bufferValue(Buffer buffer) {
+        return (long) buffer.position() << 32 | buffer.limit() & 0xFFFFFFFFL;
+    }
+
+    public MethodCall param(int param) {
+        return add(INT, param, null);
+    }
+
     public MethodCall param(short param) {
-        params.add(Short.toString(param));
-        return this;
+        return add(SHORT, param, null);
     }
 
     public MethodCall param(long param) {
-        params.add(Long.toString(param) + "L");
-        return this;
+        return add(LONG, param, null);
     }
 
     /**
      * See: https://stackoverflow.com/questions/17103660/print-string-with-escape-non-printable-characters
      */
-    private static String removeUnicodeAndEscapeChars(String input) {
+    static String removeUnicodeAndEscapeChars(String input) {
         StringBuilder buffer = new StringBuilder(input.length());
         for (int i = 0; i < input.length(); i++) {
             if ((int) input.charAt(i) > 256) {
@@ -101,38 +184,33 @@ public class MethodCall {
         return buffer.toString();
     }
 
-    private String printBuffer(Buffer buffer) {
-        String type;
+    static String bufferType(Buffer buffer) {
         if (buffer instanceof ByteBuffer) {
-            type = "ByteBuffer";
+            return "ByteBuffer";
         } else if (buffer instanceof ShortBuffer) {
-            type = "ShortBuffer";
+            return "ShortBuffer";
         } else if (buffer instanceof IntBuffer) {
-            type = "IntBuffer";
+            return "IntBuffer";
         } else if (buffer instanceof LongBuffer) {
-            type = "LongBuffer";
+            return "LongBuffer";
         } else if (buffer instanceof CharBuffer) {
-            type = "CharBuffer";
+            return "CharBuffer";
         } else if (buffer instanceof FloatBuffer) {
-            type = "FloatBuffer";
+            return "FloatBuffer";
         } else if (buffer instanceof DoubleBuffer) {
-            type = "DoubleBuffer";
+            return "DoubleBuffer";
         } else {
-            type = "<UNKNOWN>";
+            return "<UNKNOWN>";
         }
-        if (buffer.isDirect()) {
-            long address = MemoryUtil.memAddress0(buffer);
-            int pos = buffer.position();
-            int lim = buffer.limit();
-            int cap = buffer.capacity();
+    }
+
+    static String printBuffer(String type, boolean direct, long address, int pos, int lim, int cap) {
+        if (direct) {
             if (pos == 0 && lim == cap)
                 return type + "[0x" + Long.toString(address, 16) + ", " + lim + "]";
             else
                 return type + "[0x" + Long.toString(address, 16) + ", " + pos + ", " + lim + ", " + cap + "]";
         } else {
-            int pos = buffer.position();
-            int lim = buffer.limit();
-            int cap = buffer.capacity();
             if (pos == 0 && lim == cap)
                 return type + "[ND, " + lim + "]";
             else
@@ -140,143 +218,176 @@ public class MethodCall {
         }
     }
 
-    private String printBuffer(PointerBuffer buffer) {
-        long address = MemoryUtil.memAddress(buffer);
-        int pos = buffer.position();
-        int lim = buffer.limit();
-        int cap = buffer.capacity();
-        if (pos == 0 && lim == cap)
-            return "PointerBuffer[0x" + Long.toString(address, 16) + ", " + lim + "]";
-        else
-            return "PointerBuffer[0x" + Long.toString(address, 16) + ", " + pos + ", " + lim + ", " + cap + "]";
+    private static String printBuffer(Buffer buffer, long positionAndLimit) {
+        long address = buffer.isDirect() ? MemoryUtil.memAddress0(buffer) : 0L;
+        return printBuffer(bufferType(buffer), buffer.isDirect(), address, (int) (positionAndLimit >>> 32), (int) positionAndLimit, buffer.capacity());
+    }
+
+    private static String printBuffer(PointerBuffer buffer) {
+        return printBuffer("PointerBuffer", true, buffer.address(), buffer.position(), buffer.limit(), buffer.capacity());
     }
 
     public MethodCall param(Object param) {
         if (param instanceof String) {
-            String string = (String) param;
-            params.add("\"" + removeUnicodeAndEscapeChars(string) + "\"");
+            add(STRING, 0L, param);
         } else if (param instanceof Buffer) {
-            Buffer buffer = (Buffer) param;
-            params.add(printBuffer(buffer));
+            add(BUFFER, bufferValue((Buffer) param), param);
         } else if (param instanceof PointerBuffer) {
-            PointerBuffer buffer = (PointerBuffer) param;
-            printBuffer(buffer);
+            /* not printed */
         } else {
-            params.add(String.valueOf(param));
+            add(OBJECT, 0L, param);
         }
         return this;
     }
 
     public MethodCall paramEnum(String param) {
-        params.add(String.valueOf(param));
-        return this;
+        return add(OBJECT, 0L, param);
+    }
+
+    public MethodCall paramEnum(Command cmd, int paramIndex, int param) {
+        return add(GLENUM, (long) paramIndex << 32 | param & 0xFFFFFFFFL, cmd);
+    }
+
+    public MethodCall paramBitField(Command cmd, int paramIndex, int param) {
+        return add(BITFIELD, param, cmd.params.get(paramIndex).group);
     }
 
     public MethodCall param(boolean param) {
-        params.add(Boolean.toString(param));
-        return this;
+        return add(BOOLEAN, param ? 1L : 0L, null);
     }
 
     public MethodCall param(char param) {
-        if (param == '\'') {
-            params.add("'\\" + param + "'");
-        } else {
-            params.add("'" + param + "'");
-        }
-        return this;
+        return add(CHAR, param, null);
     }
 
     public MethodCall param(float param) {
-        params.add(Float.toString(param) + "f");
-        return this;
+        return add(FLOAT, Float.floatToRawIntBits(param), null);
     }
 
     public MethodCall param(double param) {
-        params.add(Double.toString(param));
-        return this;
+        return add(DOUBLE, Double.doubleToRawLongBits(param), null);
     }
 
     public int returnValue(int val) {
-        this.returnValue = Integer.toString(val);
-        hasReturnValue = true;
+        setReturnValue(INT, val, null);
         return val;
     }
 
     public float returnValue(float val) {
-        this.returnValue = Float.toString(val) + "f";
-        hasReturnValue = true;
+        setReturnValue(FLOAT, Float.floatToRawIntBits(val), null);
         return val;
     }
 
     public double returnValue(double val) {
-        this.returnValue = Double.toString(val);
-        hasReturnValue = true;
+        setReturnValue(DOUBLE, Double.doubleToRawLongBits(val), null);
         return val;
     }
 
     public short returnValue(short val) {
-        this.returnValue = Short.toString(val);
-        hasReturnValue = true;
+        setReturnValue(SHORT, val, null);
         return val;
     }
 
     public long returnValue(long val) {
-        this.returnValue = Long.toString(val) + "L";
-        hasReturnValue = true;
+        setReturnValue(LONG, val, null);
         return val;
     }
 
     public boolean returnValue(boolean val) {
-        this.returnValue = Boolean.toString(val);
-        hasReturnValue = true;
+        setReturnValue(BOOLEAN, val ? 1L : 0L, null);
         return val;
     }
 
     public char returnValue(char val) {
-        if (val == '\'') {
-            this.returnValue = "'\\" + val + "'";
-        } else {
-            this.returnValue = "'" + val + "'";
-        }
-        hasReturnValue = true;
+        setReturnValue(CHAR, val, null);
         return val;
     }
 
     public Object returnValue(Object val) {
         if (val instanceof String) {
-            String string = (String) val;
-            this.returnValue = "\"" + removeUnicodeAndEscapeChars(string) + "\"";
+            setReturnValue(STRING, 0L, val);
         } else if (val instanceof Buffer) {
-            Buffer buffer = (Buffer) val;
-            this.returnValue = printBuffer(buffer);
+            setReturnValue(BUFFER, bufferValue((Buffer) val), val);
         } else if (val instanceof PointerBuffer) {
-            PointerBuffer buffer = (PointerBuffer) val;
-            this.returnValue = printBuffer(buffer);
+            /* rare, so it is printed right away */
+            setReturnValue(OBJECT, 0L, printBuffer((PointerBuffer) val));
         } else {
-            this.returnValue = String.valueOf(val);
+            setReturnValue(OBJECT, 0L, val);
         }
-        hasReturnValue = true;
         return val;
     }
 
     public Object returnValueEnum(String val) {
-        this.returnValue = val;
-        hasReturnValue = true;
+        setReturnValue(OBJECT, 0L, val);
         return val;
     }
 
+    public void returnValueEnum(Command cmd, int val) {
+        setReturnValue(GLENUM, (long) BinaryTrace.RETURN_INDEX << 32 | val & 0xFFFFFFFFL, cmd);
+    }
+
     public void comment(String comment) {
         this.comment = comment;
     }
 
+    private static String print(byte kind, long value, Object object) {
+        switch (kind) {
+        case INT:
+            return Integer.toString((int) value);
+        case SHORT:
+            return Short.toString((short) value);
+        case LONG:
+            return Long.toString(value) + "L";
+        case FLOAT:
+            return Float.toString(Float.intBitsToFloat((int) value)) + "f";
+        case DOUBLE:
+            return Double.toString(Double.longBitsToDouble(value));
+        case BOOLEAN:
+            return Boolean.toString(value != 0L);
+        case CHAR:
+            char c = (char) value;
+            if (c == '\'') {
+                return "'\\" + c + "'";
+            } else {
+                return "'" + c + "'";
+            }
+        case STRING:
+            return "\"" + removeUnicodeAndEscapeChars((String) object) + "\"";
+        case BUFFER:
+            return printBuffer((Buffer) object, value);
+        case BITFIELD:
+            return ((EnumGroup) object).decodeBitField((int) value);
+        case GLENUM:
+            int paramIndex = (int) (value >> 32);
+            if (paramIndex == BinaryTrace.RETURN_INDEX)
+                return String.valueOf(RT.glEnumReturnFor((Command) object, (int) value));
+            return String.valueOf(RT.glEnumFor((Command) object, paramIndex, (int) value));
+        default:
+            return String.valueOf(object);
+        }
+    }
+
     @Override
     public String toString() {
+        return toString(Log.maxSourceLength, Log.maxLineNumberLength);
+    }
+
+    String toString(int maxSourceLength, int maxLineNumberLength) {
+        List<String> params = new ArrayList<String>(numParams);
+        for (int i = 0; i < numParams; i++)
+            params.add(print(kinds[i], values[i], objects[i]));
+        String ret = hasReturnValue ? print(returnKind, returnValue, returnObject) : null;
+        return toString(source, line, maxSourceLength, maxLineNumberLength, name, params, ret, hasReturnValue, comment);
+    }
+
+    static String toString(String source, int line, int maxSourceLength, int maxLineNumberLength, String name, List<String> params, String returnValue, boolean hasReturnValue,
+            String comment) {
         StringBuilder sb = new StringBuilder();
         if (source != null) {
             String sourceLine = "(" + source + ":" + line + ")";
-            int pad = Log.maxSourceLength;
+            int pad = maxSourceLength;
             pad += 3; // <- account for parenthese and colon
-            pad += Log.maxLineNumberLength;
+            pad += maxLineNumberLength;
             sourceLine = String.format("%1$-" + pad + "s", sourceLine);
             sb.append(sourceLine).append(" ");
         }
@@ -0,0 +1,257 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import static org.lwjglx.debug.Log.*;
+import static org.lwjglx.debug.Properties.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.lwjglx.debug.ClassMetadata.MethodInfo;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Index of the public static methods of all LWJGL classes and all org.lwjglx.debug override classes known at build time.
+ * <p>
+ * The index is generated by {@link #main(String[])} after compilation and shipped with the agent jar, so that the metadata does not have to be read
+ * from class files at runtime. Classes not in the index are still read with ASM.
+ */
+class MethodIndex {
+
+    private static final String RESOURCE = "methods.idx";
+    private static final int MAGIC = 0x4C4A4D49;
+    private static final String OVERRIDES_PREFIX = "org/lwjglx/debug/org/lwjgl/";
+
+    private static Map<String, ClassMetadata> classes;
+
+    /**
+     * Load the index shipped with the agent, unless it was generated for a different LWJGL version.
+     */
+    static void load() {
+        InputStream is = MethodIndex.class.getResourceAsStream(RESOURCE);
+        if (is == null) {
+            if (DEBUG.enabled)
+                debug("No method index available");
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+            if (in.readInt() != MAGIC)
+                return;
+            String version = in.readUTF();
+            if (!version.equals(org.lwjgl.Version.getVersion())) {
+                if (DEBUG.enabled)
+                    debug("Ignoring method index built for LWJGL " + version);
+                return;
+            }
+            boolean hasNullables = in.readBoolean();
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++)
+                strings[i] = in.readUTF();
+            int numClasses = in.readInt();
+            Map<String, ClassMetadata> map = new HashMap<>(numClasses * 4 / 3 + 1);
+            for (int c = 0; c < numClasses; c++) {
+                ClassMetadata m = new ClassMetadata();
+                String internalName = strings[in.readInt()];
+                m.superName = string(strings, in.readInt());
+                int numMethods = in.readInt();
+                for (int i = 0; i < numMethods; i++) {
+                    MethodInfo minfo = new MethodInfo();
+                    minfo.name = strings[in.readInt()];
+                    String desc = strings[in.readInt()];
+                    minfo.returnNativeType = string(strings, in.readInt());
+                    int numParameters = in.readUnsignedByte();
+                    minfo.parameterNativeTypes = new String[numParameters];
+                    minfo.parameterNames = new String[numParameters];
+                    minfo.nullable = new boolean[numParameters];
+                    for (int p = 0; p < numParameters; p++) {
+                        minfo.parameterNativeTypes[p] = string(strings, in.readInt());
+                        minfo.parameterNames[p] = string(strings, in.readInt());
+                        minfo.nullable[p] = in.readBoolean();
+                    }
+                    m.methods.put(minfo.name + desc, minfo);
+                }
+                map.put(internalName, m);
+            }
+            ClassMetadata.hasNullables |= hasNullables;
+            classes = map;
+            if (DEBUG.enabled)
+                debug("Loaded method index of " + numClasses + " classes");
+        } catch (IOException e) {
+            if (DEBUG.enabled)
+                debug("Could not read method index: " + e.getMessage());
+        }
+    }
+
+    private static String string(String[] strings, int index) {
+        return index < 0 ? null : strings[index];
+    }
+
+    /**
+     * Return the indexed metadata of the given class, or <code>null</code> if the class is not indexed.
+     */
+    static ClassMetadata get(String internalName) {
+        return classes != null ? classes.get(internalName) : null;
+    }
+
+    /**
+     * Whether the index knows all override classes, so that a missing class means that there are no overrides.
+     */
+    static boolean coversOverrides(String internalName) {
+        return classes != null && internalName.startsWith(OVERRIDES_PREFIX);
+    }
+
+    /**
+     * Resolve the class declaring the given static method, or return <code>null</code> if any class in the hierarchy is not indexed.
+     */
+    static String resolveOwner(String owner, String name, String desc) {
+        if (classes == null)
+            return null;
+        String key = name + desc;
+        String next = owner;
+        while (true) {
+            ClassMetadata m = classes.get(next);
+            if (m == null)
+                return null;
+            if (m.superName == null || m.superName.equals("java/lang/Object") || m.methods.containsKey(key))
+                return next;
+            next = m.superName;
+        }
+    }
+
+    /**
+     * Generate the index from the LWJGL jars on the class path and the compiled override classes.
+     * 
+     * @param args
+     *            the class output directory, where the index is written to as well
+     */
+    public static void main(String[] args) throws IOException {
+        File classesDir = new File(args[0]);
+        Map<String, ClassMetadata> index = new TreeMap<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.endsWith(".jar"))
+                continue;
+            try (JarFile jar = new JarFile(entry)) {
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry je = entries.nextElement();
+                    String name = je.getName();
+                    if (!name.startsWith("org/lwjgl/") || !name.endsWith(".class"))
+                        continue;
+                    try (InputStream is = jar.getInputStream(je)) {
+                        index.put(name.substring(0, name.length() - 6), ClassMetadata.read(new ClassReader(is)));
+                    }
+                }
+            }
+        }
+        addClasses(index, new File(classesDir, OVERRIDES_PREFIX), OVERRIDES_PREFIX);
+        boolean hasNullables = ClassMetadata.hasNullables;
+        /* Collect the string table */
+        Map<String, Integer> stringIndices = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Map.Entry<String, ClassMetadata> e : index.entrySet()) {
+            intern(stringIndices, strings, e.getKey());
+            intern(stringIndices, strings, e.getValue().superName);
+            for (Map.Entry<String, MethodInfo> me : e.getValue().methods.entrySet()) {
+                MethodInfo minfo = me.getValue();
+                intern(stringIndices, strings, minfo.name);
+                intern(stringIndices, strings, me.getKey().substring(minfo.name.length()));
+                intern(stringIndices, strings, minfo.returnNativeType);
+                for (int p = 0; p < minfo.parameterNames.length; p++) {
+                    intern(stringIndices, strings, minfo.parameterNativeTypes[p]);
+                    intern(stringIndices, strings, minfo.parameterNames[p]);
+                }
+            }
+        }
+        File out = new File(classesDir, "org/lwjglx/debug/" + RESOURCE);
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(out)))) {
+            dos.writeInt(MAGIC);
+            dos.writeUTF(org.lwjgl.Version.getVersion());
+            dos.writeBoolean(hasNullables);
+            dos.writeInt(strings.size());
+            for (String s : strings)
+                dos.writeUTF(s);
+            dos.writeInt(index.size());
+            for (Map.Entry<String, ClassMetadata> e : index.entrySet()) {
+                dos.writeInt(stringIndices.get(e.getKey()));
+                dos.writeInt(indexOf(stringIndices, e.getValue().superName));
+                dos.writeInt(e.getValue().methods.size());
+                for (Map.Entry<String, MethodInfo> me : e.getValue().methods.entrySet()) {
+                    MethodInfo minfo = me.getValue();
+                    dos.writeInt(stringIndices.get(minfo.name));
+                    dos.writeInt(stringIndices.get(me.getKey().substring(minfo.name.length())));
+                    dos.writeInt(indexOf(stringIndices, minfo.returnNativeType));
+                    dos.writeByte(minfo.parameterNames.length);
+                    for (int p = 0; p < minfo.parameterNames.length; p++) {
+                        dos.writeInt(indexOf(stringIndices, minfo.parameterNativeTypes[p]));
+                        dos.writeInt(indexOf(stringIndices, minfo.parameterNames[p]));
+                        dos.writeBoolean(minfo.nullable[p]);
+                    }
+                }
+            }
+        }
+        System.out.println("Wrote method index of " + index.size() + " classes to " + out);
+    }
+
+    private static void addClasses(Map<String, ClassMetadata> index, File dir, String prefix) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null)
+            return;
+        for (File f : files) {
+            if (f.isDirectory()) {
+                addClasses(index, f, prefix + f.getName() + "/");
+            } else if (f.getName().endsWith(".class")) {
+                try (InputStream is = new FileInputStream(f)) {
+                    index.put(prefix + f.getName().substring(0, f.getName().length() - 6), ClassMetadata.read(new ClassReader(is)));
+                }
+            }
+        }
+    }
+
+    private static void intern(Map<String, Integer> stringIndices, List<String> strings, String s) {
+        if (s != null && !stringIndices.containsKey(s)) {
+            stringIndices.put(s, strings.size());
+            strings.add(s);
+        }
+    }
+
+    private static int indexOf(Map<String, Integer> stringIndices, String s) {
+        return s != null ? stringIndices.get(s) : -1;
+    }
+
+}
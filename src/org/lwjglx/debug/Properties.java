@@ -25,8 +25,17 @@ package org.lwjglx.debug;
 public class Properties {
 
     public static class BooleanProperty {
+        /* Not volatile: when switched at runtime (see Control), the change is published via the volatile flags in RT */
         public boolean enabled;
         public boolean byDefault = true;
+        private final String prop;
+        private final boolean def;
+
+        BooleanProperty(String prop, boolean def) {
+            this.prop = prop;
+            this.def = def;
+            reset();
+        }
 
         public void enable() {
             this.enabled = true;
@@ -39,27 +48,62 @@ public class Properties {
                 this.byDefault = false;
             }
         }
+
+        void reset() {
+            String value = System.getProperty(prop);
+            if (value != null) {
+                byDefault = false;
+                enabled = value.equals("") || Boolean.valueOf(value);
+            } else {
+                byDefault = true;
+                enabled = def;
+            }
+        }
     }
 
-    public static final BooleanProperty VALIDATE = getBooleanProperty("org.lwjglx.VALIDATE", true);
-    public static final BooleanProperty STRICT = getBooleanProperty("org.lwjglx.STRICT", false);
-    public static final BooleanProperty DEBUG = getBooleanProperty("org.lwjglx.DEBUG", false);
-    public static final BooleanProperty TRACE = getBooleanProperty("org.lwjglx.TRACE", false);
-    public static final BooleanProperty NO_THROW_ON_ERROR = getBooleanProperty("org.lwjglx.NO_THROW", false);
-    public static String OUTPUT = System.getProperty("org.lwjglx.OUTPUT", null);
-    public static long SLEEP = getLongProperty("org.lwjglx.SLEEP", 0L);
+    public static final BooleanProperty VALIDATE = new BooleanProperty("org.lwjglx.VALIDATE", true);
+    public static final BooleanProperty STRICT = new BooleanProperty("org.lwjglx.STRICT", false);
+    public static final BooleanProperty DEBUG = new BooleanProperty("org.lwjglx.DEBUG", false);
+    public static final BooleanProperty TRACE = new BooleanProperty("org.lwjglx.TRACE", false);
+    public static final BooleanProperty NO_THROW_ON_ERROR = new BooleanProperty("org.lwjglx.NO_THROW", false);
+    public static final BooleanProperty CROSSCHECK = new BooleanProperty("org.lwjglx.CROSSCHECK", false);
+    public static final BooleanProperty LAZY_ERRORS = new BooleanProperty("org.lwjglx.LAZY_ERRORS", false);
+    public static final BooleanProperty MUTABLE = new BooleanProperty("org.lwjglx.MUTABLE", false);
+    public static final BooleanProperty GPU_MEMORY = new BooleanProperty("org.lwjglx.GPU_MEMORY", false);
+    public static String OUTPUT;
+    public static String ASYNC_OUTPUT;
+    public static String TRACE_FRAMES;
+    public static String TRACE_BINARY;
+    public static String FLIGHT_RECORDER;
+    public static String PERSIST;
+    public static String HISTOGRAM;
+    public static String GPU_PROFILE;
+    public static volatile long SLEEP;
+    public static long ASYNC_OUTPUT_CAPACITY;
+    public static long FLIGHT_RECORDER_CALLS;
+    public static long LAZY_ERRORS_INTERVAL;
+    static {
+        reset();
+    }
 
-    private static BooleanProperty getBooleanProperty(String prop, boolean def) {
-        String value = System.getProperty(prop);
-        BooleanProperty p = new BooleanProperty();
-        if (value != null) {
-            p.byDefault = false;
-            p.enabled = value.equals("") || Boolean.valueOf(value);
-        } else {
-            p.byDefault = true;
-            p.enabled = def;
-        }
-        return p;
+    /**
+     * Set all properties to the values of their system properties or to their defaults, as they were before any agent arguments were applied.
+     */
+    static void reset() {
+        for (BooleanProperty p : new BooleanProperty[] { VALIDATE, STRICT, DEBUG, TRACE, NO_THROW_ON_ERROR, CROSSCHECK, LAZY_ERRORS, MUTABLE, GPU_MEMORY })
+            p.reset();
+        OUTPUT = System.getProperty("org.lwjglx.OUTPUT", null);
+        ASYNC_OUTPUT = System.getProperty("org.lwjglx.ASYNC_OUTPUT", null);
+        TRACE_FRAMES = System.getProperty("org.lwjglx.TRACE_FRAMES", null);
+        TRACE_BINARY = System.getProperty("org.lwjglx.TRACE_BINARY", null);
+        FLIGHT_RECORDER = System.getProperty("org.lwjglx.FLIGHT_RECORDER", null);
+        PERSIST = System.getProperty("org.lwjglx.PERSIST", null);
+        HISTOGRAM = System.getProperty("org.lwjglx.HISTOGRAM", null);
+        GPU_PROFILE = System.getProperty("org.lwjglx.GPU_PROFILE", null);
+        SLEEP = getLongProperty("org.lwjglx.SLEEP", 0L);
+        ASYNC_OUTPUT_CAPACITY = getLongProperty("org.lwjglx.ASYNC_OUTPUT_CAPACITY", 8192L);
+        FLIGHT_RECORDER_CALLS = getLongProperty("org.lwjglx.FLIGHT_RECORDER_CALLS", 1024L);
+        LAZY_ERRORS_INTERVAL = getLongProperty("org.lwjglx.LAZY_ERRORS_INTERVAL", 0L);
     }
 
     private static long getLongProperty(String prop, long def) {
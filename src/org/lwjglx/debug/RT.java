@@ -35,47 +35,30 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import java.nio.ShortBuffer;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.lwjgl.PointerBuffer;
 import org.lwjglx.debug.org.lwjgl.opengl.Context;
-
-class Command {
-    final List<Param> params;
-    Map<Integer, String> returnGroup;
-    Map<Integer, String> extension;
-
-    Command(int numParams) {
-        params = new ArrayList<>(numParams);
-    }
-
-    void addParam(String name, Map<Integer, String> group) {
-        Param p = new Param();
-        p.name = name;
-        p.group = group;
-        params.add(p);
-    }
-}
-
-class Param {
-    String name;
-    Map<Integer, String> group;
-}
+import org.lwjglx.debug.org.lwjgl.opengl.GpuProfiler;
 
 /**
  * Runtime support methods for generated classes and manual validation/trace methods.
  */
 public class RT {
 
-    private static final Map<Buffer, ByteOrder> bufferEndiannessWritten = Collections.synchronizedMap(new WeakIdentityHashMap<>());
-    private static final Map<Buffer, Buffer> bufferViews = Collections.synchronizedMap(new WeakIdentityHashMap<>());
-    private static final Map<Object, Boolean> freeableBuffers = Collections.synchronizedMap(new WeakIdentityHashMap<>());
+    private static final Map<Buffer, ByteOrder> bufferEndiannessWritten = new WeakIdentityHashMap<>();
+    private static final Map<Buffer, Buffer> bufferViews = new WeakIdentityHashMap<>();
+    private static final Map<Object, Boolean> freeableBuffers = new WeakIdentityHashMap<>();
+
+    /* Number of frames to check every GL call for errors after a lazy error check found an error */
+    private static final int LAZY_ERRORS_BISECT_FRAMES = 2;
+    private static final int MAX_ERROR_FLAGS = 16;
 
     public static Thread mainThread;
     public static boolean glfwInitialized;
+    /* Whether the agent was attached to a running JVM, in which case OpenGL contexts may already exist */
+    public static volatile boolean attached;
 
     private static void throwIfNotNativeEndianness(ByteOrder order) {
         if (order != null && order != ByteOrder.nativeOrder()) {
@@ -175,6 +158,52 @@ public class RT {
         }
     }
 
+    /*
+     * Called by instrumented methods after an intrinsic multi-byte put with the last buffer recorded in the current method
+     * invocation. Returns the buffer to be remembered as the new last recorded one.
+     */
+    public static Object written(ByteBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeByteBuffer(buf);
+        return buf;
+    }
+
+    public static Object written(CharBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeCharBuffer(buf);
+        return buf;
+    }
+
+    public static Object written(ShortBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeShortBuffer(buf);
+        return buf;
+    }
+
+    public static Object written(IntBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeIntBuffer(buf);
+        return buf;
+    }
+
+    public static Object written(LongBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeLongBuffer(buf);
+        return buf;
+    }
+
+    public static Object written(FloatBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeFloatBuffer(buf);
+        return buf;
+    }
+
+    public static Object written(DoubleBuffer buf, Object lastWritten) {
+        if (buf != lastWritten)
+            writeDoubleBuffer(buf);
+        return buf;
+    }
+
     public static ByteBuffer slice(ByteBuffer buf) {
         ByteBuffer buffer = buf.slice();
         Buffer viewedBuffer = bufferViews.get(buf);
@@ -676,12 +705,58 @@ public class RT {
         return buf;
     }
 
+    /* Whether calls are traced right now (see TraceCapture and Control), checked by the generated trace code */
+    public static volatile boolean tracing = true;
+    /* Whether calls are validated right now (see Control), checked by code generated with the MUTABLE option */
+    public static volatile boolean validating = true;
+
+    /* Free MethodCall objects of the current thread, linked via MethodCall.next */
+    private static final ThreadLocal<MethodCall> freeMethodCalls = new ThreadLocal<MethodCall>();
+    /* MethodCall objects of the current thread that the log writer has formatted, linked via MethodCall.next */
+    private static final ThreadLocal<AtomicReference<MethodCall>> returnedMethodCalls = new ThreadLocal<AtomicReference<MethodCall>>() {
+        protected AtomicReference<MethodCall> initialValue() {
+            return new AtomicReference<MethodCall>();
+        }
+    };
+
     public static MethodCall methodCall(String source, int line, String name) {
-        return new MethodCall(source, line, name);
+        MethodCall mc = freeMethodCalls.get();
+        if (mc == null && Properties.ASYNC_OUTPUT != null)
+            mc = returnedMethodCalls.get().getAndSet(null);
+        if (mc != null) {
+            freeMethodCalls.set(mc.next);
+            mc.next = null;
+            mc.reset(source, line, name);
+            return mc;
+        }
+        if (Properties.FLIGHT_RECORDER != null)
+            return new BinaryMethodCall(source, line, name, true);
+        if (Properties.TRACE_BINARY != null)
+            return new BinaryMethodCall(source, line, name, false);
+        MethodCall newMc = new MethodCall(source, line, name);
+        if (Properties.ASYNC_OUTPUT != null)
+            newMc.returnedTo = returnedMethodCalls.get();
+        return newMc;
     }
 
     public static void methodCall(MethodCall mc) {
-        trace(mc.toString());
+        if (mc instanceof BinaryMethodCall) {
+            BinaryMethodCall bmc = (BinaryMethodCall) mc;
+            if (bmc.isFlightRecorded())
+                FlightRecorder.record(bmc);
+            else
+                BinaryTrace.write(bmc);
+        } else if (Log.trace(mc)) {
+            /* The log writer frees the MethodCall once it has formatted it */
+            return;
+        }
+        /*
+         * Only now is the MethodCall free again. A MethodCall of a call that threw is never freed, which is fine, because calls made by callbacks
+         * during the call will simply use another one.
+         */
+        mc.clear();
+        mc.next = freeMethodCalls.get();
+        freeMethodCalls.set(mc);
     }
 
     public static MethodCall paramGlfwWindow(MethodCall mc, long window) {
@@ -769,7 +844,16 @@ public class RT {
 
     public static void checkError(String glCall) {
         Context context = CURRENT_CONTEXT.get();
+        if (context == null && attached)
+            context = Context.adoptCurrentContext();
         if (context != null && context.debugCallback == null && !context.inImmediateMode) {
+            if (Properties.LAZY_ERRORS.enabled && context.bisectFrames == 0) {
+                /* Only check every N calls and otherwise wait for the end of the frame */
+                if (Properties.LAZY_ERRORS_INTERVAL > 0L && ++context.callsSinceErrorCheck >= Properties.LAZY_ERRORS_INTERVAL) {
+                    checkLazyError(context, "one of the last " + context.callsSinceErrorCheck + " GL calls");
+                }
+                return;
+            }
             // No OpenGL debugging callback available, we have to resort to glGetError()
             int err = org.lwjgl.opengl.GL11.glGetError();
             if (err != 0) {
@@ -778,6 +862,31 @@ public class RT {
         }
     }
 
+    private static void checkLazyError(Context context, String culprit) {
+        context.callsSinceErrorCheck = 0;
+        /*
+         * Drain all error flags, since the GL may record more than one. Otherwise, the remaining ones would be blamed on the first call checked
+         * during bisection. The number of iterations is bounded, because a lost context may keep reporting GL_CONTEXT_LOST.
+         */
+        StringBuilder errors = null;
+        for (int i = 0; i < MAX_ERROR_FLAGS; i++) {
+            int err = org.lwjgl.opengl.GL11.glGetError();
+            if (err == 0)
+                break;
+            if (errors == null)
+                errors = new StringBuilder();
+            else
+                errors.append(", ");
+            errors.append(err).append(" (").append(glErrorToString(err)).append(')');
+        }
+        if (errors != null) {
+            /* We do not know which call produced the error, so check every call for a while */
+            context.bisectFrames = LAZY_ERRORS_BISECT_FRAMES;
+            error("GL error " + errors + " was produced by " + culprit
+                    + ". Checking every GL call in the next " + LAZY_ERRORS_BISECT_FRAMES + " frames to find it");
+        }
+    }
+
     public static String glErrorToString(int err) {
         switch (err) {
         case 0x0500:
@@ -919,7 +1028,7 @@ public class RT {
                 throw new IllegalArgumentException("Argument for " + (paramIndex + 1) + ". parameter must not be null");
     }
 
-    public static String glEnumFor(int value, Map<Integer, String> initialGroup) {
+    public static String glEnumFor(int value, EnumGroup initialGroup) {
         String glEnum = null;
         if (glEnum == null) {
             glEnum = initialGroup.get(value);
@@ -959,7 +1068,7 @@ public class RT {
         return glEnum;
     }
 
-    public static int glEnumReturn(int value, MethodCall mc, Command cmd) {
+    public static String glEnumReturnFor(Command cmd, int value) {
         /* Try extension first */
         String glEnum = null;
         if (cmd.extension != null) {
@@ -978,31 +1087,28 @@ public class RT {
              */
             glEnum = GLmetadata._null_().get(value);
         }
-        mc.returnValueEnum(glEnum);
+        return glEnum;
+    }
+
+    public static int glEnumReturn(int value, MethodCall mc, Command cmd) {
+        mc.returnValueEnum(cmd, value);
         return value;
     }
 
-    public static String decodeBitField(Command cmd, int paramIndex, int value) {
-        Param param = cmd.params.get(paramIndex);
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<Integer, String> e : param.group.entrySet()) {
-            int bitmask = e.getKey();
-            int v = value & bitmask;
-            int rest = v ^ bitmask; // <- handle "ALL" masks
-            if (v != 0 && rest == 0) {
-                if (sb.length() == 0) {
-                    sb.append(e.getValue());
-                } else {
-                    sb.append(" | ").append(e.getValue());
-                }
-            }
-        }
-        return sb.toString();
+    public static MethodCall paramEnum(MethodCall mc, Command cmd, int paramIndex, int value) {
+        return mc.paramEnum(cmd, paramIndex, value);
+    }
+
+    public static MethodCall paramBitField(MethodCall mc, Command cmd, int paramIndex, int value) {
+        return mc.paramBitField(cmd, paramIndex, value);
     }
 
     public static void delay() {
+        long sleep = Properties.SLEEP;
+        if (sleep <= 0L)
+            return;
         try {
-            Thread.sleep(Properties.SLEEP);
+            Thread.sleep(sleep);
         } catch (InterruptedException e) {
         }
     }
@@ -1013,6 +1119,9 @@ public class RT {
         }
         Context ctx = Context.currentContext();
         ctx.drawCallSeen = true;
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.draw(ctx);
+        }
     }
 
     public static void beginImmediate() {
@@ -1036,159 +1145,203 @@ public class RT {
                 Log.info("No draw call seen in frame");
             }
         }
+        if (Properties.LAZY_ERRORS.enabled && ctx.debugCallback == null) {
+            if (ctx.bisectFrames > 0) {
+                /* Every call of this frame has already been checked */
+                if (--ctx.bisectFrames == 0) {
+                    Log.debug("Going back to checking GL errors lazily");
+                }
+                ctx.callsSinceErrorCheck = 0;
+            } else {
+                checkLazyError(ctx, "one of the GL calls of the last frame");
+            }
+        }
         /* Reset counters for next frame */
         ctx.drawCallSeen = false;
+        if (Properties.TRACE_FRAMES != null) {
+            TraceCapture.frame();
+        }
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.frame(ctx);
+        }
+    }
+
+    /**
+     * Return the size of a texture image or renderbuffer in bytes, or an estimate if the format is not known.
+     */
+    public static long textureSize(int internalFormat, int width, int height, int depth) {
+        return (long) width * height * depth * bitsPerTexel(internalFormat) / 8L;
     }
 
-    private static int textureSize(int internalFormat, int width, int height) {
+    private static int bitsPerTexel(int internalFormat) {
         switch (internalFormat) {
         // Base internal formats
         case org.lwjgl.opengl.GL11.GL_DEPTH_COMPONENT:
-            return width * height * 3;
+            return 24;
         case org.lwjgl.opengl.GL30.GL_DEPTH_STENCIL:
-            return width * height * 4;
+            return 32;
         case org.lwjgl.opengl.GL11.GL_RED:
-            return width * height;
+            return 8;
         case org.lwjgl.opengl.GL30.GL_RG:
-            return width * height * 2;
+            return 16;
         case org.lwjgl.opengl.GL11.GL_RGB:
-            return width * height * 3;
+            return 24;
         case org.lwjgl.opengl.GL11.GL_RGBA:
-            return width * height * 4;
+            return 32;
         // Sized internal formats
+        case org.lwjgl.opengl.GL14.GL_DEPTH_COMPONENT16:
+            return 16;
+        case org.lwjgl.opengl.GL14.GL_DEPTH_COMPONENT24:
+            return 32; // <- padded by all drivers
+        case org.lwjgl.opengl.GL14.GL_DEPTH_COMPONENT32:
+            return 32;
+        case org.lwjgl.opengl.GL30.GL_DEPTH_COMPONENT32F:
+            return 32;
+        case org.lwjgl.opengl.GL30.GL_DEPTH24_STENCIL8:
+            return 32;
+        case org.lwjgl.opengl.GL30.GL_DEPTH32F_STENCIL8:
+            return 64;
+        case org.lwjgl.opengl.GL30.GL_STENCIL_INDEX8:
+            return 8;
+        case org.lwjgl.opengl.GL41.GL_RGB565:
+            return 16;
+        case org.lwjgl.opengl.GL11.GL_RGB16:
+            return 48;
         case org.lwjgl.opengl.GL30.GL_R8:
-            return width * height;
+            return 8;
         case org.lwjgl.opengl.GL31.GL_R8_SNORM:
-            return width * height;
+            return 8;
         case org.lwjgl.opengl.GL30.GL_R16:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL31.GL_R16_SNORM:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_RG8:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL31.GL_RG8_SNORM:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_RG16:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL31.GL_RG16_SNORM:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL11.GL_R3_G3_B2:
-            return width * height * 8 / 8;
+            return 8;
         case org.lwjgl.opengl.GL11.GL_RGB4:
-            return width * height * 12 / 8;
+            return 12;
         case org.lwjgl.opengl.GL11.GL_RGB5:
-            return width * height * 15 / 8;
+            return 15;
         case org.lwjgl.opengl.GL11.GL_RGB8:
-            return width * height * 24 / 8;
+            return 24;
         case org.lwjgl.opengl.GL31.GL_RGB8_SNORM:
-            return width * height * 24 / 8;
+            return 24;
         case org.lwjgl.opengl.GL11.GL_RGB10:
-            return width * height * 30 / 8;
+            return 30;
         case org.lwjgl.opengl.GL11.GL_RGB12:
-            return width * height * 36 / 8;
+            return 36;
         case org.lwjgl.opengl.GL31.GL_RGB16_SNORM:
-            return width * height * 48 / 8;
+            return 48;
         case org.lwjgl.opengl.GL11.GL_RGBA2:
-            return width * height * 8 / 8;
+            return 8;
         case org.lwjgl.opengl.GL11.GL_RGBA4:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL11.GL_RGB5_A1:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL11.GL_RGBA8:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL31.GL_RGBA8_SNORM:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL11.GL_RGB10_A2:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL33.GL_RGB10_A2UI:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL11.GL_RGBA12:
-            return width * height * 42 / 8;
+            return 42;
         case org.lwjgl.opengl.GL11.GL_RGBA16:
-            return width * height * 64 / 8;
+            return 64;
         case org.lwjgl.opengl.GL21.GL_SRGB8:
-            return width * height * 24 / 8;
+            return 24;
         case org.lwjgl.opengl.GL21.GL_SRGB8_ALPHA8:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_R16F:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_RG16F:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_RGB16F:
-            return width * height * 48 / 8;
+            return 48;
         case org.lwjgl.opengl.GL30.GL_RGBA16F:
-            return width * height * 64 / 8;
+            return 64;
         case org.lwjgl.opengl.GL30.GL_R32F:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_RG32F:
-            return width * height * 64 / 8;
+            return 64;
         case org.lwjgl.opengl.GL30.GL_RGB32F:
-            return width * height * 96 / 8;
+            return 96;
         case org.lwjgl.opengl.GL30.GL_RGBA32F:
-            return width * height * 128 / 8;
+            return 128;
         case org.lwjgl.opengl.GL30.GL_R11F_G11F_B10F:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_RGB9_E5:
-            return width * height * (27 - 5) / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_R8I:
-            return width * height * 8 / 8;
+            return 8;
         case org.lwjgl.opengl.GL30.GL_R8UI:
-            return width * height * 8 / 8;
+            return 8;
         case org.lwjgl.opengl.GL30.GL_R16I:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_R16UI:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_R32I:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_R32UI:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_RG8I:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_RG8UI:
-            return width * height * 16 / 8;
+            return 16;
         case org.lwjgl.opengl.GL30.GL_RG16I:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_RG16UI:
-            return width * height * 32 / 8;
+            return 32;
         case org.lwjgl.opengl.GL30.GL_RG32I:
-            return width * height * 64 / 8;
+            return 64;
         case org.lwjgl.opengl.GL30.GL_RG32UI:
-            return width * height * 64 / 8;
+            return 64;
         case org.lwjgl.opengl.GL30.GL_RGB8I:
-            return width * height * 24 / 8;
+            return 24;
         case org.lwjgl.opengl.GL30.GL_RGB8UI:
-            return width * height * 24 / 8;
+            return 24;
         case org.lwjgl.opengl.GL30.GL_RGB16I:
-            return width * height * 16 * 3 / 8;
+            return 16 * 3;
         case org.lwjgl.opengl.GL30.GL_RGB16UI:
-            return width * height * 16 * 3 / 8;
+            return 16 * 3;
         case org.lwjgl.opengl.GL30.GL_RGB32I:
-            return width * height * 32 * 3 / 8;
+            return 32 * 3;
         case org.lwjgl.opengl.GL30.GL_RGB32UI:
-            return width * height * 32 * 3 / 8;
+            return 32 * 3;
         case org.lwjgl.opengl.GL30.GL_RGBA8I:
-            return width * height * 8 * 4 / 8;
+            return 8 * 4;
         case org.lwjgl.opengl.GL30.GL_RGBA8UI:
-            return width * height * 8 * 4 / 8;
+            return 8 * 4;
         case org.lwjgl.opengl.GL30.GL_RGBA16I:
-            return width * height * 16 * 4 / 8;
+            return 16 * 4;
         case org.lwjgl.opengl.GL30.GL_RGBA16UI:
-            return width * height * 16 * 4 / 8;
+            return 16 * 4;
         case org.lwjgl.opengl.GL30.GL_RGBA32I:
-            return width * height * 32 * 4 / 8;
+            return 32 * 4;
         case org.lwjgl.opengl.GL30.GL_RGBA32UI:
-            return width * height * 32 * 4 / 8;
+            return 32 * 4;
         default:
-            return width * height; // <- yet unknown
+            return 8; // <- yet unknown
         }
     }
 
-    public static void setTextureLayerSize(int target, int level, int internalformat, int width, int height, TextureObject obj) {
+    public static TextureLevel setTextureLayerSize(int target, int level, int internalformat, int width, int height, int depth, TextureObject obj) {
         TextureLayer tlayer = null;
         if (target >= org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X && target <= org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_NEGATIVE_Z) {
             int layer = target - org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X;
+            obj.ensureLayers(6);
             tlayer = obj.layers[layer];
         } else {
+            obj.ensureLayers(1);
             tlayer = obj.layers[0];
         }
         tlayer.ensureLevel(level);
@@ -1196,32 +1349,43 @@ public class RT {
         tlevel.internalformat = internalformat;
         tlevel.width = width;
         tlevel.height = height;
-        tlevel.size = textureSize(internalformat, width, height);
+        tlevel.depth = depth;
+        tlevel.size = textureSize(internalformat, width, height, depth);
+        return tlevel;
     }
 
-    public static void generateMipmap(int target) {
-        Context ctx = Context.currentContext();
-        TextureObject to = ctx.textureObjectBindings.get(target);
-        if (to != null && to.layers != null) {
-            int maxLevel = ctx.caps.OpenGL12 ? org.lwjgl.opengl.GL11.glGetTexParameteri(target, org.lwjgl.opengl.GL12.GL_TEXTURE_MAX_LEVEL) : 1000;
-            for (int i = 0; i < to.layers.length; i++) {
-                int layerTarget = target;
-                if (target == org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP) {
-                    layerTarget = org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X + i;
-                }
-                TextureLayer layer = to.layers[i];
-                TextureLevel level0 = layer.levels[0];
-                int width = level0.width;
-                int height = level0.height;
-                int level = 0;
-                /* Determine maximum mipmap level */
-                /* Set the size of all mipmap levels */
-                while (width > 1 || height > 1 && level < maxLevel) {
-                    width >>>= 1;
-                    height >>>= 1;
-                    level++;
-                    setTextureLayerSize(layerTarget, level, level0.internalformat, width, height, to);
-                }
+    /**
+     * Return the width, height and depth of the next mipmap level of a texture with the given target.
+     */
+    public static void nextMipmapLevel(int target, int[] size) {
+        size[0] = Math.max(1, size[0] >>> 1);
+        /* The height of 1D array textures and the depth of 2D array and cube map array textures are the number of layers */
+        if (target != org.lwjgl.opengl.GL30.GL_TEXTURE_1D_ARRAY)
+            size[1] = Math.max(1, size[1] >>> 1);
+        if (target == org.lwjgl.opengl.GL12.GL_TEXTURE_3D)
+            size[2] = Math.max(1, size[2] >>> 1);
+    }
+
+    public static void generateMipmap(int target, int baseLevel, int maxLevel, TextureObject to) {
+        if (to.layers == null)
+            return;
+        for (int i = 0; i < to.layers.length; i++) {
+            int layerTarget = target;
+            if (target == org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP) {
+                layerTarget = org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X + i;
+            }
+            TextureLayer layer = to.layers[i];
+            if (layer.levels == null || layer.levels.length <= baseLevel)
+                continue;
+            /* Generation starts from the base level */
+            TextureLevel level0 = layer.levels[baseLevel];
+            int[] size = { level0.width, level0.height, level0.depth };
+            int level = baseLevel;
+            /* Set the size of all mipmap levels */
+            while ((size[0] > 1 || size[1] > 1 && target != org.lwjgl.opengl.GL30.GL_TEXTURE_1D_ARRAY || size[2] > 1 && target == org.lwjgl.opengl.GL12.GL_TEXTURE_3D) && level < maxLevel) {
+                nextMipmapLevel(target, size);
+                level++;
+                setTextureLayerSize(layerTarget, level, level0.internalformat, size[0], size[1], size[2], to);
             }
         }
     }
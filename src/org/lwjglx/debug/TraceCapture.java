@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import java.io.File;
+
+/**
+ * Restricts the trace to a range of frames, or to a number of frames after a trigger.
+ * <p>
+ * A frame ends with <code>glfwSwapBuffers()</code>. The calls made before the first buffer swap belong to frame 0.
+ */
+class TraceCapture {
+
+    /* Range of frames to trace (inclusive) */
+    private static long firstFrame = -1L;
+    private static long lastFrame = -1L;
+
+    /* Number of frames to trace after the trigger file was touched */
+    private static long triggerFrames;
+    private static File triggerFile;
+    private static long triggerFileLastModified;
+
+    private static long frame;
+    private static long remainingFrames;
+
+    /**
+     * Parse the value of {@link Properties#TRACE_FRAMES}, which is either <code>first-last</code> or <code>count@file</code>.
+     * <p>
+     * This is called on every attach, so nothing of an earlier attach is kept and frames are counted from 0 again.
+     */
+    static void init() {
+        firstFrame = lastFrame = -1L;
+        triggerFrames = 0L;
+        triggerFile = null;
+        triggerFileLastModified = 0L;
+        frame = remainingFrames = 0L;
+        String spec = Properties.TRACE_FRAMES;
+        if (spec == null)
+            return;
+        try {
+            int at = spec.indexOf('@');
+            int dash = spec.indexOf('-');
+            if (at > 0) {
+                triggerFrames = Long.parseLong(spec.substring(0, at).trim());
+                triggerFile = new File(spec.substring(at + 1).trim()).getAbsoluteFile();
+                triggerFileLastModified = triggerFile.lastModified();
+            } else if (dash > 0) {
+                firstFrame = Long.parseLong(spec.substring(0, dash).trim());
+                lastFrame = Long.parseLong(spec.substring(dash + 1).trim());
+            } else {
+                throw new NumberFormatException();
+            }
+        } catch (NumberFormatException e) {
+            throw new AssertionError("Invalid frame range [" + spec + "]. Use <first>-<last> or <count>@<trigger file>");
+        }
+        RT.tracing = firstFrame == 0L && lastFrame >= 0L;
+    }
+
+    /**
+     * Called at the end of each frame.
+     */
+    static void frame() {
+        frame++;
+        if (triggerFile != null) {
+            long lastModified = triggerFile.lastModified();
+            if (lastModified != triggerFileLastModified) {
+                triggerFileLastModified = lastModified;
+                if (lastModified != 0L) {
+                    Log.info("Trace triggered for the next " + triggerFrames + " frames, starting at frame " + frame);
+                    remainingFrames = triggerFrames;
+                }
+            }
+            RT.tracing = remainingFrames-- > 0L;
+        } else {
+            boolean tracing = frame >= firstFrame && frame <= lastFrame;
+            if (tracing && !RT.tracing)
+                Log.info("Tracing frames " + frame + " to " + lastFrame);
+            RT.tracing = tracing;
+        }
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug;
+
+import static org.lwjglx.debug.BinaryTrace.*;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts a trace file written with the <code>binarytrace</code> option to the text trace log, or prints the last calls of each thread recorded
+ * in a file written with the <code>flightrecorder</code> option.
+ * <p>
+ * Usage: <code>java -cp lwjglx-debug-1.0.0.jar org.lwjglx.debug.TraceDecoder &lt;trace file&gt; [&lt;output file&gt;]</code>
+ */
+public class TraceDecoder {
+
+    private final ByteBuffer buf;
+    private final Map<Integer, String> strings = new HashMap<>();
+    private final Map<Integer, Command> commands = new HashMap<>();
+
+    private TraceDecoder(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    private String string(int id) {
+        String s = strings.get(id);
+        if (s == null)
+            throw new IllegalStateException("Undefined string: " + id);
+        return s;
+    }
+
+    private Command command(int id) {
+        Command cmd = commands.get(id);
+        if (cmd == null) {
+            String name = string(id);
+            try {
+                cmd = (Command) GLmetadata.class.getMethod(name).invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unknown command: " + name, e);
+            }
+            commands.put(id, cmd);
+        }
+        return cmd;
+    }
+
+    private String readString() {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String character(char c) {
+        return c == '\'' ? "'\\" + c + "'" : "'" + c + "'";
+    }
+
+    private String readValue() {
+        byte tag = buf.get();
+        switch (tag) {
+        case TAG_INT:
+            return Integer.toString(buf.getInt());
+        case TAG_SHORT:
+            return Short.toString(buf.getShort());
+        case TAG_LONG:
+            return Long.toString(buf.getLong()) + "L";
+        case TAG_FLOAT:
+            return Float.toString(buf.getFloat()) + "f";
+        case TAG_DOUBLE:
+            return Double.toString(buf.getDouble());
+        case TAG_BOOLEAN:
+            return Boolean.toString(buf.get() != 0);
+        case TAG_CHAR:
+            return character(buf.getChar());
+        case TAG_ENUM:
+            return string(buf.getInt());
+        case TAG_TEXT:
+            return readString();
+        case TAG_STRING:
+            return "\"" + MethodCall.removeUnicodeAndEscapeChars(readString()) + "\"";
+        case TAG_BUFFER: {
+            String type = BUFFER_TYPES[buf.get()];
+            boolean direct = buf.get() != 0;
+            long address = buf.getLong();
+            int pos = buf.getInt();
+            int lim = buf.getInt();
+            int cap = buf.getInt();
+            return MethodCall.printBuffer(type, direct, address, pos, lim, cap);
+        }
+        case TAG_NULL:
+            return null;
+        case TAG_GLENUM: {
+            Command cmd = command(buf.getInt());
+            int index = buf.get();
+            int value = buf.getInt();
+            return index == RETURN_INDEX ? RT.glEnumReturnFor(cmd, value) : RT.glEnumFor(cmd, index, value);
+        }
+        case TAG_GLBITFIELD: {
+            Command cmd = command(buf.getInt());
+            int index = buf.get();
+            return cmd.params.get(index).group.decodeBitField(buf.getInt());
+        }
+        default:
+            throw new IllegalStateException("Unknown value tag: " + tag + " at offset " + (buf.position() - 1));
+        }
+    }
+
+    private void skipName() {
+        byte tag = buf.get();
+        if (tag == TAG_ENUM)
+            buf.getInt();
+        else if (tag == TAG_TEXT)
+            buf.position(buf.position() + buf.getInt());
+    }
+
+    /**
+     * Read all string definitions and return the offsets of all call records, ordered by their timestamp.
+     */
+    private int[] scan() {
+        List<long[]> calls = new ArrayList<>();
+        while (buf.hasRemaining()) {
+            int offset = buf.position();
+            byte type = buf.get();
+            if (type == RECORD_STRING) {
+                int id = buf.getInt();
+                strings.put(id, readString());
+            } else if (type == RECORD_CALL) {
+                long time = buf.getLong();
+                calls.add(new long[] { time, offset + 1 });
+                buf.position(buf.position() + 8 + 1 + 4);
+                skipName();
+                buf.getInt();
+                skipName();
+                buf.position(buf.position() + 2 + 2);
+                int length = buf.getInt();
+                buf.position(buf.position() + length);
+            } else {
+                throw new IllegalStateException("Unknown record type: " + type + " at offset " + offset);
+            }
+        }
+        /* Records of a thread are in order, but the buffers of different threads were written interleaved */
+        long[][] sorted = calls.toArray(new long[calls.size()][]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a[0], b[0]));
+        int[] offsets = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++)
+            offsets[i] = (int) sorted[i][1];
+        return offsets;
+    }
+
+    private String decodeCall(int offset) {
+        buf.position(offset + 8 + 8);
+        boolean hasContext = buf.get() != 0;
+        int contextCounter = buf.getInt();
+        String source = readValue();
+        int line = buf.getInt();
+        String name = readValue();
+        int maxSourceLength = buf.getShort();
+        int maxLineNumberLength = buf.getShort();
+        int end = buf.getInt();
+        end += buf.position();
+        List<String> params = new ArrayList<>();
+        String returnValue = null;
+        boolean hasReturnValue = false;
+        String comment = null;
+        while (buf.position() < end) {
+            byte kind = buf.get();
+            String value = readValue();
+            if (kind == ITEM_PARAM) {
+                params.add(String.valueOf(value));
+            } else if (kind == ITEM_RETURN) {
+                returnValue = value;
+                hasReturnValue = true;
+            } else if (kind == ITEM_COMMENT) {
+                comment = value;
+            } else {
+                throw new IllegalStateException("Unknown item kind: " + kind + " at offset " + (buf.position() - 1));
+            }
+        }
+        String message = MethodCall.toString(source, line, maxSourceLength, maxLineNumberLength, name, params, returnValue, hasReturnValue, comment);
+        return Log.format("trace", hasContext ? Integer.valueOf(contextCounter) : null, message, 2, null);
+    }
+
+    private void decodeTrace(PrintStream out) {
+        int version = buf.getInt();
+        if (version != VERSION)
+            throw new IllegalStateException("Unsupported binary trace version: " + version);
+        int[] offsets = scan();
+        for (int offset : offsets)
+            out.print(decodeCall(offset));
+    }
+
+    private void decodeFlightRecorder(PrintStream out) {
+        int version = buf.getInt();
+        if (version != FlightRecorder.VERSION)
+            throw new IllegalStateException("Unsupported flight recorder version: " + version);
+        int maxThreads = buf.getInt();
+        int callsPerThread = buf.getInt();
+        int slotSize = buf.getInt();
+        int stringTableSize = buf.getInt();
+        int stringTableUsed = buf.getInt(FlightRecorder.STRING_TABLE_USED);
+        buf.position(FlightRecorder.HEADER_SIZE);
+        while (buf.position() < FlightRecorder.HEADER_SIZE + stringTableUsed)
+            strings.put(strings.size(), readString());
+        int regionSize = FlightRecorder.THREAD_HEADER_SIZE + callsPerThread * slotSize;
+        for (int i = 0; i < maxThreads; i++) {
+            int region = FlightRecorder.HEADER_SIZE + stringTableSize + i * regionSize;
+            long threadId = buf.getLong(region);
+            if (threadId == 0L)
+                continue;
+            byte[] name = new byte[buf.getInt(region + 8)];
+            buf.position(region + 12);
+            buf.get(name);
+            /* Slots still being written when the JVM died have sequence number 0 */
+            List<long[]> slots = new ArrayList<>();
+            for (int j = 0; j < callsPerThread; j++) {
+                int slot = region + FlightRecorder.THREAD_HEADER_SIZE + j * slotSize;
+                long sequence = buf.getLong(slot);
+                if (sequence != 0L)
+                    slots.add(new long[] { sequence, slot });
+            }
+            slots.sort((a, b) -> Long.compare(a[0], b[0]));
+            out.println("Thread [" + new String(name, StandardCharsets.UTF_8) + "] (id " + threadId + "), last " + slots.size() + " calls:");
+            for (long[] slot : slots)
+                out.print(decodeCall((int) slot[1] + FlightRecorder.SLOT_HEADER_SIZE));
+            out.println();
+        }
+    }
+
+    private void decode(PrintStream out) {
+        int magic = buf.remaining() >= 8 ? buf.getInt() : 0;
+        if (magic == MAGIC)
+            decodeTrace(out);
+        else if (magic == FlightRecorder.MAGIC)
+            decodeFlightRecorder(out);
+        else
+            throw new IllegalStateException("Not a binary trace or flight recorder file");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java -cp lwjglx-debug-1.0.0.jar org.lwjglx.debug.TraceDecoder <trace file> [<output file>]");
+            System.exit(1);
+        }
+        ByteBuffer buf;
+        try (RandomAccessFile file = new RandomAccessFile(args[0], "r")) {
+            buf = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        }
+        PrintStream out = args.length > 1 ? new PrintStream(new BufferedOutputStream(new FileOutputStream(args[1]))) : System.out;
+        new TraceDecoder(buf).decode(out);
+        out.flush();
+        if (out != System.out)
+            out.close();
+    }
+
+}
@@ -22,10 +22,11 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implements a combination of WeakHashMap and IdentityHashMap. Useful for caches that need to key off of a == comparison instead of a .equals.
@@ -33,13 +34,19 @@ import java.util.Set;
  * <b> This class is not a general-purpose Map implementation! While this class implements the Map interface, it intentionally violates Map's general contract, which mandates the use of the equals
  * method when comparing objects. This class is designed for use only in the rare cases wherein reference-equality semantics are required.
  * 
- * Note that this implementation is not synchronized. </b>
+ * This implementation is thread-safe. Lookups do not lock and do not allocate. Entries whose keys have been garbage collected are reaped in batches by modifying operations only. </b>
  */
-class WeakIdentityHashMap<K, V> implements Map<K, V> {
+public class WeakIdentityHashMap<K, V> implements Map<K, V> {
     private final ReferenceQueue<K> queue = new ReferenceQueue<K>();
-    private final Map<IdentityWeakReference, V> backingStore = new HashMap<IdentityWeakReference, V>();
+    private final Map<Object, V> backingStore = new ConcurrentHashMap<Object, V>();
+    private final AtomicBoolean reaping = new AtomicBoolean();
+    private final ThreadLocal<LookupKey> lookupKeys = new ThreadLocal<LookupKey>() {
+        protected LookupKey initialValue() {
+            return new LookupKey();
+        }
+    };
 
-    WeakIdentityHashMap() {
+    public WeakIdentityHashMap() {
     }
 
     public void clear() {
@@ -48,21 +55,22 @@ class WeakIdentityHashMap<K, V> implements Map<K, V> {
     }
 
     public boolean containsKey(Object key) {
-        reap();
-        return backingStore.containsKey(new IdentityWeakReference(key));
+        return get(key) != null;
     }
 
     public boolean containsValue(Object value) {
-        reap();
         return backingStore.containsValue(value);
     }
 
     public Set<Map.Entry<K, V>> entrySet() {
         reap();
         Set<Map.Entry<K, V>> ret = new HashSet<Map.Entry<K, V>>();
-        for (Map.Entry<IdentityWeakReference, V> ref : backingStore.entrySet()) {
-            final K key = ref.getKey().get();
+        for (Map.Entry<Object, V> ref : backingStore.entrySet()) {
+            @SuppressWarnings("unchecked")
+            final K key = ((IdentityWeakReference) ref.getKey()).get();
             final V value = ref.getValue();
+            if (key == null)
+                continue;
             Map.Entry<K, V> entry = new Map.Entry<K, V>() {
                 public K getKey() {
                     return key;
@@ -81,26 +89,40 @@ class WeakIdentityHashMap<K, V> implements Map<K, V> {
         return Collections.unmodifiableSet(ret);
     }
 
+    @SuppressWarnings("unchecked")
     public Set<K> keySet() {
         reap();
         Set<K> ret = new HashSet<K>();
-        for (IdentityWeakReference ref : backingStore.keySet()) {
-            ret.add(ref.get());
+        for (Object ref : backingStore.keySet()) {
+            K key = ((IdentityWeakReference) ref).get();
+            if (key != null)
+                ret.add(key);
         }
         return Collections.unmodifiableSet(ret);
     }
 
     public boolean equals(Object o) {
-        return backingStore.equals(((WeakIdentityHashMap) o).backingStore);
+        return backingStore.equals(((WeakIdentityHashMap<?, ?>) o).backingStore);
     }
 
     public V get(Object key) {
-        reap();
-        return backingStore.get(new IdentityWeakReference(key));
+        /* Probe with a reusable per-thread key instead of allocating a new weak reference */
+        LookupKey lookup = lookupKeys.get();
+        lookup.set(key);
+        try {
+            return backingStore.get(lookup);
+        } finally {
+            lookup.set(null);
+        }
     }
 
     public V put(K key, V value) {
         reap();
+        V old = get(key);
+        if (old == value) {
+            /* Nothing changes, so avoid allocating a reference that would be thrown away */
+            return old;
+        }
         return backingStore.put(new IdentityWeakReference(key), value);
     }
 
@@ -120,7 +142,13 @@ class WeakIdentityHashMap<K, V> implements Map<K, V> {
 
     public V remove(Object key) {
         reap();
-        return backingStore.remove(new IdentityWeakReference(key));
+        LookupKey lookup = lookupKeys.get();
+        lookup.set(key);
+        try {
+            return backingStore.remove(lookup);
+        } finally {
+            lookup.set(null);
+        }
     }
 
     public int size() {
@@ -133,18 +161,30 @@ class WeakIdentityHashMap<K, V> implements Map<K, V> {
         return backingStore.values();
     }
 
-    private synchronized void reap() {
+    private void reap() {
+        /* Polling an empty queue is just a volatile read, so there is no contended write unless a key was actually collected */
         Object zombie = queue.poll();
-
-        while (zombie != null) {
-            IdentityWeakReference victim = (IdentityWeakReference) zombie;
-            backingStore.remove(victim);
+        if (zombie == null) {
+            return;
+        }
+        backingStore.remove(zombie);
+        /* Only one thread drains the rest of the queue at a time, the others just carry on */
+        if (!reaping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
             zombie = queue.poll();
+            while (zombie != null) {
+                backingStore.remove(zombie);
+                zombie = queue.poll();
+            }
+        } finally {
+            reaping.set(false);
         }
     }
 
     class IdentityWeakReference extends WeakReference<K> {
-        int hash;
+        final int hash;
 
         @SuppressWarnings("unchecked")
         IdentityWeakReference(Object obj) {
@@ -160,11 +200,36 @@ class WeakIdentityHashMap<K, V> implements Map<K, V> {
             if (this == o) {
                 return true;
             }
-            IdentityWeakReference ref = (IdentityWeakReference) o;
-            if (this.get() == ref.get()) {
+            Object referent = get();
+            if (referent == null) {
+                /* Cleared references are only ever equal to themselves */
+                return false;
+            }
+            if (o instanceof LookupKey) {
+                return ((LookupKey) o).obj == referent;
+            }
+            return o instanceof WeakIdentityHashMap<?, ?>.IdentityWeakReference && ((WeakIdentityHashMap<?, ?>.IdentityWeakReference) o).get() == referent;
+        }
+    }
+
+    static class LookupKey {
+        Object obj;
+        int hash;
+
+        void set(Object obj) {
+            this.obj = obj;
+            this.hash = obj != null ? System.identityHashCode(obj) : 0;
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) {
                 return true;
             }
-            return false;
+            return obj != null && o instanceof WeakIdentityHashMap.IdentityWeakReference && ((WeakIdentityHashMap<?, ?>.IdentityWeakReference) o).get() == obj;
         }
     }
 }
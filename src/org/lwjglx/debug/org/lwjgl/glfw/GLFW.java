@@ -36,6 +36,7 @@ import org.lwjgl.system.Callback;
 import org.lwjgl.system.Platform;
 import org.lwjglx.debug.*;
 import org.lwjglx.debug.org.lwjgl.opengl.Context;
+import org.lwjglx.debug.org.lwjgl.opengl.GpuMemory;
 
 public class GLFW {
 
@@ -136,7 +137,11 @@ public class GLFW {
                 errorCallback = null;
             }
         }
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.terminate();
+        }
         RT.glfwInitialized = false;
+        Log.flush();
     }
 
     private static void printBoolean(MethodCall mc, int value) {
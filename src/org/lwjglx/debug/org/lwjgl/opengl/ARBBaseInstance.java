@@ -37,6 +37,7 @@ public class ARBBaseInstance {
     public static void glDrawArraysInstancedBaseInstance(int mode, int first, int count, int primcount, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawArraysInstancedBaseInstance", first, count, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawArraysInstancedBaseInstance(mode, first, count, primcount, baseinstance);
         RT.draw(count * primcount);
@@ -44,11 +45,12 @@ public class ARBBaseInstance {
 
     public static void glDrawElementsInstancedBaseInstance(int mode, int count, int type, long indices, int primcount, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawElementsInstancedBaseInstance called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseInstance", count, type, indices, 0, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseInstance(mode, count, type, indices, primcount, baseinstance);
         RT.draw(count * primcount);
@@ -57,6 +59,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseInstance(int mode, int type, ByteBuffer indices, int primcount, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseInstance", type, indices, 0, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseInstance(mode, type, indices, primcount, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -65,6 +68,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseInstance(int mode, ByteBuffer indices, int primcount, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseInstance", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, 0, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseInstance(mode, indices, primcount, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -73,6 +77,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseInstance(int mode, ShortBuffer indices, int primcount, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseInstance", indices, 0, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseInstance(mode, indices, primcount, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -81,6 +86,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseInstance(int mode, IntBuffer indices, int primcount, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseInstance", indices, 0, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseInstance(mode, indices, primcount, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -88,11 +94,12 @@ public class ARBBaseInstance {
 
     public static void glDrawElementsInstancedBaseVertexBaseInstance(int mode, int count, int type, long indices, int primcount, int basevertex, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawElementsInstancedBaseVertexBaseInstance called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertexBaseInstance", count, type, indices, basevertex, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseVertexBaseInstance(mode, count, type, indices, primcount, basevertex, baseinstance);
         RT.draw(count * primcount);
@@ -101,6 +108,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseVertexBaseInstance(int mode, int type, ByteBuffer indices, int primcount, int basevertex, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertexBaseInstance", type, indices, basevertex, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseVertexBaseInstance(mode, type, indices, primcount, basevertex, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -109,6 +117,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseVertexBaseInstance(int mode, ByteBuffer indices, int primcount, int basevertex, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertexBaseInstance", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, basevertex, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseVertexBaseInstance(mode, indices, primcount, basevertex, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -117,6 +126,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseVertexBaseInstance(int mode, ShortBuffer indices, int primcount, int basevertex, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertexBaseInstance", indices, basevertex, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseVertexBaseInstance(mode, indices, primcount, basevertex, baseinstance);
         RT.draw(indices.remaining() * primcount);
@@ -125,6 +135,7 @@ public class ARBBaseInstance {
     public static void glDrawElementsInstancedBaseVertexBaseInstance(int mode, IntBuffer indices, int primcount, int basevertex, int baseinstance) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertexBaseInstance", indices, basevertex, baseinstance, primcount);
         }
         org.lwjgl.opengl.ARBBaseInstance.glDrawElementsInstancedBaseVertexBaseInstance(mode, indices, primcount, basevertex, baseinstance);
         RT.draw(indices.remaining() * primcount);
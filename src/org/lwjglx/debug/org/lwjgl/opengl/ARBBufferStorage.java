@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+public class ARBBufferStorage {
+
+    public static void glBufferStorage(int target, long size, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, size, flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, size, flags);
+    }
+
+    public static void glBufferStorage(int target, ByteBuffer data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, (long) data.remaining(), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, ShortBuffer data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.remaining() << 1), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, IntBuffer data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.remaining() << 2), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, FloatBuffer data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.remaining() << 2), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, DoubleBuffer data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.remaining() << 3), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, short[] data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.length << 1), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, int[] data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.length << 2), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, float[] data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.length << 2), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+    public static void glBufferStorage(int target, double[] data, int flags) {
+        if (tracksBuffers()) {
+            bufferStorage(target, ((long) data.length << 3), flags);
+        }
+        org.lwjgl.opengl.ARBBufferStorage.glBufferStorage(target, data, flags);
+    }
+
+}
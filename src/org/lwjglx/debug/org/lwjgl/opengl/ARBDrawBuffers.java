@@ -0,0 +1,47 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
+
+import java.nio.IntBuffer;
+
+import org.lwjglx.debug.Properties;
+
+public class ARBDrawBuffers {
+
+    public static void glDrawBuffersARB(IntBuffer bufs) {
+        org.lwjgl.opengl.ARBDrawBuffers.glDrawBuffersARB(bufs);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER);
+        }
+    }
+
+    public static void glDrawBuffersARB(int[] bufs) {
+        org.lwjgl.opengl.ARBDrawBuffers.glDrawBuffersARB(bufs);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER);
+        }
+    }
+
+}
@@ -36,11 +36,12 @@ public class ARBDrawElementsBaseVertex {
 
     public static void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawElementsBaseVertex called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsBaseVertex", count, type, indices, basevertex, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsBaseVertex(mode, count, type, indices, basevertex);
         RT.draw(count);
@@ -49,6 +50,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsBaseVertex(int mode, int type, ByteBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsBaseVertex", type, indices, basevertex, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsBaseVertex(mode, type, indices, basevertex);
         RT.draw(indices.remaining());
@@ -57,6 +59,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsBaseVertex(int mode, ByteBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsBaseVertex", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, basevertex, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsBaseVertex(mode, indices, basevertex);
         RT.draw(indices.remaining());
@@ -65,6 +68,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsBaseVertex(int mode, ShortBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsBaseVertex", indices, basevertex, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsBaseVertex(mode, indices, basevertex);
         RT.draw(indices.remaining());
@@ -73,6 +77,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsBaseVertex(int mode, IntBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsBaseVertex", indices, basevertex, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsBaseVertex(mode, indices, basevertex);
         RT.draw(indices.remaining());
@@ -80,11 +85,12 @@ public class ARBDrawElementsBaseVertex {
 
     public static void glDrawRangeElementsBaseVertex(int mode, int start, int end, int count, int type, long indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawRangeElementsBaseVertex called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElementsBaseVertex", (long) start + basevertex, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawRangeElementsBaseVertex(mode, start, end, count, type, indices, basevertex);
         RT.draw(count);
@@ -93,6 +99,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawRangeElementsBaseVertex(int mode, int start, int end, int type, ByteBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElementsBaseVertex", (long) start + basevertex, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawRangeElementsBaseVertex(mode, start, end, type, indices, basevertex);
         RT.draw(indices.remaining());
@@ -101,6 +108,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawRangeElementsBaseVertex(int mode, int start, int end, ByteBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElementsBaseVertex", (long) start + basevertex, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawRangeElementsBaseVertex(mode, start, end, indices, basevertex);
         RT.draw(indices.remaining());
@@ -109,6 +117,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawRangeElementsBaseVertex(int mode, int start, int end, ShortBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElementsBaseVertex", (long) start + basevertex, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawRangeElementsBaseVertex(mode, start, end, indices, basevertex);
         RT.draw(indices.remaining());
@@ -117,6 +126,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawRangeElementsBaseVertex(int mode, int start, int end, IntBuffer indices, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElementsBaseVertex", (long) start + basevertex, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawRangeElementsBaseVertex(mode, start, end, indices, basevertex);
         RT.draw(indices.remaining());
@@ -124,11 +134,12 @@ public class ARBDrawElementsBaseVertex {
 
     public static void glDrawElementsInstancedBaseVertex(int mode, int count, int type, long indices, int primcount, int basevertex) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawElementsInstancedBaseVertex called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertex", count, type, indices, basevertex, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsInstancedBaseVertex(mode, count, type, indices, primcount, basevertex);
         RT.draw(count * primcount);
@@ -137,6 +148,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsInstancedBaseVertex(int mode, int type, ByteBuffer indices, int primcount, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertex", type, indices, basevertex, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsInstancedBaseVertex(mode, type, indices, primcount, basevertex);
         RT.draw(indices.remaining() * primcount);
@@ -145,6 +157,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsInstancedBaseVertex(int mode, ByteBuffer indices, int primcount, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertex", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, basevertex, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsInstancedBaseVertex(mode, indices, primcount, basevertex);
         RT.draw(indices.remaining() * primcount);
@@ -153,6 +166,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsInstancedBaseVertex(int mode, ShortBuffer indices, int primcount, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertex", indices, basevertex, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsInstancedBaseVertex(mode, indices, primcount, basevertex);
         RT.draw(indices.remaining() * primcount);
@@ -161,6 +175,7 @@ public class ARBDrawElementsBaseVertex {
     public static void glDrawElementsInstancedBaseVertex(int mode, IntBuffer indices, int primcount, int basevertex) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedBaseVertex", indices, basevertex, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawElementsBaseVertex.glDrawElementsInstancedBaseVertex(mode, indices, primcount, basevertex);
         RT.draw(indices.remaining() * primcount);
@@ -37,6 +37,7 @@ public class ARBDrawInstanced {
     public static void glDrawArraysInstancedARB(int mode, int first, int count, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawArraysInstancedARB", first, count, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawInstanced.glDrawArraysInstancedARB(mode, first, count, primcount);
         RT.draw(count * primcount);
@@ -44,11 +45,12 @@ public class ARBDrawInstanced {
 
     public static void glDrawElementsInstancedARB(int mode, int count, int type, long indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawElementsInstancedARB called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedARB", count, type, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawInstanced.glDrawElementsInstancedARB(mode, count, type, indices, primcount);
         RT.draw(count * primcount);
@@ -57,6 +59,7 @@ public class ARBDrawInstanced {
     public static void glDrawElementsInstancedARB(int mode, int type, ByteBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedARB", type, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawInstanced.glDrawElementsInstancedARB(mode, type, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -65,6 +68,7 @@ public class ARBDrawInstanced {
     public static void glDrawElementsInstancedARB(int mode, ByteBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedARB", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawInstanced.glDrawElementsInstancedARB(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -73,6 +77,7 @@ public class ARBDrawInstanced {
     public static void glDrawElementsInstancedARB(int mode, ShortBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedARB", indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawInstanced.glDrawElementsInstancedARB(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -81,6 +86,7 @@ public class ARBDrawInstanced {
     public static void glDrawElementsInstancedARB(int mode, IntBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedARB", indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.ARBDrawInstanced.glDrawElementsInstancedARB(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
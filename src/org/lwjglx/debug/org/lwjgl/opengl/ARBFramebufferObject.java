@@ -22,7 +22,7 @@
  */
 package org.lwjglx.debug.org.lwjgl.opengl;
 
-import static org.lwjglx.debug.RT.*;
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
 
 import java.nio.IntBuffer;
 
@@ -31,6 +31,13 @@ import org.lwjglx.debug.org.lwjgl.opengl.Context.FBO;
 
 public class ARBFramebufferObject {
 
+    public static void glBindRenderbuffer(int target, int renderbuffer) {
+        if (Properties.GPU_MEMORY.enabled) {
+            bindRenderbuffer(renderbuffer);
+        }
+        org.lwjgl.opengl.ARBFramebufferObject.glBindRenderbuffer(target, renderbuffer);
+    }
+
     public static void glGenFramebuffers(IntBuffer framebuffers) {
         org.lwjgl.opengl.ARBFramebufferObject.glGenFramebuffers(framebuffers);
         if (Properties.VALIDATE.enabled) {
@@ -68,16 +75,7 @@ public class ARBFramebufferObject {
 
     public static void glBindFramebuffer(int target, int framebuffer) {
         if (Properties.VALIDATE.enabled) {
-            Context ctx = Context.currentContext();
-            FBO fbo = ctx.fbos.get(framebuffer);
-            if (fbo == null && ctx.shareGroup != null) {
-                for (Context c : ctx.shareGroup.contexts) {
-                    if (c.fbos.containsKey(framebuffer)) {
-                        throwISEOrLogError("Trying to bind unknown FBO [" + framebuffer + "] from shared context [" + c.counter + "]");
-                    }
-                }
-            }
-            ctx.currentFbo = fbo;
+            bindFramebuffer(target, framebuffer);
         }
         org.lwjgl.opengl.ARBFramebufferObject.glBindFramebuffer(target, framebuffer);
     }
@@ -85,49 +83,98 @@ public class ARBFramebufferObject {
     public static void glDeleteFramebuffers(IntBuffer framebuffers) {
         org.lwjgl.opengl.ARBFramebufferObject.glDeleteFramebuffers(framebuffers);
         if (Properties.VALIDATE.enabled) {
-            Context context = Context.currentContext();
-            int pos = framebuffers.position();
-            for (int i = 0; i < framebuffers.remaining(); i++) {
-                int framebuffer = framebuffers.get(pos + i);
-                if (framebuffer == 0)
-                    continue;
-                FBO fbo = context.fbos.get(framebuffer);
-                if (fbo != null && fbo == context.currentFbo) {
-                    context.currentFbo = context.defaultFbo;
-                }
-                context.fbos.remove(framebuffer);
-            }
+            deleteFramebuffers(framebuffers);
         }
     }
 
     public static void glDeleteFramebuffers(int framebuffer) {
         org.lwjgl.opengl.ARBFramebufferObject.glDeleteFramebuffers(framebuffer);
         if (Properties.VALIDATE.enabled) {
-            if (framebuffer == 0)
-                return;
-            Context context = Context.currentContext();
-            FBO fbo = context.fbos.get(framebuffer);
-            if (fbo != null && fbo == context.currentFbo) {
-                context.currentFbo = context.defaultFbo;
-            }
-            context.fbos.remove(framebuffer);
+            deleteFramebuffer(framebuffer);
         }
     }
 
     public static void glDeleteFramebuffers(int[] framebuffers) {
         org.lwjgl.opengl.ARBFramebufferObject.glDeleteFramebuffers(framebuffers);
         if (Properties.VALIDATE.enabled) {
-            Context context = Context.currentContext();
-            for (int i = 0; i < framebuffers.length; i++) {
-                int framebuffer = framebuffers[i];
-                if (framebuffer == 0)
-                    continue;
-                FBO fbo = context.fbos.get(framebuffer);
-                if (fbo != null && fbo == context.currentFbo) {
-                    context.currentFbo = context.defaultFbo;
-                }
-                context.fbos.remove(framebuffer);
-            }
+            deleteFramebuffers(framebuffers);
+        }
+    }
+
+    public static void glFramebufferTexture1D(int target, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.ARBFramebufferObject.glFramebufferTexture1D(target, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.ARBFramebufferObject.glFramebufferTexture2D(target, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTexture3D(int target, int attachment, int textarget, int texture, int level, int zoffset) {
+        org.lwjgl.opengl.ARBFramebufferObject.glFramebufferTexture3D(target, attachment, textarget, texture, level, zoffset);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTextureLayer(int target, int attachment, int texture, int level, int layer) {
+        org.lwjgl.opengl.ARBFramebufferObject.glFramebufferTextureLayer(target, attachment, texture, level, layer);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        org.lwjgl.opengl.ARBFramebufferObject.glFramebufferRenderbuffer(target, attachment, renderbuffertarget, renderbuffer);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glDeleteRenderbuffers(IntBuffer renderbuffers) {
+        org.lwjgl.opengl.ARBFramebufferObject.glDeleteRenderbuffers(renderbuffers);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbuffersDeleted(renderbuffers);
+        }
+    }
+
+    public static void glDeleteRenderbuffers(int renderbuffer) {
+        org.lwjgl.opengl.ARBFramebufferObject.glDeleteRenderbuffers(renderbuffer);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferDeleted(renderbuffer);
+        }
+    }
+
+    public static void glDeleteRenderbuffers(int[] renderbuffers) {
+        org.lwjgl.opengl.ARBFramebufferObject.glDeleteRenderbuffers(renderbuffers);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbuffersDeleted(renderbuffers);
+        }
+    }
+
+    public static void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+        org.lwjgl.opengl.ARBFramebufferObject.glRenderbufferStorage(target, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferStorage(0, internalformat, width, height);
+        }
+    }
+
+    public static void glRenderbufferStorageMultisample(int target, int samples, int internalformat, int width, int height) {
+        org.lwjgl.opengl.ARBFramebufferObject.glRenderbufferStorageMultisample(target, samples, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferStorage(samples, internalformat, width, height);
+        }
+    }
+
+    public static void glGenerateMipmap(int target) {
+        org.lwjgl.opengl.ARBFramebufferObject.glGenerateMipmap(target);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.generateMipmap(target);
         }
     }
 
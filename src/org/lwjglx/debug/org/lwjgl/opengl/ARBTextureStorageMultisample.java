@@ -0,0 +1,43 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import org.lwjglx.debug.Properties;
+
+public class ARBTextureStorageMultisample {
+
+    public static void glTexStorage2DMultisample(int target, int samples, int internalformat, int width, int height, boolean fixedsamplelocations) {
+        org.lwjgl.opengl.ARBTextureStorageMultisample.glTexStorage2DMultisample(target, samples, internalformat, width, height, fixedsamplelocations);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texStorageMultisample(target, samples, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexStorage3DMultisample(int target, int samples, int internalformat, int width, int height, int depth, boolean fixedsamplelocations) {
+        org.lwjgl.opengl.ARBTextureStorageMultisample.glTexStorage3DMultisample(target, samples, internalformat, width, height, depth, fixedsamplelocations);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texStorageMultisample(target, samples, internalformat, width, height, depth);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
+
+import org.lwjglx.debug.Properties;
+
+public class ARBUniformBufferObject {
+
+    public static void glBindBufferBase(int target, int index, int buffer) {
+        if (Properties.VALIDATE.enabled) {
+            bindBuffer(target, buffer);
+        }
+        org.lwjgl.opengl.ARBUniformBufferObject.glBindBufferBase(target, index, buffer);
+    }
+
+    public static void glBindBufferRange(int target, int index, int buffer, long offset, long size) {
+        if (Properties.VALIDATE.enabled) {
+            bindBufferRange("glBindBufferRange", buffer, offset, size);
+            bindBuffer(target, buffer);
+        }
+        org.lwjgl.opengl.ARBUniformBufferObject.glBindBufferRange(target, index, buffer, offset, size);
+    }
+
+}
@@ -79,6 +79,13 @@ public class ARBVertexArrayObject {
             ctx.currentVao = vao;
         }
         org.lwjgl.opengl.ARBVertexArrayObject.glBindVertexArray(index);
+        if (Properties.VALIDATE.enabled) {
+            Context ctx = Context.currentContext();
+            if (ctx.currentVao == null && ctx.adopted) {
+                /* Created before attaching, so query its state now that it is bound */
+                ctx.currentVao = ctx.adoptVertexArray(index);
+            }
+        }
     }
 
     public static void glDeleteVertexArrays(int index) {
@@ -0,0 +1,290 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjglx.debug.Properties;
+
+public class ARBVertexBufferObject {
+
+    public static void glBindBufferARB(int target, int buffer) {
+        if (Properties.VALIDATE.enabled) {
+            bindBuffer(target, buffer);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBindBufferARB(target, buffer);
+    }
+
+    public static void glDeleteBuffersARB(int buffer) {
+        org.lwjgl.opengl.ARBVertexBufferObject.glDeleteBuffersARB(buffer);
+        if (tracksBuffers()) {
+            deleteBuffer(buffer);
+        }
+    }
+
+    public static void glDeleteBuffersARB(IntBuffer buffers) {
+        org.lwjgl.opengl.ARBVertexBufferObject.glDeleteBuffersARB(buffers);
+        if (tracksBuffers()) {
+            deleteBuffers(buffers);
+        }
+    }
+
+    public static void glDeleteBuffersARB(int[] buffers) {
+        org.lwjgl.opengl.ARBVertexBufferObject.glDeleteBuffersARB(buffers);
+        if (tracksBuffers()) {
+            deleteBuffers(buffers);
+        }
+    }
+
+    public static void glBufferDataARB(int target, long size, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, size, usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, size, usage);
+    }
+
+    public static void glBufferDataARB(int target, ByteBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, (long) data.remaining(), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, ShortBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 1), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, IntBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 2), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, FloatBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 2), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, DoubleBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 3), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, short[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 1), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, int[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 2), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, float[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 2), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glBufferDataARB(int target, double[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 3), usage);
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferDataARB(target, data, usage);
+    }
+
+    public static void glGenBuffersARB(IntBuffer buffers) {
+        org.lwjgl.opengl.ARBVertexBufferObject.glGenBuffersARB(buffers);
+        if (tracksBuffers()) {
+            genBuffers(buffers);
+        }
+    }
+
+    public static int glGenBuffersARB() {
+        int buffer = org.lwjgl.opengl.ARBVertexBufferObject.glGenBuffersARB();
+        if (tracksBuffers()) {
+            genBuffer(buffer);
+        }
+        return buffer;
+    }
+
+    public static void glGenBuffersARB(int[] buffers) {
+        org.lwjgl.opengl.ARBVertexBufferObject.glGenBuffersARB(buffers);
+        if (tracksBuffers()) {
+            genBuffers(buffers);
+        }
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, ByteBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, (long) data.remaining());
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, ShortBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.remaining() << 1));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, IntBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, FloatBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, DoubleBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, short[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.length << 1));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, int[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, float[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glBufferSubDataARB(int target, long offset, double[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubDataARB", target, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, ByteBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, (long) data.remaining());
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, ShortBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.remaining() << 1));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, IntBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, FloatBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, DoubleBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, short[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.length << 1));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, int[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, float[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static void glGetBufferSubDataARB(int target, long offset, double[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubDataARB", target, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.ARBVertexBufferObject.glGetBufferSubDataARB(target, offset, data);
+    }
+
+    public static boolean glUnmapBufferARB(int target) {
+        if (Properties.VALIDATE.enabled) {
+            unmapBuffer(target);
+        }
+        return org.lwjgl.opengl.ARBVertexBufferObject.glUnmapBufferARB(target);
+    }
+
+}
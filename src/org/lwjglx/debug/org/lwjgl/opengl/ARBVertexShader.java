@@ -33,37 +33,42 @@ public class ARBVertexShader {
 
     public static void glVertexAttribPointerARB(int index, int size, int type, boolean normalized, int stride, FloatBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.ARBVertexShader.glVertexAttribPointerARB(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointerARB(int index, int size, int type, boolean normalized, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.ARBVertexShader.glVertexAttribPointerARB(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointerARB(int index, int size, int type, boolean normalized, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.ARBVertexShader.glVertexAttribPointerARB(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointerARB(int index, int size, int type, boolean normalized, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.ARBVertexShader.glVertexAttribPointerARB(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointerARB(int index, int size, int type, boolean normalized, int stride, long pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            Context.vertexAttribPointer(index, size, type, stride, pointer);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-            	Context.currentContext().currentVao.initializedVertexArrays[index] = true;
+            	Context.currentContext().currentVao.initializeVertexArray(index, true);
             }
         }
         org.lwjgl.opengl.ARBVertexShader.glVertexAttribPointerARB(index, size, type, normalized, stride, pointer);
@@ -71,14 +76,14 @@ public class ARBVertexShader {
 
     public static void glEnableVertexAttribArrayARB(int index) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.enabledVertexArrays[index] = true;
+        	Context.currentContext().currentVao.enableVertexArray(index, true);
         }
         org.lwjgl.opengl.ARBVertexShader.glEnableVertexAttribArrayARB(index);
     }
 
     public static void glDisableVertexAttribArrayARB(int index) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.enabledVertexArrays[index] = false;
+        	Context.currentContext().currentVao.enableVertexArray(index, false);
         }
         org.lwjgl.opengl.ARBVertexShader.glDisableVertexAttribArrayARB(index);
     }
@@ -26,8 +26,10 @@ import static org.lwjglx.debug.Log.*;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,31 +42,239 @@ import org.lwjglx.debug.*;
 
 public class Context implements Comparable<Context> {
     public static class ShareGroup {
-        public Map<Integer, BufferObject> bufferObjects = new HashMap<>();
-        public Map<Integer, TextureObject> textureObjects = new HashMap<>();
+        public final int counter = SHARE_GROUP_COUNTER.getAndIncrement();
+        public IntMap<BufferObject> bufferObjects = new IntMap<>();
+        public IntMap<TextureObject> textureObjects = new IntMap<>();
+        public IntMap<RenderbufferObject> renderbufferObjects = new IntMap<>();
         public Set<Context> contexts = new ConcurrentSkipListSet<Context>();
+        /* incremented whenever the storage of a texture or renderbuffer changes */
+        public int storageGeneration;
+        /* incremented whenever the storage of a buffer object changes */
+        public int bufferGeneration;
+        /* incremented whenever a buffer object is written by a function that is not tracked per buffer object, such as glClearBufferSubData */
+        public int contentsGeneration;
+        /* GPU memory in bytes per kind of object (see GpuMemory) */
+        public long[] memory = new long[GpuMemory.KINDS];
+        public long[] memoryHighWater = new long[GpuMemory.KINDS];
+        public long memoryHighWaterTotal;
+        public long memoryLogThreshold;
+        /* reported when destroying its last context or terminating GLFW, and not allocated or freed anything since */
+        public boolean memoryReported;
+        /* validation was switched off at runtime, so the storage of its objects may have changed without being tracked */
+        public boolean stale;
     }
 
     public static class VAO {
-        public boolean[] enabledVertexArrays;
-        public boolean[] initializedVertexArrays;
-        public boolean vertexArrayEnabled;
-        public boolean vertexArrayInitialized;
-        public boolean normalArrayEnabled;
-        public boolean normalArrayInitialized;
-        public boolean colorArrayEnabled;
-        public boolean colorArrayInitialized;
-        public boolean texCoordArrayEnabled;
-        public boolean texCoordArrayInitialized;
+        /* Bits for the legacy client states */
+        public static final int VERTEX_ARRAY = 1 << 0;
+        public static final int NORMAL_ARRAY = 1 << 1;
+        public static final int COLOR_ARRAY = 1 << 2;
+        public static final int TEXTURE_COORD_ARRAY = 1 << 3;
+
+        public final int maxVertexAttribs;
+        public long[] enabledVertexArrays;
+        public long[] initializedVertexArrays;
+        public int enabledClientStates;
+        public int initializedClientStates;
+        public BufferObject elementArrayBufferBinding;
+
+        /* Format of each generic vertex attribute (0 bytes if unknown) and the vertex buffer binding it reads from */
+        public int[] attribBytes;
+        public int[] attribRelativeOffsets;
+        public int[] attribBindings;
+        /* Vertex buffer bindings, where a null buffer means client memory or unknown */
+        public BufferObject[] bindingBuffers;
+        public long[] bindingOffsets;
+        public int[] bindingStrides;
+        public int[] bindingDivisors;
+
+        /* Number of vertices and instances that all enabled arrays can fetch, valid until the layout or any buffer object storage changes */
+        public boolean fetchLimitsValid;
+        public int fetchLimitsBufferGeneration;
+        public long maxVertices;
+        public int maxVerticesAttrib;
+        public long maxInstances;
+        public int maxInstancesAttrib;
 
         public VAO(int GL_MAX_VERTEX_ATTRIBS) {
-            this.enabledVertexArrays = new boolean[GL_MAX_VERTEX_ATTRIBS];
-            this.initializedVertexArrays = new boolean[GL_MAX_VERTEX_ATTRIBS];
+            this.maxVertexAttribs = GL_MAX_VERTEX_ATTRIBS;
+            this.enabledVertexArrays = new long[(GL_MAX_VERTEX_ATTRIBS + 63) >>> 6];
+            this.initializedVertexArrays = new long[(GL_MAX_VERTEX_ATTRIBS + 63) >>> 6];
+            this.attribBytes = new int[GL_MAX_VERTEX_ATTRIBS];
+            this.attribRelativeOffsets = new int[GL_MAX_VERTEX_ATTRIBS];
+            this.attribBindings = new int[GL_MAX_VERTEX_ATTRIBS];
+            /* GL_MAX_VERTEX_ATTRIB_BINDINGS is at least GL_MAX_VERTEX_ATTRIBS in all implementations */
+            this.bindingBuffers = new BufferObject[GL_MAX_VERTEX_ATTRIBS];
+            this.bindingOffsets = new long[GL_MAX_VERTEX_ATTRIBS];
+            this.bindingStrides = new int[GL_MAX_VERTEX_ATTRIBS];
+            this.bindingDivisors = new int[GL_MAX_VERTEX_ATTRIBS];
+            for (int i = 0; i < GL_MAX_VERTEX_ATTRIBS; i++)
+                attribBindings[i] = i;
+        }
+
+        /**
+         * Return the size in bytes of a single vertex attribute element or 0 if the type is unknown.
+         */
+        public static int vertexAttribBytes(int size, int type) {
+            if (size == org.lwjgl.opengl.GL12.GL_BGRA)
+                size = 4;
+            switch (type) {
+            case org.lwjgl.opengl.GL11.GL_BYTE:
+            case org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE:
+                return size;
+            case org.lwjgl.opengl.GL11.GL_SHORT:
+            case org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT:
+            case org.lwjgl.opengl.GL30.GL_HALF_FLOAT:
+                return size * 2;
+            case org.lwjgl.opengl.GL11.GL_INT:
+            case org.lwjgl.opengl.GL11.GL_UNSIGNED_INT:
+            case org.lwjgl.opengl.GL11.GL_FLOAT:
+            case org.lwjgl.opengl.GL41.GL_FIXED:
+                return size * 4;
+            case org.lwjgl.opengl.GL11.GL_DOUBLE:
+                return size * 8;
+            case org.lwjgl.opengl.GL33.GL_INT_2_10_10_10_REV:
+            case org.lwjgl.opengl.GL12.GL_UNSIGNED_INT_2_10_10_10_REV:
+            case org.lwjgl.opengl.GL30.GL_UNSIGNED_INT_10F_11F_11F_REV:
+                /* All components are packed into a single 32-bit word */
+                return 4;
+            default:
+                return 0;
+            }
+        }
+
+        private static void set(long[] bits, int index, boolean value) {
+            if (value)
+                bits[index >>> 6] |= 1L << index;
+            else
+                bits[index >>> 6] &= ~(1L << index);
+        }
+
+        public void enableVertexArray(int index, boolean enabled) {
+            /* Invalid indices will be reported by GL as GL_INVALID_VALUE */
+            if (index >= 0 && index < maxVertexAttribs) {
+                set(enabledVertexArrays, index, enabled);
+                fetchLimitsValid = false;
+            }
+        }
+
+        public void initializeVertexArray(int index, boolean initialized) {
+            if (index >= 0 && index < maxVertexAttribs) {
+                set(initializedVertexArrays, index, initialized);
+                fetchLimitsValid = false;
+            }
+        }
+
+        public void vertexAttribPointer(int index, int size, int type, int stride, BufferObject buffer, long pointer) {
+            if (index < 0 || index >= maxVertexAttribs)
+                return;
+            int bytes = vertexAttribBytes(size, type);
+            attribBytes[index] = bytes;
+            attribRelativeOffsets[index] = 0;
+            attribBindings[index] = index;
+            bindingBuffers[index] = buffer;
+            bindingOffsets[index] = pointer;
+            bindingStrides[index] = stride != 0 ? stride : bytes;
+            fetchLimitsValid = false;
+        }
+
+        public void vertexAttribFormat(int attribindex, int size, int type, int relativeoffset) {
+            if (attribindex < 0 || attribindex >= maxVertexAttribs)
+                return;
+            attribBytes[attribindex] = vertexAttribBytes(size, type);
+            attribRelativeOffsets[attribindex] = relativeoffset;
+            fetchLimitsValid = false;
+        }
+
+        public void vertexAttribBinding(int attribindex, int bindingindex) {
+            if (attribindex < 0 || attribindex >= maxVertexAttribs || bindingindex < 0 || bindingindex >= maxVertexAttribs)
+                return;
+            attribBindings[attribindex] = bindingindex;
+            fetchLimitsValid = false;
+        }
+
+        public void bindVertexBuffer(int bindingindex, BufferObject buffer, long offset, int stride) {
+            if (bindingindex < 0 || bindingindex >= maxVertexAttribs)
+                return;
+            bindingBuffers[bindingindex] = buffer;
+            bindingOffsets[bindingindex] = offset;
+            bindingStrides[bindingindex] = stride;
+            fetchLimitsValid = false;
+        }
+
+        public void vertexBindingDivisor(int bindingindex, int divisor) {
+            if (bindingindex < 0 || bindingindex >= maxVertexAttribs)
+                return;
+            bindingDivisors[bindingindex] = divisor;
+            fetchLimitsValid = false;
+        }
+
+        /**
+         * Return the number of elements the given attribute can fetch from its buffer object or -1 if that is not known.
+         */
+        public long fetchableElements(int index) {
+            int bytes = attribBytes[index];
+            int binding = attribBindings[index];
+            BufferObject bo = bindingBuffers[binding];
+            if (bytes == 0 || bo == null || !bo.hasStorage())
+                return -1L;
+            long start = bindingOffsets[binding] + attribRelativeOffsets[index];
+            int stride = bindingStrides[binding];
+            if (start < 0L || bo.size - start < bytes)
+                return 0L;
+            if (stride <= 0)
+                return Long.MAX_VALUE;
+            return (bo.size - start - bytes) / stride + 1L;
+        }
+
+        public void updateFetchLimits(int bufferGeneration) {
+            maxVertices = Long.MAX_VALUE;
+            maxInstances = Long.MAX_VALUE;
+            for (int w = 0; w < enabledVertexArrays.length; w++) {
+                long arrays = enabledVertexArrays[w] & initializedVertexArrays[w];
+                while (arrays != 0L) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(arrays);
+                    arrays &= arrays - 1L;
+                    long elements = fetchableElements(i);
+                    if (elements < 0L)
+                        continue;
+                    int divisor = bindingDivisors[attribBindings[i]];
+                    if (divisor == 0 && elements < maxVertices) {
+                        maxVertices = elements;
+                        maxVerticesAttrib = i;
+                    } else if (divisor != 0) {
+                        long instances = elements > Long.MAX_VALUE / divisor ? Long.MAX_VALUE : elements * divisor;
+                        if (instances < maxInstances) {
+                            maxInstances = instances;
+                            maxInstancesAttrib = i;
+                        }
+                    }
+                }
+            }
+            fetchLimitsValid = true;
+            fetchLimitsBufferGeneration = bufferGeneration;
+        }
+
+        public void enableClientState(int state, boolean enabled) {
+            if (enabled)
+                enabledClientStates |= state;
+            else
+                enabledClientStates &= ~state;
+        }
+
+        public void initializeClientState(int state, boolean initialized) {
+            if (initialized)
+                initializedClientStates |= state;
+            else
+                initializedClientStates &= ~state;
         }
     }
 
     public static class FBO {
         public int handle;
+        /* last result of glCheckFramebufferStatus or 0 if it must be queried again */
+        public int status;
+        public int storageGeneration;
         public FBO(int handle) {
             this.handle = handle;
         }
@@ -74,7 +284,35 @@ public class Context implements Comparable<Context> {
     }
 
     public static class BufferObject {
+        public int handle;
         public long size;
+        /* usage given to glBufferData or 0 */
+        public int usage;
+        /* flags given to glBufferStorage */
+        public int storageFlags;
+        public boolean immutable;
+        /* index ranges scanned from this buffer object, which are dropped whenever its contents change */
+        public Map<IndexRange, IndexRange> indexRanges;
+        /* the ShareGroup.contentsGeneration the index ranges were scanned in */
+        public int indexRangesGeneration;
+        public BufferObject(int handle) {
+            this.handle = handle;
+        }
+        public boolean hasStorage() {
+            return usage != 0 || immutable;
+        }
+    }
+
+    public static class RenderbufferObject {
+        public int handle;
+        public long size;
+        public int internalformat;
+        public int width;
+        public int height;
+        public int samples;
+        public RenderbufferObject(int handle) {
+            this.handle = handle;
+        }
     }
 
     public static class TextureLevel {
@@ -82,6 +320,7 @@ public class Context implements Comparable<Context> {
         public int internalformat;
         public int width;
         public int height;
+        public int depth;
     }
 
     public static class TextureLayer {
@@ -102,8 +341,48 @@ public class Context implements Comparable<Context> {
     }
 
     public static class TextureObject {
+        public int handle;
         public TextureLayer[] layers;
         public boolean generateMipmap;
+        /* the target the texture was first bound to, or 0 if not known yet */
+        public int target;
+
+        public TextureObject() {
+        }
+
+        public TextureObject(int handle) {
+            this.handle = handle;
+        }
+
+        public void ensureLayers(int count) {
+            if (layers == null) {
+                layers = new TextureLayer[count];
+            } else if (layers.length < count) {
+                TextureLayer[] newLayers = new TextureLayer[count];
+                System.arraycopy(layers, 0, newLayers, 0, layers.length);
+                layers = newLayers;
+            }
+            for (int i = 0; i < layers.length; i++) {
+                if (layers[i] == null)
+                    layers[i] = new TextureLayer();
+            }
+        }
+
+        /**
+         * Return the size of all levels of all layers in bytes.
+         */
+        public long size() {
+            long size = 0L;
+            if (layers == null)
+                return size;
+            for (TextureLayer layer : layers) {
+                if (layer.levels == null)
+                    continue;
+                for (TextureLevel level : layer.levels)
+                    size += level.size;
+            }
+            return size;
+        }
     }
 
     public static class TimingQuery {
@@ -124,6 +403,7 @@ public class Context implements Comparable<Context> {
     public static final Map<Long, Context> CONTEXTS = new ConcurrentHashMap<Long, Context>();
     public static final Map<Long, ShareGroup> SHARE_GROUPS = new ConcurrentHashMap<Long, ShareGroup>();
     private static final AtomicInteger CONTEXT_COUNTER = new AtomicInteger(1);
+    private static final AtomicInteger SHARE_GROUP_COUNTER = new AtomicInteger(1);
 
     public org.lwjgl.opengl.GLCapabilities caps;
     public boolean inited;
@@ -135,21 +415,53 @@ public class Context implements Comparable<Context> {
     public VAO currentVao;
     public FBO defaultFbo;
     public FBO currentFbo;
+    public FBO currentReadFbo;
     public ProgramPipeline defaultProgramPipeline;
     public ProgramPipeline currentProgramPipeline;
-    public Map<Integer, VAO> vaos = new HashMap<Integer, VAO>();
-    public Map<Integer, FBO> fbos = new HashMap<Integer, FBO>();
-    public Map<Integer, BufferObject> bufferObjectBindings = new HashMap<>();
-    public Map<Integer, TextureObject> textureObjectBindings = new HashMap<>();
-    public Map<Integer, ProgramPipeline> programPipelines = new HashMap<>();
+    public IntMap<VAO> vaos = new IntMap<>();
+    public IntMap<FBO> fbos = new IntMap<>();
+    public BufferObject arrayBufferBinding;
+    public IntMap<BufferObject> bufferObjectBindings = new IntMap<>();
+    /* keyed by (texture unit << 16 | target), tracked for the GPU memory accounting and queried from the driver when not known yet */
+    public IntMap<TextureObject> textureObjectBindings = new IntMap<>();
+    /* the active texture unit and the bound renderbuffer, or -1 if not known yet */
+    public int activeTextureUnit = -1;
+    public int renderbufferBinding = -1;
+    /* primitive restart state, tracked when validating and queried from the driver when not known yet */
+    public boolean primitiveRestartKnown;
+    public boolean primitiveRestart;
+    public boolean primitiveRestartFixedIndex;
+    public int primitiveRestartIndex;
+    /* the key to look up index ranges with and the memory to read indices back into, reused for all draws */
+    private final IndexRange indexRangeKey = new IndexRange();
+    private ByteBuffer indexReadback;
+    public IntMap<ProgramPipeline> programPipelines = new IntMap<>();
     public ShareGroup shareGroup;
     public boolean inImmediateMode;
     public Thread currentInThread;
     /* per frame info */
     public boolean drawCallSeen;
+    /* lazy glGetError() checking */
+    public int callsSinceErrorCheck;
+    public int bisectFrames;
+    /* created before the agent was attached, so its state was rebuilt from GL queries */
+    public boolean adopted;
+    /* validation was switched off at runtime, so its state must be rebuilt from GL queries before it is used again */
+    public boolean stale;
+    /* timestamp queries of the GPU profiler */
+    public GpuProfiler gpuProfiler;
 
     public static Context currentContext() {
     	Context ctx = CURRENT_CONTEXT.get();
+    	if (ctx == null && RT.attached) {
+    		ctx = adoptCurrentContext();
+    	} else if (ctx != null && ctx.stale) {
+    		/* Another context may have been made current while the agent was detached */
+    		if (RT.attached && RT.glfwInitialized && org.lwjgl.glfw.GLFW.glfwGetCurrentContext() != ctx.window)
+    			ctx = adoptCurrentContext();
+    		if (ctx != null && ctx.stale)
+    			ctx.resynchronize();
+    	}
     	if (ctx == null) {
     		RT.throwISEOrLogError("No OpenGL context has been made current through recognized API methods (glfwMakeContextCurrent).");
     	}
@@ -180,6 +492,158 @@ public class Context implements Comparable<Context> {
         CONTEXTS.put(window, ctx);
     }
 
+    /**
+     * Make the GLFW context that is current in this thread known to us, when it was made current before the agent was attached.
+     */
+    public static Context adoptCurrentContext() {
+        if (!RT.glfwInitialized)
+            return null;
+        long window = org.lwjgl.glfw.GLFW.glfwGetCurrentContext();
+        if (window == 0L)
+            return null;
+        Context ctx = CONTEXTS.get(window);
+        if (ctx == null) {
+            /* Which contexts share objects cannot be queried, so each adopted context gets its own share group */
+            create(window, 0L);
+            ctx = CONTEXTS.get(window);
+            ctx.adopted = true;
+        }
+        CURRENT_CONTEXT.set(ctx);
+        ctx.currentInThread = Thread.currentThread();
+        if (!ctx.inited) {
+            org.lwjgl.opengl.GLCapabilities caps;
+            try {
+                caps = org.lwjgl.opengl.GL.getCapabilities();
+            } catch (IllegalStateException e) {
+                /* GL.createCapabilities() was not called yet in this thread */
+                return ctx;
+            }
+            ctx.caps = caps;
+            ctx.init(maxVertexAttribs(caps));
+            ctx.rebuildBindings();
+            info("Adopted OpenGL context of window[" + ctx.counter + "] which was created before attaching");
+        }
+        return ctx;
+    }
+
+    /**
+     * Called before validation is switched on again at runtime (see {@link Control}) and when the agent is detached.
+     * <p>
+     * While validation was off or the agent was detached, no objects or bindings were tracked, so all contexts rebuild their state from GL
+     * queries on their next validated call, like the contexts that existed before attaching.
+     */
+    public static void validationSwitchedOn() {
+        for (Context ctx : CONTEXTS.values()) {
+            ctx.stale = true;
+            ctx.shareGroup.stale = true;
+        }
+    }
+
+    private void resynchronize() {
+        stale = false;
+        if (!inited)
+            return;
+        adopted = true;
+        vaos.clear();
+        fbos.clear();
+        programPipelines.clear();
+        bufferObjectBindings.clear();
+        textureObjectBindings.clear();
+        arrayBufferBinding = null;
+        primitiveRestartKnown = false;
+        resetBindings();
+        if (shareGroup.stale) {
+            shareGroup.stale = false;
+            /* The sizes are kept for the GPU memory accounting, but not used for validation until the storage is specified again */
+            for (BufferObject bo : shareGroup.bufferObjects.values()) {
+                bo.usage = 0;
+                bo.immutable = false;
+                bo.indexRanges = null;
+            }
+            shareGroup.bufferGeneration++;
+            shareGroup.storageGeneration++;
+        }
+        rebuildBindings();
+        debug("Rebuilt the state of OpenGL context of window[" + counter + "] after validation was switched on");
+    }
+
+    public static int maxVertexAttribs(org.lwjgl.opengl.GLCapabilities caps) {
+        if (caps.OpenGL20)
+            return org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL20.GL_MAX_VERTEX_ATTRIBS);
+        else if (caps.GL_ARB_vertex_shader)
+            return org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.ARBVertexShader.GL_MAX_VERTEX_ATTRIBS_ARB);
+        return 16;
+    }
+
+    private void rebuildBindings() {
+        if (caps.OpenGL30 || caps.GL_ARB_vertex_array_object) {
+            int vao = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL30.GL_VERTEX_ARRAY_BINDING);
+            if (vao != 0)
+                currentVao = adoptVertexArray(vao);
+            else
+                queryVertexArray(defaultVao);
+        } else {
+            queryVertexArray(defaultVao);
+        }
+        if (caps.OpenGL15)
+            arrayBufferBinding = adoptBuffer(org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING));
+        if (caps.OpenGL30 || caps.GL_ARB_framebuffer_object) {
+            currentFbo = adoptFramebuffer(org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER_BINDING));
+            currentReadFbo = adoptFramebuffer(org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL30.GL_READ_FRAMEBUFFER_BINDING));
+        }
+        if (caps.OpenGL41 || caps.GL_ARB_separate_shader_objects) {
+            int pipeline = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL41.GL_PROGRAM_PIPELINE_BINDING);
+            if (pipeline != 0) {
+                currentProgramPipeline = new ProgramPipeline();
+                programPipelines.put(pipeline, currentProgramPipeline);
+            }
+        }
+    }
+
+    /**
+     * Track the currently bound vertex array object <code>index</code>, which was created before attaching.
+     */
+    public VAO adoptVertexArray(int index) {
+        VAO vao = new VAO(GL_MAX_VERTEX_ATTRIBS);
+        vaos.put(index, vao);
+        queryVertexArray(vao);
+        return vao;
+    }
+
+    private void queryVertexArray(VAO vao) {
+        /* Whether the vertex arrays were specified cannot be queried, so assume they were */
+        Arrays.fill(vao.initializedVertexArrays, -1L);
+        vao.initializedClientStates = -1;
+        if (caps.OpenGL20) {
+            for (int i = 0; i < vao.maxVertexAttribs; i++) {
+                int enabled = org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.GL20.GL_VERTEX_ATTRIB_ARRAY_ENABLED);
+                vao.enableVertexArray(i, enabled != 0);
+            }
+        }
+        if (caps.OpenGL15)
+            vao.elementArrayBufferBinding = adoptBuffer(org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING));
+    }
+
+    private BufferObject adoptBuffer(int buffer) {
+        if (buffer == 0)
+            return null;
+        BufferObject bo = shareGroup.bufferObjects.get(buffer);
+        if (bo == null) {
+            bo = new BufferObject(buffer);
+            shareGroup.bufferObjects.put(buffer, bo);
+        }
+        return bo;
+    }
+
+    private FBO adoptFramebuffer(int framebuffer) {
+        FBO fbo = fbos.get(framebuffer);
+        if (fbo == null) {
+            fbo = new FBO(framebuffer);
+            fbos.put(framebuffer, fbo);
+        }
+        return fbo;
+    }
+
     public String openglVersion() {
         String version = "1.1";
         if (caps.OpenGL12)
@@ -217,18 +681,23 @@ public class Context implements Comparable<Context> {
         return version;
     }
 
-    public void init(int GL_MAX_VERTEX_ATTRIBS) {
-        this.inited = true;
-        this.GL_MAX_VERTEX_ATTRIBS = GL_MAX_VERTEX_ATTRIBS;
+    private void resetBindings() {
         this.defaultVao = new VAO(GL_MAX_VERTEX_ATTRIBS);
         this.currentVao = defaultVao;
         this.vaos.put(0, defaultVao);
         this.defaultFbo = new FBO(0);
         this.currentFbo = defaultFbo;
+        this.currentReadFbo = defaultFbo;
         this.fbos.put(0, defaultFbo);
         this.defaultProgramPipeline = new ProgramPipeline();
         this.currentProgramPipeline = defaultProgramPipeline;
         this.programPipelines.put(0, defaultProgramPipeline);
+    }
+
+    public void init(int GL_MAX_VERTEX_ATTRIBS) {
+        this.inited = true;
+        this.GL_MAX_VERTEX_ATTRIBS = GL_MAX_VERTEX_ATTRIBS;
+        resetBindings();
         StringBuilder sb = new StringBuilder();
         sb.append("Initialized OpenGL context for window[").append(this.counter).append("]\n");
         sb.append("  Effective OpenGL version: ").append(openglVersion()).append("\n");
@@ -262,6 +731,8 @@ public class Context implements Comparable<Context> {
         info("Destroying OpenGL context for window[" + this.counter + "]");
         if (shareGroup != null) {
             shareGroup.contexts.remove(this);
+            if (Properties.GPU_MEMORY.enabled && shareGroup.contexts.isEmpty())
+                GpuMemory.report(shareGroup, "when destroying its last context");
             SHARE_GROUPS.remove(window);
             shareGroup = null;
         }
@@ -360,41 +831,813 @@ public class Context implements Comparable<Context> {
         }
     }
 
+    private static BufferObject bufferObject(Context context, int buffer) {
+        if (buffer == 0)
+            return null;
+        BufferObject bo = context.shareGroup.bufferObjects.get(buffer);
+        if (bo == null) {
+            bo = new BufferObject(buffer);
+            context.shareGroup.bufferObjects.put(buffer, bo);
+        }
+        return bo;
+    }
+
+    public static void bindBuffer(int target, int buffer) {
+        Context context = currentContext();
+        /* Binding a name creates the buffer object */
+        BufferObject bo = bufferObject(context, buffer);
+        switch (target) {
+        case org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER:
+            context.arrayBufferBinding = bo;
+            break;
+        case org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER:
+            if (context.currentVao != null)
+                context.currentVao.elementArrayBufferBinding = bo;
+            break;
+        default:
+            if (bo != null)
+                context.bufferObjectBindings.put(target, bo);
+            else
+                context.bufferObjectBindings.remove(target);
+            break;
+        }
+    }
+
+    public static void vertexArrayElementBuffer(int vaobj, int buffer) {
+        Context context = currentContext();
+        VAO vao = context.vaos.get(vaobj);
+        if (vao == null)
+            return;
+        vao.elementArrayBufferBinding = bufferObject(context, buffer);
+    }
+
+    public static void genBuffer(int buffer) {
+        bufferObject(currentContext(), buffer);
+    }
+
+    public static void genBuffers(IntBuffer buffers) {
+        Context context = currentContext();
+        int pos = buffers.position();
+        for (int i = 0; i < buffers.remaining(); i++) {
+            bufferObject(context, buffers.get(pos + i));
+        }
+    }
+
+    public static void genBuffers(int[] buffers) {
+        Context context = currentContext();
+        for (int i = 0; i < buffers.length; i++) {
+            bufferObject(context, buffers[i]);
+        }
+    }
+
+    public static void deleteBuffer(int buffer) {
+        if (buffer == 0)
+            return;
+        Context context = currentContext();
+        BufferObject bo = context.shareGroup.bufferObjects.remove(buffer);
+        if (bo == null)
+            return;
+        if (Properties.GPU_MEMORY.enabled)
+            GpuMemory.bufferDeleted(context.shareGroup, bo);
+        /* Deleting a buffer object reverts the bindings of the current context to zero */
+        if (context.arrayBufferBinding == bo)
+            context.arrayBufferBinding = null;
+        if (context.currentVao != null && context.currentVao.elementArrayBufferBinding == bo)
+            context.currentVao.elementArrayBufferBinding = null;
+        context.bufferObjectBindings.removeValue(bo);
+    }
+
+    public static void deleteBuffers(IntBuffer buffers) {
+        int pos = buffers.position();
+        for (int i = 0; i < buffers.remaining(); i++) {
+            deleteBuffer(buffers.get(pos + i));
+        }
+    }
+
+    public static void deleteBuffers(int[] buffers) {
+        for (int i = 0; i < buffers.length; i++) {
+            deleteBuffer(buffers[i]);
+        }
+    }
+
+    /**
+     * Return the buffer object bound to the given target or <code>null</code> if none is bound or the binding is not tracked.
+     */
+    public BufferObject bufferBinding(int target) {
+        switch (target) {
+        case org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER:
+            return arrayBufferBinding;
+        case org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER:
+            return currentVao != null ? currentVao.elementArrayBufferBinding : null;
+        default:
+            return bufferObjectBindings.get(target);
+        }
+    }
+
+    /**
+     * Whether the buffer objects of the share groups are tracked, which both validation and the GPU memory tracking need.
+     */
+    public static boolean tracksBuffers() {
+        return Properties.VALIDATE.enabled || Properties.GPU_MEMORY.enabled;
+    }
+
+    private static int bufferBindingQuery(int target) {
+        switch (target) {
+        case org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER:
+            return org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER:
+            return org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL21.GL_PIXEL_PACK_BUFFER:
+            return org.lwjgl.opengl.GL21.GL_PIXEL_PACK_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL21.GL_PIXEL_UNPACK_BUFFER:
+            return org.lwjgl.opengl.GL21.GL_PIXEL_UNPACK_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL30.GL_TRANSFORM_FEEDBACK_BUFFER:
+            return org.lwjgl.opengl.GL30.GL_TRANSFORM_FEEDBACK_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER:
+            return org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL31.GL_COPY_READ_BUFFER:
+            return org.lwjgl.opengl.GL42.GL_COPY_READ_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL31.GL_COPY_WRITE_BUFFER:
+            return org.lwjgl.opengl.GL42.GL_COPY_WRITE_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL40.GL_DRAW_INDIRECT_BUFFER:
+            return org.lwjgl.opengl.GL40.GL_DRAW_INDIRECT_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL42.GL_ATOMIC_COUNTER_BUFFER:
+            return org.lwjgl.opengl.GL42.GL_ATOMIC_COUNTER_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL43.GL_DISPATCH_INDIRECT_BUFFER:
+            return org.lwjgl.opengl.GL43.GL_DISPATCH_INDIRECT_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL43.GL_SHADER_STORAGE_BUFFER:
+            return org.lwjgl.opengl.GL43.GL_SHADER_STORAGE_BUFFER_BINDING;
+        case org.lwjgl.opengl.GL44.GL_QUERY_BUFFER:
+            return org.lwjgl.opengl.GL44.GL_QUERY_BUFFER_BINDING;
+        default:
+            /* GL_TEXTURE_BUFFER doubles as the query for its binding */
+            return target;
+        }
+    }
+
+    /**
+     * Return the buffer object bound to the given target, which is queried from the driver when validation does not track the bindings.
+     */
+    private static BufferObject boundBuffer(Context context, int target) {
+        if (Properties.VALIDATE.enabled)
+            return context.bufferBinding(target);
+        return bufferObject(context, org.lwjgl.opengl.GL11.glGetInteger(bufferBindingQuery(target)));
+    }
+
+    private static void setBufferStorage(Context context, BufferObject bo, long size, int usage, int flags, boolean immutable) {
+        if (Properties.VALIDATE.enabled && bo.immutable) {
+            RT.throwISEOrLogError("Trying to respecify the immutable storage of buffer object [" + bo.handle + "]");
+        }
+        if (Properties.GPU_MEMORY.enabled)
+            GpuMemory.bufferResized(context.shareGroup, bo.size, size);
+        bo.size = size;
+        bo.usage = usage;
+        bo.storageFlags = flags;
+        bo.immutable = immutable;
+        bo.indexRanges = null;
+        context.shareGroup.bufferGeneration++;
+    }
+
+    public static void bufferData(int target, long size, int usage) {
+        Context context = currentContext();
+        BufferObject bo = boundBuffer(context, target);
+        if (bo != null)
+            setBufferStorage(context, bo, size, usage, 0, false);
+    }
+
+    public static void bufferStorage(int target, long size, int flags) {
+        Context context = currentContext();
+        BufferObject bo = boundBuffer(context, target);
+        if (bo != null)
+            setBufferStorage(context, bo, size, 0, flags, true);
+    }
+
+    public static void namedBufferData(int buffer, long size, int usage) {
+        Context context = currentContext();
+        BufferObject bo = bufferObject(context, buffer);
+        if (bo != null)
+            setBufferStorage(context, bo, size, usage, 0, false);
+    }
+
+    public static void namedBufferStorage(int buffer, long size, int flags) {
+        Context context = currentContext();
+        BufferObject bo = bufferObject(context, buffer);
+        if (bo != null)
+            setBufferStorage(context, bo, size, 0, flags, true);
+    }
+
+    /*
+     * The following checks only use the sizes recorded by the wrappers of glBufferData/glBufferStorage, so they never query the driver.
+     * Buffer objects whose storage is not known, because it was specified before the agent was attached, are not checked.
+     */
+
+    private static void checkBufferRange(String function, BufferObject bo, long offset, long length) {
+        if (bo == null || !bo.hasStorage())
+            return;
+        if (offset < 0L || length < 0L || length > bo.size - offset) {
+            RT.throwISEOrLogError(function + " called with range [" + offset + ", " + (offset + length) + ") outside of the " + bo.size + " bytes of buffer object [" + bo.handle + "]");
+        }
+    }
+
+    private static void checkBufferSubData(String function, BufferObject bo, long offset, long size) {
+        checkBufferRange(function, bo, offset, size);
+        if (bo != null && bo.immutable && (bo.storageFlags & org.lwjgl.opengl.GL44.GL_DYNAMIC_STORAGE_BIT) == 0) {
+            RT.throwISEOrLogError(function + " called for buffer object [" + bo.handle + "] whose immutable storage was created without GL_DYNAMIC_STORAGE_BIT");
+        }
+    }
+
+    private static void checkMapBufferRange(String function, BufferObject bo, long offset, long length, int access) {
+        if (length == 0L) {
+            RT.throwISEOrLogError(function + " called with zero length");
+        }
+        checkBufferRange(function, bo, offset, length);
+        int storageAccess = org.lwjgl.opengl.GL30.GL_MAP_READ_BIT | org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT | org.lwjgl.opengl.GL44.GL_MAP_PERSISTENT_BIT
+                | org.lwjgl.opengl.GL44.GL_MAP_COHERENT_BIT;
+        if (bo != null && bo.immutable && (access & storageAccess & ~bo.storageFlags) != 0) {
+            RT.throwISEOrLogError(function + " called with access bits [0x" + Integer.toHexString(access & storageAccess & ~bo.storageFlags).toUpperCase()
+                    + "] that the immutable storage of buffer object [" + bo.handle + "] was not created with");
+        }
+    }
+
+    private static void checkCopyBufferSubData(String function, BufferObject read, BufferObject write, long readOffset, long writeOffset, long size) {
+        checkBufferRange(function, read, readOffset, size);
+        checkBufferRange(function, write, writeOffset, size);
+        if (read != null && read == write && readOffset < writeOffset + size && writeOffset < readOffset + size) {
+            RT.throwISEOrLogError(function + " called with overlapping source and destination ranges in buffer object [" + read.handle + "]");
+        }
+    }
+
+    private static void bufferContentsChanged(BufferObject bo) {
+        if (bo != null)
+            bo.indexRanges = null;
+    }
+
+    public static void bufferSubData(String function, int target, long offset, long size) {
+        BufferObject bo = currentContext().bufferBinding(target);
+        checkBufferSubData(function, bo, offset, size);
+        bufferContentsChanged(bo);
+    }
+
+    public static void namedBufferSubData(String function, int buffer, long offset, long size) {
+        BufferObject bo = currentContext().shareGroup.bufferObjects.get(buffer);
+        checkBufferSubData(function, bo, offset, size);
+        bufferContentsChanged(bo);
+    }
+
+    public static void getBufferSubData(String function, int target, long offset, long size) {
+        checkBufferRange(function, currentContext().bufferBinding(target), offset, size);
+    }
+
+    public static void getNamedBufferSubData(String function, int buffer, long offset, long size) {
+        checkBufferRange(function, currentContext().shareGroup.bufferObjects.get(buffer), offset, size);
+    }
+
+    public static void mapBufferRange(String function, int target, long offset, long length, int access) {
+        checkMapBufferRange(function, currentContext().bufferBinding(target), offset, length, access);
+    }
+
+    public static void mapNamedBufferRange(String function, int buffer, long offset, long length, int access) {
+        checkMapBufferRange(function, currentContext().shareGroup.bufferObjects.get(buffer), offset, length, access);
+    }
+
+    public static void copyBufferSubData(String function, int readTarget, int writeTarget, long readOffset, long writeOffset, long size) {
+        Context context = currentContext();
+        BufferObject write = context.bufferBinding(writeTarget);
+        checkCopyBufferSubData(function, context.bufferBinding(readTarget), write, readOffset, writeOffset, size);
+        bufferContentsChanged(write);
+    }
+
+    public static void copyNamedBufferSubData(String function, int readBuffer, int writeBuffer, long readOffset, long writeOffset, long size) {
+        IntMap<BufferObject> bufferObjects = currentContext().shareGroup.bufferObjects;
+        BufferObject write = bufferObjects.get(writeBuffer);
+        checkCopyBufferSubData(function, bufferObjects.get(readBuffer), write, readOffset, writeOffset, size);
+        bufferContentsChanged(write);
+    }
+
+    /* Writes through a mapping become visible when the buffer object is unmapped */
+
+    public static void unmapBuffer(int target) {
+        bufferContentsChanged(currentContext().bufferBinding(target));
+    }
+
+    public static void unmapNamedBuffer(int buffer) {
+        bufferContentsChanged(currentContext().shareGroup.bufferObjects.get(buffer));
+    }
+
+    public static void bindBufferRange(String function, int buffer, long offset, long size) {
+        if (buffer == 0)
+            return;
+        if (size <= 0L) {
+            RT.throwISEOrLogError(function + " called with non-positive size [" + size + "]");
+        }
+        checkBufferRange(function, currentContext().shareGroup.bufferObjects.get(buffer), offset, size);
+    }
+
+    public static void vertexAttribPointer(int index, int size, int type, int stride, long pointer) {
+        Context context = currentContext();
+        /* Without a GL_ARRAY_BUFFER binding the pointer is a client memory address */
+        context.currentVao.vertexAttribPointer(index, size, type, stride, context.arrayBufferBinding, pointer);
+    }
+
+    public static void clientVertexAttribPointer(int index, int size, int type, int stride) {
+        /* Client memory cannot be checked, because its size is not known */
+        currentContext().currentVao.vertexAttribPointer(index, size, type, stride, null, 0L);
+    }
+
+    public static void vertexAttribDivisor(int index, int divisor) {
+        VAO vao = currentContext().currentVao;
+        vao.vertexAttribBinding(index, index);
+        vao.vertexBindingDivisor(index, divisor);
+    }
+
+    public static void vertexAttribFormat(int attribindex, int size, int type, int relativeoffset) {
+        currentContext().currentVao.vertexAttribFormat(attribindex, size, type, relativeoffset);
+    }
+
+    public static void vertexAttribBinding(int attribindex, int bindingindex) {
+        currentContext().currentVao.vertexAttribBinding(attribindex, bindingindex);
+    }
+
+    public static void bindVertexBuffer(int bindingindex, int buffer, long offset, int stride) {
+        Context context = currentContext();
+        context.currentVao.bindVertexBuffer(bindingindex, bufferObject(context, buffer), offset, stride);
+    }
+
+    public static void vertexBindingDivisor(int bindingindex, int divisor) {
+        currentContext().currentVao.vertexBindingDivisor(bindingindex, divisor);
+    }
+
+    public static void vertexArrayAttribFormat(int vaobj, int attribindex, int size, int type, int relativeoffset) {
+        VAO vao = currentContext().vaos.get(vaobj);
+        if (vao != null)
+            vao.vertexAttribFormat(attribindex, size, type, relativeoffset);
+    }
+
+    public static void vertexArrayAttribBinding(int vaobj, int attribindex, int bindingindex) {
+        VAO vao = currentContext().vaos.get(vaobj);
+        if (vao != null)
+            vao.vertexAttribBinding(attribindex, bindingindex);
+    }
+
+    public static void vertexArrayVertexBuffer(int vaobj, int bindingindex, int buffer, long offset, int stride) {
+        Context context = currentContext();
+        VAO vao = context.vaos.get(vaobj);
+        if (vao != null)
+            vao.bindVertexBuffer(bindingindex, bufferObject(context, buffer), offset, stride);
+    }
+
+    public static void vertexArrayBindingDivisor(int vaobj, int bindingindex, int divisor) {
+        VAO vao = currentContext().vaos.get(vaobj);
+        if (vao != null)
+            vao.vertexBindingDivisor(bindingindex, divisor);
+    }
+
+    public static int arrayBufferBinding() {
+        Context context = currentContext();
+        BufferObject bo = context.arrayBufferBinding;
+        int vbo = bo != null ? bo.handle : 0;
+        if (Properties.CROSSCHECK.enabled) {
+            return crosscheck("GL_ARRAY_BUFFER_BINDING", org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING, vbo);
+        }
+        return vbo;
+    }
+
+    public static int elementArrayBufferBinding() {
+        Context context = currentContext();
+        VAO vao = context.currentVao;
+        if (vao == null) {
+            /* VAO not known to us, so we cannot know its bindings either */
+            return org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+        }
+        BufferObject bo = vao.elementArrayBufferBinding;
+        int ibo = bo != null ? bo.handle : 0;
+        if (Properties.CROSSCHECK.enabled) {
+            return crosscheck("GL_ELEMENT_ARRAY_BUFFER_BINDING", org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING, ibo);
+        }
+        return ibo;
+    }
+
+    private static int crosscheck(String name, int pname, int shadow) {
+        int actual = org.lwjgl.opengl.GL11.glGetInteger(pname);
+        if (actual != shadow) {
+            RT.throwISEOrLogError("Tracked " + name + " [" + shadow + "] does not match the actual driver state [" + actual + "]");
+        }
+        return actual;
+    }
+
+    /* The targets a texture unit has bindings for */
+    private static final int[] TEXTURE_TARGETS = { org.lwjgl.opengl.GL11.GL_TEXTURE_1D, org.lwjgl.opengl.GL11.GL_TEXTURE_2D, org.lwjgl.opengl.GL12.GL_TEXTURE_3D,
+            org.lwjgl.opengl.GL30.GL_TEXTURE_1D_ARRAY, org.lwjgl.opengl.GL30.GL_TEXTURE_2D_ARRAY, org.lwjgl.opengl.GL31.GL_TEXTURE_RECTANGLE,
+            org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP, org.lwjgl.opengl.GL40.GL_TEXTURE_CUBE_MAP_ARRAY, org.lwjgl.opengl.GL32.GL_TEXTURE_2D_MULTISAMPLE,
+            org.lwjgl.opengl.GL32.GL_TEXTURE_2D_MULTISAMPLE_ARRAY };
+
+    /* IntMap cannot hold null, so this marks a target that is known to have no texture bound */
+    private static final TextureObject NO_TEXTURE = new TextureObject(0);
+
+    public static TextureObject textureObject(Context context, int texture) {
+        if (texture == 0)
+            return null;
+        TextureObject to = context.shareGroup.textureObjects.get(texture);
+        if (to == null) {
+            to = new TextureObject(texture);
+            context.shareGroup.textureObjects.put(texture, to);
+        }
+        return to;
+    }
+
+    public static void activeTexture(int texture) {
+        currentContext().activeTextureUnit = texture - org.lwjgl.opengl.GL13.GL_TEXTURE0;
+    }
+
+    private int activeTextureUnit() {
+        if (activeTextureUnit < 0)
+            activeTextureUnit = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL13.GL_ACTIVE_TEXTURE) - org.lwjgl.opengl.GL13.GL_TEXTURE0;
+        return activeTextureUnit;
+    }
+
+    private void bindTexture(int unit, int target, TextureObject to) {
+        if (to != null && to.target == 0)
+            to.target = target;
+        textureObjectBindings.put(unit << 16 | target, to != null ? to : NO_TEXTURE);
+    }
+
+    public static void bindTexture(int target, int texture) {
+        Context context = currentContext();
+        context.bindTexture(context.activeTextureUnit(), target, textureObject(context, texture));
+    }
+
+    public static void bindMultiTexture(int texunit, int target, int texture) {
+        Context context = currentContext();
+        context.bindTexture(texunit - org.lwjgl.opengl.GL13.GL_TEXTURE0, target, textureObject(context, texture));
+    }
+
+    /**
+     * Track a texture bound to a unit without naming the target, which binds it to its own target or unbinds all targets for texture 0.
+     */
+    public static void bindTextureUnit(int unit, int texture) {
+        Context context = currentContext();
+        TextureObject to = textureObject(context, texture);
+        for (int target : TEXTURE_TARGETS) {
+            if (to == null)
+                context.textureObjectBindings.put(unit << 16 | target, NO_TEXTURE);
+            else if (to.target == target)
+                context.textureObjectBindings.put(unit << 16 | target, to);
+            else if (to.target == 0)
+                /* The target of the texture is not known, so neither is which binding it replaced */
+                context.textureObjectBindings.remove(unit << 16 | target);
+        }
+    }
+
+    public static void bindTextures(int first, IntBuffer textures) {
+        if (textures == null)
+            return;
+        int pos = textures.position();
+        for (int i = 0; i < textures.remaining(); i++)
+            bindTextureUnit(first + i, textures.get(pos + i));
+    }
+
+    public static void bindTextures(int first, int[] textures) {
+        if (textures == null)
+            return;
+        for (int i = 0; i < textures.length; i++)
+            bindTextureUnit(first + i, textures[i]);
+    }
+
+    /**
+     * Return the texture bound to the given target of the active texture unit, which is queried from the driver via the given query when it is
+     * not known yet.
+     */
+    public TextureObject textureBinding(int target, int query) {
+        int key = activeTextureUnit() << 16 | target;
+        TextureObject to = textureObjectBindings.get(key);
+        if (to == null) {
+            to = textureObject(this, org.lwjgl.opengl.GL11.glGetInteger(query));
+            bindTexture(activeTextureUnit, target, to);
+        }
+        return to != NO_TEXTURE ? to : null;
+    }
+
+    public static void bindRenderbuffer(int renderbuffer) {
+        currentContext().renderbufferBinding = renderbuffer;
+    }
+
+    /**
+     * Return the bound renderbuffer, which is queried from the driver when it is not known yet.
+     */
+    public int renderbufferBinding() {
+        if (renderbufferBinding < 0)
+            renderbufferBinding = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL30.GL_RENDERBUFFER_BINDING);
+        return renderbufferBinding;
+    }
+
+    public static void bindFramebuffer(int target, int framebuffer) {
+        Context ctx = currentContext();
+        FBO fbo = ctx.fbos.get(framebuffer);
+        if (fbo == null && ctx.adopted) {
+            /* Created before attaching, and its completeness will be queried when drawing */
+            fbo = ctx.adoptFramebuffer(framebuffer);
+        }
+        if (fbo == null && ctx.shareGroup != null) {
+            for (Context c : ctx.shareGroup.contexts) {
+                if (c.fbos.containsKey(framebuffer)) {
+                    RT.throwISEOrLogError("Trying to bind unknown FBO [" + framebuffer + "] from shared context [" + c.counter + "]");
+                }
+            }
+        }
+        if (target != org.lwjgl.opengl.GL30.GL_READ_FRAMEBUFFER)
+            ctx.currentFbo = fbo;
+        if (target != org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER)
+            ctx.currentReadFbo = fbo;
+    }
+
+    public static void deleteFramebuffer(int framebuffer) {
+        if (framebuffer == 0)
+            return;
+        Context context = currentContext();
+        FBO fbo = context.fbos.get(framebuffer);
+        if (fbo != null && fbo == context.currentFbo) {
+            context.currentFbo = context.defaultFbo;
+        }
+        if (fbo != null && fbo == context.currentReadFbo) {
+            context.currentReadFbo = context.defaultFbo;
+        }
+        context.fbos.remove(framebuffer);
+    }
+
+    public static void deleteFramebuffers(IntBuffer framebuffers) {
+        int pos = framebuffers.position();
+        for (int i = 0; i < framebuffers.remaining(); i++) {
+            deleteFramebuffer(framebuffers.get(pos + i));
+        }
+    }
+
+    public static void deleteFramebuffers(int[] framebuffers) {
+        for (int i = 0; i < framebuffers.length; i++) {
+            deleteFramebuffer(framebuffers[i]);
+        }
+    }
+
+    public static void framebufferChanged(int target) {
+        Context context = currentContext();
+        if (target != org.lwjgl.opengl.GL30.GL_READ_FRAMEBUFFER && context.currentFbo != null)
+            context.currentFbo.status = 0;
+        if (target != org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER && context.currentReadFbo != null)
+            context.currentReadFbo.status = 0;
+    }
+
+    public static void namedFramebufferChanged(int framebuffer) {
+        Context context = currentContext();
+        FBO fbo = context.fbos.get(framebuffer);
+        if (fbo != null)
+            fbo.status = 0;
+    }
+
+    public static void storageChanged() {
+        Context context = CURRENT_CONTEXT.get();
+        if (context != null && context.shareGroup != null)
+            context.shareGroup.storageGeneration++;
+    }
+
+    public static void buffersWritten() {
+        Context context = CURRENT_CONTEXT.get();
+        if (context != null && context.shareGroup != null)
+            context.shareGroup.contentsGeneration++;
+    }
+
     public static void checkBeforeDrawCall() {
         checkFramebufferCompleteness();
         checkVertexAttributes();
     }
 
     public static void checkVertexAttributes() {
-        Context context = currentContext();
-        VAO vao = context.currentVao;
-        for (int i = 0; i < vao.enabledVertexArrays.length; i++) {
-            if (vao.enabledVertexArrays[i] && !vao.initializedVertexArrays[i]) {
+        checkVertexAttributes(currentContext().currentVao);
+    }
+
+    public static void checkVertexAttributes(VAO vao) {
+        long[] enabled = vao.enabledVertexArrays;
+        long[] initialized = vao.initializedVertexArrays;
+        for (int w = 0; w < enabled.length; w++) {
+            long uninitialized = enabled[w] & ~initialized[w];
+            /* Only determine the individual arrays when there is any error at all */
+            while (uninitialized != 0L) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(uninitialized);
                 RT.throwISEOrLogError("Vertex array [" + i + "] enabled but not initialized");
+                uninitialized &= uninitialized - 1L;
             }
         }
-        if (vao.vertexArrayEnabled && !vao.vertexArrayInitialized) {
-            RT.throwISEOrLogError("GL_VERTEX_ARRAY enabled but not initialized");
+        int uninitializedClientStates = vao.enabledClientStates & ~vao.initializedClientStates;
+        if (uninitializedClientStates != 0) {
+            if ((uninitializedClientStates & VAO.VERTEX_ARRAY) != 0) {
+                RT.throwISEOrLogError("GL_VERTEX_ARRAY enabled but not initialized");
+            }
+            if ((uninitializedClientStates & VAO.NORMAL_ARRAY) != 0) {
+                RT.throwISEOrLogError("GL_NORMAL_ARRAY enabled but not initialized");
+            }
+            if ((uninitializedClientStates & VAO.COLOR_ARRAY) != 0) {
+                RT.throwISEOrLogError("GL_COLOR_ARRAY enabled but not initialized");
+            }
+            if ((uninitializedClientStates & VAO.TEXTURE_COORD_ARRAY) != 0) {
+                RT.throwISEOrLogError("GL_TEXTURE_COORD_ARRAY enabled but not initialized");
+            }
+        }
+    }
+
+    /**
+     * Check that a draw call does not fetch vertices or instances beyond the end of the buffer objects of the enabled vertex arrays.
+     * <p>
+     * The limits are cached in the VAO, so this is a constant-time comparison unless the layout or the storage of any buffer object changed.
+     */
+    public static void checkVertexFetch(String function, long first, long count, int baseInstance, int instanceCount) {
+        VAO vao = vaoWithFetchLimits(currentContext());
+        if (vao == null)
+            return;
+        if (count > 0L && (first < 0L || first + count > vao.maxVertices)) {
+            int i = vao.maxVerticesAttrib;
+            RT.throwISEOrLogError(function + " fetches vertices [" + first + ".." + (first + count - 1) + "] but vertex array [" + i + "] only holds " + vao.maxVertices
+                    + " vertices in buffer object [" + vao.bindingBuffers[vao.attribBindings[i]].handle + "]");
+        }
+        if (instanceCount <= 0 || vao.maxInstances == Long.MAX_VALUE)
+            return;
+        if (baseInstance == 0) {
+            if (instanceCount > vao.maxInstances) {
+                int i = vao.maxInstancesAttrib;
+                RT.throwISEOrLogError(function + " draws " + instanceCount + " instances but instanced vertex array [" + i + "] only holds data for " + vao.maxInstances
+                        + " instances in buffer object [" + vao.bindingBuffers[vao.attribBindings[i]].handle + "]");
+            }
+            return;
+        }
+        /* The base instance offsets every instanced array by a different number of instances, depending on its divisor */
+        for (int i = 0; i < vao.maxVertexAttribs; i++) {
+            int divisor = vao.bindingDivisors[vao.attribBindings[i]];
+            if (divisor == 0 || (vao.enabledVertexArrays[i >>> 6] & vao.initializedVertexArrays[i >>> 6] & 1L << i) == 0L)
+                continue;
+            long elements = vao.fetchableElements(i);
+            long needed = baseInstance + (instanceCount - 1L) / divisor + 1L;
+            if (elements >= 0L && needed > elements) {
+                RT.throwISEOrLogError(function + " fetches instanced elements up to [" + (needed - 1) + "] but instanced vertex array [" + i + "] only holds " + elements
+                        + " elements in buffer object [" + vao.bindingBuffers[vao.attribBindings[i]].handle + "]");
+            }
+        }
+    }
+
+    private static VAO vaoWithFetchLimits(Context context) {
+        VAO vao = context.currentVao;
+        if (vao == null)
+            return null;
+        int bufferGeneration = context.shareGroup.bufferGeneration;
+        if (!vao.fetchLimitsValid || vao.fetchLimitsBufferGeneration != bufferGeneration)
+            vao.updateFetchLimits(bufferGeneration);
+        return vao;
+    }
+
+    /**
+     * Check that the indices of an element draw call do not fetch vertices beyond the end of the buffer objects of the enabled vertex arrays.
+     * <p>
+     * The indices are either read from client memory at the given address or, when an element array buffer object is bound, from the given offset
+     * into it. Index ranges of buffer objects are cached until the contents of the buffer object change, so steady-state draws do not read back or
+     * scan anything. Because the GPU can also write to buffer objects, a cached range that exceeds the vertex arrays is scanned again before reporting.
+     */
+    public static void checkElementFetch(String function, int count, int type, long indices, int basevertex, int baseInstance, int instanceCount) {
+        Context context = currentContext();
+        VAO vao = vaoWithFetchLimits(context);
+        if (vao == null)
+            return;
+        IndexRange range = null;
+        /* Scanning is pointless when no enabled vertex array limits the number of vertices */
+        if (count > 0 && vao.maxVertices != Long.MAX_VALUE) {
+            BufferObject bo = vao.elementArrayBufferBinding;
+            range = context.indexRange(function, bo, count, type, indices, false);
+            if (range != null && (basevertex + range.max >= vao.maxVertices || basevertex + range.min < 0L))
+                range = context.indexRange(function, bo, count, type, indices, true);
         }
-        if (vao.normalArrayEnabled && !vao.normalArrayInitialized) {
-            RT.throwISEOrLogError("GL_NORMAL_ARRAY enabled but not initialized");
+        if (range != null && range.max >= range.min)
+            checkVertexFetch(function, basevertex + range.min, range.max - range.min + 1L, baseInstance, instanceCount);
+        else
+            checkVertexFetch(function, 0L, 0L, baseInstance, instanceCount);
+    }
+
+    public static void checkElementFetch(String function, int type, java.nio.ByteBuffer indices, int basevertex, int baseInstance, int instanceCount) {
+        int shift = IndexRange.shift(type);
+        int count = shift < 0 ? 0 : indices.remaining() >> shift;
+        checkElementFetch(function, count, type, org.lwjgl.system.MemoryUtil.memAddress(indices), basevertex, baseInstance, instanceCount);
+    }
+
+    public static void checkElementFetch(String function, java.nio.ShortBuffer indices, int basevertex, int baseInstance, int instanceCount) {
+        checkElementFetch(function, indices.remaining(), org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT, org.lwjgl.system.MemoryUtil.memAddress(indices), basevertex, baseInstance,
+                instanceCount);
+    }
+
+    public static void checkElementFetch(String function, IntBuffer indices, int basevertex, int baseInstance, int instanceCount) {
+        checkElementFetch(function, indices.remaining(), org.lwjgl.opengl.GL11.GL_UNSIGNED_INT, org.lwjgl.system.MemoryUtil.memAddress(indices), basevertex, baseInstance,
+                instanceCount);
+    }
+
+    /* More distinct ranges than this per buffer object are most likely generated on the fly, so the cached ones are dropped */
+    private static final int MAX_INDEX_RANGES = 1024;
+
+    private IndexRange indexRange(String function, BufferObject bo, int count, int type, long indices, boolean rescan) {
+        int shift = IndexRange.shift(type);
+        if (shift < 0)
+            return null;
+        if (bo == null) {
+            /* Client memory is scanned on every draw, since writes to it cannot be tracked */
+            if (RT.isInvalidPointer(indices))
+                return null;
+            IndexRange range = IndexRange.scan(indices, count, type);
+            if (rescan)
+                range.excludeRestartIndex(indices, restartIndex(type));
+            return range;
         }
-        if (vao.colorArrayEnabled && !vao.colorArrayInitialized) {
-            RT.throwISEOrLogError("GL_COLOR_ARRAY enabled but not initialized");
+        /* Persistently mapped buffer objects are written without any call we could track */
+        if (!bo.hasStorage() || (bo.storageFlags & org.lwjgl.opengl.GL44.GL_MAP_PERSISTENT_BIT) != 0)
+            return null;
+        long bytes = (long) count << shift;
+        if (indices < 0L || bytes > bo.size - indices) {
+            RT.throwISEOrLogError(function + " reads indices [" + indices + ", " + (indices + bytes) + ") outside of the " + bo.size
+                    + " bytes of element array buffer object [" + bo.handle + "]");
+            return null;
         }
-        if (vao.texCoordArrayEnabled && !vao.texCoordArrayInitialized) {
-            RT.throwISEOrLogError("GL_TEXTURE_COORD_ARRAY enabled but not initialized");
+        Map<IndexRange, IndexRange> ranges = bo.indexRanges;
+        if (ranges == null || bo.indexRangesGeneration != shareGroup.contentsGeneration || ranges.size() >= MAX_INDEX_RANGES) {
+            ranges = bo.indexRanges = new HashMap<IndexRange, IndexRange>();
+            bo.indexRangesGeneration = shareGroup.contentsGeneration;
         }
+        indexRangeKey.offset = indices;
+        indexRangeKey.count = count;
+        indexRangeKey.type = type;
+        IndexRange range = ranges.get(indexRangeKey);
+        if (!rescan && range != null)
+            return range;
+        if (bytes > Integer.MAX_VALUE)
+            return null;
+        if (indexReadback == null || indexReadback.capacity() < bytes)
+            indexReadback = ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE, Math.max(bytes, indexReadback != null ? 2L * indexReadback.capacity() : 4096L)));
+        long address = org.lwjgl.system.MemoryUtil.memAddress(indexReadback);
+        org.lwjgl.opengl.GL15.nglGetBufferSubData(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER, indices, bytes, address);
+        range = IndexRange.scan(address, count, type);
+        if (rescan)
+            range.excludeRestartIndex(address, restartIndex(type));
+        range.offset = indices;
+        ranges.put(range, range);
+        return range;
+    }
+
+    private void queryPrimitiveRestart() {
+        org.lwjgl.opengl.GLCapabilities caps = org.lwjgl.opengl.GL.getCapabilities();
+        primitiveRestartFixedIndex = caps.OpenGL43 && org.lwjgl.opengl.GL11.glIsEnabled(org.lwjgl.opengl.GL43.GL_PRIMITIVE_RESTART_FIXED_INDEX);
+        primitiveRestart = caps.OpenGL31 && org.lwjgl.opengl.GL11.glIsEnabled(org.lwjgl.opengl.GL31.GL_PRIMITIVE_RESTART);
+        primitiveRestartIndex = caps.OpenGL31 ? org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL31.GL_PRIMITIVE_RESTART_INDEX) : 0;
+        primitiveRestartKnown = true;
+    }
+
+    private long restartIndex(int type) {
+        if (!primitiveRestartKnown)
+            queryPrimitiveRestart();
+        if (primitiveRestartFixedIndex)
+            return (1L << (8 << IndexRange.shift(type))) - 1L;
+        if (primitiveRestart)
+            return primitiveRestartIndex & 0xFFFFFFFFL;
+        return -1L;
+    }
+
+    public static void enable(int cap, boolean enabled) {
+        if (cap != org.lwjgl.opengl.GL31.GL_PRIMITIVE_RESTART && cap != org.lwjgl.opengl.GL43.GL_PRIMITIVE_RESTART_FIXED_INDEX)
+            return;
+        Context context = currentContext();
+        if (!context.primitiveRestartKnown)
+            context.queryPrimitiveRestart();
+        if (cap == org.lwjgl.opengl.GL31.GL_PRIMITIVE_RESTART)
+            context.primitiveRestart = enabled;
+        else
+            context.primitiveRestartFixedIndex = enabled;
+    }
+
+    public static void primitiveRestartIndex(int index) {
+        Context context = currentContext();
+        if (!context.primitiveRestartKnown)
+            context.queryPrimitiveRestart();
+        context.primitiveRestartIndex = index;
     }
 
     public static void checkFramebufferCompleteness() {
         if (Properties.VALIDATE.enabled) {
             Context context = currentContext();
-            if (context.currentFbo != null) {
-                /* Check framebuffer status */
-                int status = org.lwjgl.opengl.GL30.glCheckFramebufferStatus(org.lwjgl.opengl.GL30.GL_FRAMEBUFFER);
-                if (status != org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE) {
-                    RT.throwISEOrLogError("Framebuffer [" + context.currentFbo.handle + "] is not complete: " + status);
+            FBO fbo = context.currentFbo;
+            if (fbo != null) {
+                /* Only ask the driver again when the attachments or their storage might have changed */
+                int storageGeneration = context.shareGroup.storageGeneration;
+                if (fbo.status == 0 || fbo.storageGeneration != storageGeneration) {
+                    fbo.status = org.lwjgl.opengl.GL30.glCheckFramebufferStatus(org.lwjgl.opengl.GL30.GL_FRAMEBUFFER);
+                    fbo.storageGeneration = storageGeneration;
+                } else if (Properties.CROSSCHECK.enabled) {
+                    int status = org.lwjgl.opengl.GL30.glCheckFramebufferStatus(org.lwjgl.opengl.GL30.GL_FRAMEBUFFER);
+                    if (status != fbo.status) {
+                        RT.throwISEOrLogError("Tracked status of framebuffer [" + fbo.handle + "] [" + fbo.status + "] does not match the actual driver state [" + status + "]");
+                    }
+                    fbo.status = status;
+                }
+                if (fbo.status != org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE) {
+                    RT.throwISEOrLogError("Framebuffer [" + fbo.handle + "] is not complete: " + fbo.status);
                 }
             }
         }
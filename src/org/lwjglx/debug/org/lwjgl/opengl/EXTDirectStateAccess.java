@@ -33,6 +33,13 @@ import org.lwjglx.debug.*;
 
 public class EXTDirectStateAccess {
 
+    public static void glBindMultiTextureEXT(int texunit, int target, int texture) {
+        if (Properties.GPU_MEMORY.enabled) {
+            Context.bindMultiTexture(texunit, target, texture);
+        }
+        org.lwjgl.opengl.EXTDirectStateAccess.glBindMultiTextureEXT(texunit, target, texture);
+    }
+
     private static void glMultiTexImage1DEXT_trace(int texunit, int target, int level, int internalformat, int width, int border, int format, int type, Buffer pixels, MethodCall mc) {
         mc.paramEnum(GLmetadata._null_().get(texunit));
         mc.paramEnum(GLmetadata.TextureTarget().get(target));
@@ -274,7 +281,7 @@ public class EXTDirectStateAccess {
         org.lwjgl.opengl.EXTDirectStateAccess.glDisableVertexArrayAttribEXT(vaobj, index);
         if (Properties.VALIDATE.enabled) {
             Context context = Context.currentContext();
-            context.vaos.get(vaobj).enabledVertexArrays[index] = false;
+            context.vaos.get(vaobj).enableVertexArray(index, false);
         }
     }
 
@@ -282,7 +289,84 @@ public class EXTDirectStateAccess {
         org.lwjgl.opengl.EXTDirectStateAccess.glDisableVertexArrayAttribEXT(vaobj, index);
         if (Properties.VALIDATE.enabled) {
             Context context = Context.currentContext();
-            context.vaos.get(vaobj).enabledVertexArrays[index] = true;
+            context.vaos.get(vaobj).enableVertexArray(index, true);
+        }
+    }
+
+    public static void glNamedFramebufferTexture1DEXT(int framebuffer, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferTexture1DEXT(framebuffer, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferTexture2DEXT(int framebuffer, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferTexture2DEXT(framebuffer, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferTexture3DEXT(int framebuffer, int attachment, int textarget, int texture, int level, int zoffset) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferTexture3DEXT(framebuffer, attachment, textarget, texture, level, zoffset);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferTextureEXT(int framebuffer, int attachment, int texture, int level) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferTextureEXT(framebuffer, attachment, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferTextureLayerEXT(int framebuffer, int attachment, int texture, int level, int layer) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferTextureLayerEXT(framebuffer, attachment, texture, level, layer);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferTextureFaceEXT(int framebuffer, int attachment, int texture, int level, int face) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferTextureFaceEXT(framebuffer, attachment, texture, level, face);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferRenderbufferEXT(int framebuffer, int attachment, int renderbuffertarget, int renderbuffer) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glNamedFramebufferRenderbufferEXT(framebuffer, attachment, renderbuffertarget, renderbuffer);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glFramebufferDrawBufferEXT(int framebuffer, int mode) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glFramebufferDrawBufferEXT(framebuffer, mode);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glFramebufferDrawBuffersEXT(int framebuffer, IntBuffer bufs) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glFramebufferDrawBuffersEXT(framebuffer, bufs);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glFramebufferDrawBuffersEXT(int framebuffer, int[] bufs) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glFramebufferDrawBuffersEXT(framebuffer, bufs);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glFramebufferReadBufferEXT(int framebuffer, int mode) {
+        org.lwjgl.opengl.EXTDirectStateAccess.glFramebufferReadBufferEXT(framebuffer, mode);
+        if (Properties.VALIDATE.enabled) {
+            Context.namedFramebufferChanged(framebuffer);
         }
     }
 
@@ -14,6 +14,7 @@ public class EXTDrawInstanced {
     public static void glDrawArraysInstancedEXT(int mode, int start, int count, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawArraysInstancedEXT", start, count, 0, primcount);
         }
         org.lwjgl.opengl.EXTDrawInstanced.glDrawArraysInstancedEXT(mode, start, count, primcount);
         RT.draw(count * primcount);
@@ -22,6 +23,7 @@ public class EXTDrawInstanced {
     public static void glDrawElementsInstancedEXT(int mode, int count, int type, long indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedEXT", count, type, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.EXTDrawInstanced.glDrawElementsInstancedEXT(mode, count, type, indices, primcount);
         RT.draw(count * primcount);
@@ -30,6 +32,7 @@ public class EXTDrawInstanced {
     public static void glDrawElementsInstancedEXT(int mode, int type, ByteBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedEXT", type, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.EXTDrawInstanced.glDrawElementsInstancedEXT(mode, type, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -38,6 +41,7 @@ public class EXTDrawInstanced {
     public static void glDrawElementsInstancedEXT(int mode, ByteBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedEXT", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.EXTDrawInstanced.glDrawElementsInstancedEXT(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -46,6 +50,7 @@ public class EXTDrawInstanced {
     public static void glDrawElementsInstancedEXT(int mode, ShortBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedEXT", indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.EXTDrawInstanced.glDrawElementsInstancedEXT(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -54,6 +59,7 @@ public class EXTDrawInstanced {
     public static void glDrawElementsInstancedEXT(int mode, IntBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstancedEXT", indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.EXTDrawInstanced.glDrawElementsInstancedEXT(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -22,7 +22,7 @@
  */
 package org.lwjglx.debug.org.lwjgl.opengl;
 
-import static org.lwjglx.debug.RT.*;
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
 
 import java.nio.IntBuffer;
 
@@ -31,6 +31,13 @@ import org.lwjglx.debug.org.lwjgl.opengl.Context.FBO;
 
 public class EXTFramebufferObject {
 
+    public static void glBindRenderbufferEXT(int target, int renderbuffer) {
+        if (Properties.GPU_MEMORY.enabled) {
+            bindRenderbuffer(renderbuffer);
+        }
+        org.lwjgl.opengl.EXTFramebufferObject.glBindRenderbufferEXT(target, renderbuffer);
+    }
+
     public static void glGenFramebuffersEXT(IntBuffer framebuffers) {
         org.lwjgl.opengl.EXTFramebufferObject.glGenFramebuffersEXT(framebuffers);
         if (Properties.VALIDATE.enabled) {
@@ -68,16 +75,7 @@ public class EXTFramebufferObject {
 
     public static void glBindFramebufferEXT(int target, int framebuffer) {
         if (Properties.VALIDATE.enabled) {
-            Context ctx = Context.currentContext();
-            FBO fbo = ctx.fbos.get(framebuffer);
-            if (fbo == null && ctx.shareGroup != null) {
-                for (Context c : ctx.shareGroup.contexts) {
-                    if (c.fbos.containsKey(framebuffer)) {
-                        throwISEOrLogError("Trying to bind unknown FBO [" + framebuffer + "] from shared context [" + c.counter + "]");
-                    }
-                }
-            }
-            ctx.currentFbo = fbo;
+            bindFramebuffer(target, framebuffer);
         }
         org.lwjgl.opengl.EXTFramebufferObject.glBindFramebufferEXT(target, framebuffer);
     }
@@ -85,49 +83,84 @@ public class EXTFramebufferObject {
     public static void glDeleteFramebuffersEXT(IntBuffer framebuffers) {
         org.lwjgl.opengl.EXTFramebufferObject.glDeleteFramebuffersEXT(framebuffers);
         if (Properties.VALIDATE.enabled) {
-            Context context = Context.currentContext();
-            int pos = framebuffers.position();
-            for (int i = 0; i < framebuffers.remaining(); i++) {
-                int framebuffer = framebuffers.get(pos + i);
-                if (framebuffer == 0)
-                    continue;
-                FBO fbo = context.fbos.get(framebuffer);
-                if (fbo != null && fbo == context.currentFbo) {
-                    context.currentFbo = context.defaultFbo;
-                }
-                context.fbos.remove(framebuffer);
-            }
+            deleteFramebuffers(framebuffers);
         }
     }
 
     public static void glDeleteFramebuffersEXT(int framebuffer) {
         org.lwjgl.opengl.EXTFramebufferObject.glDeleteFramebuffersEXT(framebuffer);
         if (Properties.VALIDATE.enabled) {
-            if (framebuffer == 0)
-                return;
-            Context context = Context.currentContext();
-            FBO fbo = context.fbos.get(framebuffer);
-            if (fbo != null && fbo == context.currentFbo) {
-                context.currentFbo = context.defaultFbo;
-            }
-            context.fbos.remove(framebuffer);
+            deleteFramebuffer(framebuffer);
         }
     }
 
     public static void glDeleteFramebuffersEXT(int[] framebuffers) {
         org.lwjgl.opengl.EXTFramebufferObject.glDeleteFramebuffersEXT(framebuffers);
         if (Properties.VALIDATE.enabled) {
-            Context context = Context.currentContext();
-            for (int i = 0; i < framebuffers.length; i++) {
-                int framebuffer = framebuffers[i];
-                if (framebuffer == 0)
-                    continue;
-                FBO fbo = context.fbos.get(framebuffer);
-                if (fbo != null && fbo == context.currentFbo) {
-                    context.currentFbo = context.defaultFbo;
-                }
-                context.fbos.remove(framebuffer);
-            }
+            deleteFramebuffers(framebuffers);
+        }
+    }
+
+    public static void glFramebufferTexture1DEXT(int target, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.EXTFramebufferObject.glFramebufferTexture1DEXT(target, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTexture2DEXT(int target, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.EXTFramebufferObject.glFramebufferTexture2DEXT(target, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTexture3DEXT(int target, int attachment, int textarget, int texture, int level, int zoffset) {
+        org.lwjgl.opengl.EXTFramebufferObject.glFramebufferTexture3DEXT(target, attachment, textarget, texture, level, zoffset);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferRenderbufferEXT(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        org.lwjgl.opengl.EXTFramebufferObject.glFramebufferRenderbufferEXT(target, attachment, renderbuffertarget, renderbuffer);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glDeleteRenderbuffersEXT(IntBuffer renderbuffers) {
+        org.lwjgl.opengl.EXTFramebufferObject.glDeleteRenderbuffersEXT(renderbuffers);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbuffersDeleted(renderbuffers);
+        }
+    }
+
+    public static void glDeleteRenderbuffersEXT(int renderbuffer) {
+        org.lwjgl.opengl.EXTFramebufferObject.glDeleteRenderbuffersEXT(renderbuffer);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferDeleted(renderbuffer);
+        }
+    }
+
+    public static void glDeleteRenderbuffersEXT(int[] renderbuffers) {
+        org.lwjgl.opengl.EXTFramebufferObject.glDeleteRenderbuffersEXT(renderbuffers);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbuffersDeleted(renderbuffers);
+        }
+    }
+
+    public static void glRenderbufferStorageEXT(int target, int internalformat, int width, int height) {
+        org.lwjgl.opengl.EXTFramebufferObject.glRenderbufferStorageEXT(target, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferStorage(0, internalformat, width, height);
+        }
+    }
+
+    public static void glGenerateMipmapEXT(int target) {
+        org.lwjgl.opengl.EXTFramebufferObject.glGenerateMipmapEXT(target);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.generateMipmap(target);
         }
     }
 
@@ -32,16 +32,18 @@ public class EXTGPUShader4 {
 
     public static void glVertexAttribIPointerEXT(int index, int size, int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.EXTGPUShader4.glVertexAttribIPointerEXT(index, size, type, stride, pointer);
     }
 
     public static void glVertexAttribIPointerEXT(int index, int size, int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            Context.vertexAttribPointer(index, size, type, stride, pointer);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-            	Context.currentContext().currentVao.initializedVertexArrays[index] = true;
+            	Context.currentContext().currentVao.initializeVertexArray(index, true);
             }
         }
         org.lwjgl.opengl.EXTGPUShader4.glVertexAttribIPointerEXT(index, size, type, stride, pointer);
@@ -49,14 +51,16 @@ public class EXTGPUShader4 {
 
     public static void glVertexAttribIPointerEXT(int index, int size, int type, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.EXTGPUShader4.glVertexAttribIPointerEXT(index, size, type, stride, pointer);
     }
 
     public static void glVertexAttribIPointerEXT(int index, int size, int type, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-        	Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+        	Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+        	Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.EXTGPUShader4.glVertexAttribIPointerEXT(index, size, type, stride, pointer);
     }
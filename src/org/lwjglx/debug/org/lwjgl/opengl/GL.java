@@ -37,13 +37,7 @@ public class GL {
         Context context = Context.currentContext();
         context.caps = caps;
         context.debugCallback = callback;
-        int GL_MAX_VERTEX_ATTRIBS = 16;
-        if (caps.OpenGL20) {
-            GL_MAX_VERTEX_ATTRIBS = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL20.GL_MAX_VERTEX_ATTRIBS);
-        } else if (caps.GL_ARB_vertex_shader) {
-            GL_MAX_VERTEX_ATTRIBS = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.ARBVertexShader.GL_MAX_VERTEX_ATTRIBS_ARB);
-        }
-        context.init(GL_MAX_VERTEX_ATTRIBS);
+        context.init(maxVertexAttribs(caps));
         return caps;
     }
 
@@ -56,13 +50,7 @@ public class GL {
         Context context = Context.currentContext();
         context.caps = caps;
         context.debugCallback = callback;
-        int GL_MAX_VERTEX_ATTRIBS = 16;
-        if (caps.OpenGL20) {
-            GL_MAX_VERTEX_ATTRIBS = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL20.GL_MAX_VERTEX_ATTRIBS);
-        } else if (caps.GL_ARB_vertex_shader) {
-            GL_MAX_VERTEX_ATTRIBS = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.ARBVertexShader.GL_MAX_VERTEX_ATTRIBS_ARB);
-        }
-        context.init(GL_MAX_VERTEX_ATTRIBS);
+        context.init(maxVertexAttribs(caps));
         return caps;
     }
 
@@ -36,6 +36,13 @@ import org.lwjglx.debug.*;
 
 public class GL11 {
 
+    public static void glBindTexture(int target, int texture) {
+        if (Properties.GPU_MEMORY.enabled) {
+            bindTexture(target, texture);
+        }
+        org.lwjgl.opengl.GL11.glBindTexture(target, texture);
+    }
+
     public static void glClear(int mask) {
         if (Properties.VALIDATE.enabled) {
             checkFramebufferCompleteness();
@@ -43,20 +50,34 @@ public class GL11 {
         org.lwjgl.opengl.GL11.glClear(mask);
     }
 
+    public static void glEnable(int cap) {
+        if (Properties.VALIDATE.enabled) {
+            enable(cap, true);
+        }
+        org.lwjgl.opengl.GL11.glEnable(cap);
+    }
+
+    public static void glDisable(int cap) {
+        if (Properties.VALIDATE.enabled) {
+            enable(cap, false);
+        }
+        org.lwjgl.opengl.GL11.glDisable(cap);
+    }
+
     public static void glEnableClientState(int cap) {
         if (Properties.VALIDATE.enabled) {
             switch (cap) {
             case org.lwjgl.opengl.GL11.GL_VERTEX_ARRAY:
-                Context.currentContext().currentVao.vertexArrayEnabled = true;
+                Context.currentContext().currentVao.enableClientState(VAO.VERTEX_ARRAY, true);
                 break;
             case org.lwjgl.opengl.GL11.GL_NORMAL_ARRAY:
-                Context.currentContext().currentVao.normalArrayEnabled = true;
+                Context.currentContext().currentVao.enableClientState(VAO.NORMAL_ARRAY, true);
                 break;
             case org.lwjgl.opengl.GL11.GL_COLOR_ARRAY:
-                Context.currentContext().currentVao.colorArrayEnabled = true;
+                Context.currentContext().currentVao.enableClientState(VAO.COLOR_ARRAY, true);
                 break;
             case org.lwjgl.opengl.GL11.GL_TEXTURE_COORD_ARRAY:
-                Context.currentContext().currentVao.texCoordArrayEnabled = true;
+                Context.currentContext().currentVao.enableClientState(VAO.TEXTURE_COORD_ARRAY, true);
                 break;
             }
         }
@@ -67,16 +88,16 @@ public class GL11 {
         if (Properties.VALIDATE.enabled) {
             switch (cap) {
             case org.lwjgl.opengl.GL11.GL_VERTEX_ARRAY:
-                Context.currentContext().currentVao.vertexArrayEnabled = false;
+                Context.currentContext().currentVao.enableClientState(VAO.VERTEX_ARRAY, false);
                 break;
             case org.lwjgl.opengl.GL11.GL_NORMAL_ARRAY:
-                Context.currentContext().currentVao.normalArrayEnabled = false;
+                Context.currentContext().currentVao.enableClientState(VAO.NORMAL_ARRAY, false);
                 break;
             case org.lwjgl.opengl.GL11.GL_COLOR_ARRAY:
-                Context.currentContext().currentVao.colorArrayEnabled = false;
+                Context.currentContext().currentVao.enableClientState(VAO.COLOR_ARRAY, false);
                 break;
             case org.lwjgl.opengl.GL11.GL_TEXTURE_COORD_ARRAY:
-                Context.currentContext().currentVao.texCoordArrayEnabled = false;
+                Context.currentContext().currentVao.enableClientState(VAO.TEXTURE_COORD_ARRAY, false);
                 break;
             }
         }
@@ -85,16 +106,16 @@ public class GL11 {
 
     public static void glVertexPointer(int size, int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.vertexArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.VERTEX_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glVertexPointer(size, type, stride, pointer);
     }
 
     public static void glVertexPointer(int size, int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.vertexArrayInitialized = true;
+                Context.currentContext().currentVao.initializeClientState(VAO.VERTEX_ARRAY, true);
             }
         }
         org.lwjgl.opengl.GL11.glVertexPointer(size, type, stride, pointer);
@@ -102,37 +123,37 @@ public class GL11 {
 
     public static void glVertexPointer(int size, int type, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.vertexArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.VERTEX_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glVertexPointer(size, type, stride, pointer);
     }
 
     public static void glVertexPointer(int size, int type, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.vertexArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.VERTEX_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glVertexPointer(size, type, stride, pointer);
     }
 
     public static void glVertexPointer(int size, int type, int stride, FloatBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.vertexArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.VERTEX_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glVertexPointer(size, type, stride, pointer);
     }
 
     public static void glNormalPointer(int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.vertexArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.NORMAL_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glNormalPointer(type, stride, pointer);
     }
 
     public static void glNormalPointer(int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.normalArrayInitialized = true;
+                Context.currentContext().currentVao.initializeClientState(VAO.NORMAL_ARRAY, true);
             }
         }
         org.lwjgl.opengl.GL11.glNormalPointer(type, stride, pointer);
@@ -140,37 +161,37 @@ public class GL11 {
 
     public static void glNormalPointer(int type, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.normalArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.NORMAL_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glNormalPointer(type, stride, pointer);
     }
 
     public static void glNormalPointer(int type, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.normalArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.NORMAL_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glNormalPointer(type, stride, pointer);
     }
 
     public static void glNormalPointer(int type, int stride, FloatBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.normalArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.NORMAL_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glNormalPointer(type, stride, pointer);
     }
 
     public static void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.normalArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.COLOR_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glColorPointer(size, type, stride, pointer);
     }
 
     public static void glColorPointer(int size, int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.colorArrayInitialized = true;
+                Context.currentContext().currentVao.initializeClientState(VAO.COLOR_ARRAY, true);
             }
         }
         org.lwjgl.opengl.GL11.glColorPointer(size, type, stride, pointer);
@@ -178,37 +199,37 @@ public class GL11 {
 
     public static void glColorPointer(int size, int type, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.colorArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.COLOR_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glColorPointer(size, type, stride, pointer);
     }
 
     public static void glColorPointer(int size, int type, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.colorArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.COLOR_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glColorPointer(size, type, stride, pointer);
     }
 
     public static void glColorPointer(int size, int type, int stride, FloatBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.colorArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.COLOR_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glColorPointer(size, type, stride, pointer);
     }
 
     public static void glTexCoordPointer(int size, int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.texCoordArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.TEXTURE_COORD_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glTexCoordPointer(size, type, stride, pointer);
     }
 
     public static void glTexCoordPointer(int size, int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.texCoordArrayInitialized = true;
+                Context.currentContext().currentVao.initializeClientState(VAO.TEXTURE_COORD_ARRAY, true);
             }
         }
         org.lwjgl.opengl.GL11.glTexCoordPointer(size, type, stride, pointer);
@@ -216,21 +237,21 @@ public class GL11 {
 
     public static void glTexCoordPointer(int size, int type, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.texCoordArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.TEXTURE_COORD_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glTexCoordPointer(size, type, stride, pointer);
     }
 
     public static void glTexCoordPointer(int size, int type, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.texCoordArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.TEXTURE_COORD_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glTexCoordPointer(size, type, stride, pointer);
     }
 
     public static void glTexCoordPointer(int size, int type, int stride, FloatBuffer pointer) {
         if (Properties.VALIDATE.enabled) {
-            Context.currentContext().currentVao.texCoordArrayInitialized = pointer != null;
+            Context.currentContext().currentVao.initializeClientState(VAO.TEXTURE_COORD_ARRAY, pointer != null);
         }
         org.lwjgl.opengl.GL11.glTexCoordPointer(size, type, stride, pointer);
     }
@@ -238,6 +259,7 @@ public class GL11 {
     public static void glDrawArrays(int mode, int first, int count) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawArrays", first, count, 0, 1);
         }
         org.lwjgl.opengl.GL11.glDrawArrays(mode, first, count);
         RT.draw(count);
@@ -245,11 +267,12 @@ public class GL11 {
 
     public static void nglDrawElements(int mode, int count, int type, long indices) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0 && isInvalidPointer(indices)) {
                 throwISEOrLogError("glDrawElements called with invalid client-side pointer address or index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElements", count, type, indices, 0, 0, 1);
         }
         org.lwjgl.opengl.GL11.nglDrawElements(mode, count, type, indices);
         RT.draw(count);
@@ -262,6 +285,7 @@ public class GL11 {
     public static void glDrawElements(int mode, int type, ByteBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElements", type, indices, 0, 0, 1);
         }
         org.lwjgl.opengl.GL11.glDrawElements(mode, type, indices);
         RT.draw(indices.remaining());
@@ -270,6 +294,7 @@ public class GL11 {
     public static void glDrawElements(int mode, ByteBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElements", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, 0, 0, 1);
         }
         org.lwjgl.opengl.GL11.glDrawElements(mode, indices);
         RT.draw(indices.remaining());
@@ -278,6 +303,7 @@ public class GL11 {
     public static void glDrawElements(int mode, ShortBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElements", indices, 0, 0, 1);
         }
         org.lwjgl.opengl.GL11.glDrawElements(mode, indices);
         RT.draw(indices.remaining());
@@ -286,6 +312,7 @@ public class GL11 {
     public static void glDrawElements(int mode, IntBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElements", indices, 0, 0, 1);
         }
         org.lwjgl.opengl.GL11.glDrawElements(mode, indices);
         RT.draw(indices.remaining());
@@ -295,14 +322,18 @@ public class GL11 {
         org.lwjgl.opengl.GL11.glPopClientAttrib();
         /* Refresh vertex array state */
         Context context = Context.currentContext();
+        if (context.caps.OpenGL15 || context.caps.GL_ARB_vertex_buffer_object) {
+            bindBuffer(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER, org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING));
+            bindBuffer(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER, org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING));
+        }
         for (int i = 0; i < context.GL_MAX_VERTEX_ATTRIBS; i++) {
             /* Read enable state and buffer bindings */
             if (context.caps.OpenGL20) {
-                context.currentVao.enabledVertexArrays[i] = org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.GL20.GL_VERTEX_ATTRIB_ARRAY_ENABLED) == 1;
-                context.currentVao.initializedVertexArrays[i] = org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.GL15.GL_VERTEX_ATTRIB_ARRAY_BUFFER_BINDING) != 0;
+                context.currentVao.enableVertexArray(i, org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.GL20.GL_VERTEX_ATTRIB_ARRAY_ENABLED) == 1);
+                context.currentVao.initializeVertexArray(i, org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.GL15.GL_VERTEX_ATTRIB_ARRAY_BUFFER_BINDING) != 0);
             } else if (context.caps.GL_ARB_vertex_shader) {
-                context.currentVao.enabledVertexArrays[i] = org.lwjgl.opengl.ARBVertexShader.glGetVertexAttribiARB(i, org.lwjgl.opengl.ARBVertexShader.GL_VERTEX_ATTRIB_ARRAY_ENABLED_ARB) == 1;
-                context.currentVao.initializedVertexArrays[i] = org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.ARBVertexBufferObject.GL_VERTEX_ATTRIB_ARRAY_BUFFER_BINDING_ARB) != 0;
+                context.currentVao.enableVertexArray(i, org.lwjgl.opengl.ARBVertexShader.glGetVertexAttribiARB(i, org.lwjgl.opengl.ARBVertexShader.GL_VERTEX_ATTRIB_ARRAY_ENABLED_ARB) == 1);
+                context.currentVao.initializeVertexArray(i, org.lwjgl.opengl.GL20.glGetVertexAttribi(i, org.lwjgl.opengl.ARBVertexBufferObject.GL_VERTEX_ATTRIB_ARRAY_BUFFER_BINDING_ARB) != 0);
             }
         }
     }
@@ -313,7 +344,7 @@ public class GL11 {
         int pos = textures.position();
         for (int i = 0; i < textures.remaining(); i++) {
             int texture = textures.get(pos + i);
-            ctx.shareGroup.textureObjects.put(texture, new TextureObject());
+            ctx.shareGroup.textureObjects.put(texture, new TextureObject(texture));
         }
     }
 
@@ -322,14 +353,14 @@ public class GL11 {
         Context ctx = Context.currentContext();
         for (int i = 0; i < textures.length; i++) {
             int texture = textures[i];
-            ctx.shareGroup.textureObjects.put(texture, new TextureObject());
+            ctx.shareGroup.textureObjects.put(texture, new TextureObject(texture));
         }
     }
 
     public static int glGenTextures() {
         int tex = org.lwjgl.opengl.GL11.glGenTextures();
         Context ctx = Context.currentContext();
-        ctx.shareGroup.textureObjects.put(tex, new TextureObject());
+        ctx.shareGroup.textureObjects.put(tex, new TextureObject(tex));
         return tex;
     }
 
@@ -457,4 +488,193 @@ public class GL11 {
         RT.endImmediate();
     }
 
+    public static void glDrawBuffer(int buf) {
+        org.lwjgl.opengl.GL11.glDrawBuffer(buf);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER);
+        }
+    }
+
+    public static void glReadBuffer(int src) {
+        org.lwjgl.opengl.GL11.glReadBuffer(src);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(org.lwjgl.opengl.GL30.GL_READ_FRAMEBUFFER);
+        }
+    }
+
+    public static void glDeleteTextures(IntBuffer textures) {
+        org.lwjgl.opengl.GL11.glDeleteTextures(textures);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texturesDeleted(textures);
+        }
+    }
+
+    public static void glDeleteTextures(int texture) {
+        org.lwjgl.opengl.GL11.glDeleteTextures(texture);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.textureDeleted(texture);
+        }
+    }
+
+    public static void glDeleteTextures(int[] textures) {
+        org.lwjgl.opengl.GL11.glDeleteTextures(textures);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texturesDeleted(textures);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, ByteBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, long pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, ShortBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, IntBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, FloatBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, DoubleBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, short[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, int[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, float[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage1D(int target, int level, int internalformat, int width, int border, int format, int type, double[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage1D(target, level, internalformat, width, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, long pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ShortBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, IntBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, FloatBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, DoubleBuffer pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, short[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, int[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, float[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, double[] pixels) {
+        org.lwjgl.opengl.GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glCopyTexImage1D(int target, int level, int internalformat, int x, int y, int width, int border) {
+        org.lwjgl.opengl.GL11.glCopyTexImage1D(target, level, internalformat, x, y, width, border);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glCopyTexImage2D(int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+        org.lwjgl.opengl.GL11.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, 1);
+        }
+    }
+
 }
@@ -41,11 +41,12 @@ public class GL12 {
 
     public static void glDrawRangeElements(int mode, int start, int end, int count, int type, long indices) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawRangeElements called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElements", (long) start, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.GL12.glDrawRangeElements(mode, start, end, count, type, indices);
     }
@@ -53,6 +54,7 @@ public class GL12 {
     public static void glDrawRangeElements(int mode, int start, int end, int type, ByteBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElements", (long) start, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.GL12.glDrawRangeElements(mode, start, end, type, indices);
     }
@@ -60,6 +62,7 @@ public class GL12 {
     public static void glDrawRangeElements(int mode, int start, int end, ByteBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElements", (long) start, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.GL12.glDrawRangeElements(mode, start, end, indices);
     }
@@ -67,6 +70,7 @@ public class GL12 {
     public static void glDrawRangeElements(int mode, int start, int end, ShortBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElements", (long) start, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.GL12.glDrawRangeElements(mode, start, end, indices);
     }
@@ -74,6 +78,7 @@ public class GL12 {
     public static void glDrawRangeElements(int mode, int start, int end, IntBuffer indices) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawRangeElements", (long) start, (long) end - start + 1, 0, 1);
         }
         org.lwjgl.opengl.GL12.glDrawRangeElements(mode, start, end, indices);
     }
@@ -114,4 +119,74 @@ public class GL12 {
         glTexImage3D_trace(target, level, internalformat, width, height, depth, border, format, type, pixels, mc);
     }
 
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, ByteBuffer pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, long pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, ShortBuffer pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, IntBuffer pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, FloatBuffer pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, DoubleBuffer pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, short[] pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, int[] pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, float[] pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, double[] pixels) {
+        org.lwjgl.opengl.GL12.glTexImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texImage(target, level, internalformat, width, height, depth);
+        }
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import java.nio.ByteBuffer;
+
+import org.lwjglx.debug.Properties;
+
+public class GL13 {
+
+    public static void glActiveTexture(int texture) {
+        if (Properties.GPU_MEMORY.enabled) {
+            Context.activeTexture(texture);
+        }
+        org.lwjgl.opengl.GL13.glActiveTexture(texture);
+    }
+
+    public static void glCompressedTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int imageSize, long data) {
+        org.lwjgl.opengl.GL13.glCompressedTexImage3D(target, level, internalformat, width, height, depth, border, imageSize, data);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.compressedTexImage(target, level, internalformat, width, height, depth, imageSize);
+        }
+    }
+
+    public static void glCompressedTexImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, ByteBuffer data) {
+        org.lwjgl.opengl.GL13.glCompressedTexImage3D(target, level, internalformat, width, height, depth, border, data);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.compressedTexImage(target, level, internalformat, width, height, depth, data != null ? data.remaining() : 0L);
+        }
+    }
+
+    public static void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border, int imageSize, long data) {
+        org.lwjgl.opengl.GL13.glCompressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.compressedTexImage(target, level, internalformat, width, height, 1, imageSize);
+        }
+    }
+
+    public static void glCompressedTexImage2D(int target, int level, int internalformat, int width, int height, int border, ByteBuffer data) {
+        org.lwjgl.opengl.GL13.glCompressedTexImage2D(target, level, internalformat, width, height, border, data);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.compressedTexImage(target, level, internalformat, width, height, 1, data != null ? data.remaining() : 0L);
+        }
+    }
+
+    public static void glCompressedTexImage1D(int target, int level, int internalformat, int width, int border, int imageSize, long data) {
+        org.lwjgl.opengl.GL13.glCompressedTexImage1D(target, level, internalformat, width, border, imageSize, data);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.compressedTexImage(target, level, internalformat, width, 1, 1, imageSize);
+        }
+    }
+
+    public static void glCompressedTexImage1D(int target, int level, int internalformat, int width, int border, ByteBuffer data) {
+        org.lwjgl.opengl.GL13.glCompressedTexImage1D(target, level, internalformat, width, border, data);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.compressedTexImage(target, level, internalformat, width, 1, 1, data != null ? data.remaining() : 0L);
+        }
+    }
+
+}
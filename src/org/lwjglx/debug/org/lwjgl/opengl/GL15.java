@@ -0,0 +1,333 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjglx.debug.Properties;
+
+public class GL15 {
+
+    public static void glBindBuffer(int target, int buffer) {
+        if (Properties.VALIDATE.enabled) {
+            bindBuffer(target, buffer);
+        }
+        org.lwjgl.opengl.GL15.glBindBuffer(target, buffer);
+    }
+
+    public static void glDeleteBuffers(int buffer) {
+        org.lwjgl.opengl.GL15.glDeleteBuffers(buffer);
+        if (tracksBuffers()) {
+            deleteBuffer(buffer);
+        }
+    }
+
+    public static void glDeleteBuffers(IntBuffer buffers) {
+        org.lwjgl.opengl.GL15.glDeleteBuffers(buffers);
+        if (tracksBuffers()) {
+            deleteBuffers(buffers);
+        }
+    }
+
+    public static void glDeleteBuffers(int[] buffers) {
+        org.lwjgl.opengl.GL15.glDeleteBuffers(buffers);
+        if (tracksBuffers()) {
+            deleteBuffers(buffers);
+        }
+    }
+
+    public static void glBufferData(int target, long size, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, size, usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, size, usage);
+    }
+
+    public static void glBufferData(int target, ByteBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, (long) data.remaining(), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, ShortBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 1), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, IntBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 2), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, LongBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 3), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, FloatBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 2), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, DoubleBuffer data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.remaining() << 3), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, short[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 1), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, int[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 2), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, long[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 3), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, float[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 2), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glBufferData(int target, double[] data, int usage) {
+        if (tracksBuffers()) {
+            bufferData(target, ((long) data.length << 3), usage);
+        }
+        org.lwjgl.opengl.GL15.glBufferData(target, data, usage);
+    }
+
+    public static void glGenBuffers(IntBuffer buffers) {
+        org.lwjgl.opengl.GL15.glGenBuffers(buffers);
+        if (tracksBuffers()) {
+            genBuffers(buffers);
+        }
+    }
+
+    public static int glGenBuffers() {
+        int buffer = org.lwjgl.opengl.GL15.glGenBuffers();
+        if (tracksBuffers()) {
+            genBuffer(buffer);
+        }
+        return buffer;
+    }
+
+    public static void glGenBuffers(int[] buffers) {
+        org.lwjgl.opengl.GL15.glGenBuffers(buffers);
+        if (tracksBuffers()) {
+            genBuffers(buffers);
+        }
+    }
+
+    public static void glBufferSubData(int target, long offset, ByteBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, (long) data.remaining());
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, ShortBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.remaining() << 1));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, IntBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, LongBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, FloatBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, DoubleBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, short[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.length << 1));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, int[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, long[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, float[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glBufferSubData(int target, long offset, double[] data) {
+        if (Properties.VALIDATE.enabled) {
+            bufferSubData("glBufferSubData", target, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL15.glBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, ByteBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, (long) data.remaining());
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, ShortBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.remaining() << 1));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, IntBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, LongBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, FloatBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, DoubleBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, short[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.length << 1));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, int[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, long[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, float[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static void glGetBufferSubData(int target, long offset, double[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getBufferSubData("glGetBufferSubData", target, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL15.glGetBufferSubData(target, offset, data);
+    }
+
+    public static boolean glUnmapBuffer(int target) {
+        if (Properties.VALIDATE.enabled) {
+            unmapBuffer(target);
+        }
+        return org.lwjgl.opengl.GL15.glUnmapBuffer(target);
+    }
+
+}
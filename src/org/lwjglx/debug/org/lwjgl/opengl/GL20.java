@@ -37,51 +37,56 @@ public class GL20 {
 
     public static void glEnableVertexAttribArray(int index) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.enabledVertexArrays[index] = true;
+            Context.currentContext().currentVao.enableVertexArray(index, true);
         }
         org.lwjgl.opengl.GL20.glEnableVertexAttribArray(index);
     }
 
     public static void glDisableVertexAttribArray(int index) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.enabledVertexArrays[index] = false;
+            Context.currentContext().currentVao.enableVertexArray(index, false);
         }
         org.lwjgl.opengl.GL20.glDisableVertexAttribArray(index);
     }
 
     public static void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, FloatBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
     }
 
     public static void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
     }
 
     public static void nglVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            Context.vertexAttribPointer(index, size, type, stride, pointer);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.initializedVertexArrays[index] = true;
+                Context.currentContext().currentVao.initializeVertexArray(index, true);
             } else if (isInvalidPointer(pointer)) {
         		throwIAEOrLogError("There is no GL_ARRAY_BUFFER bound and pointer argument [" + pointer + "] is invalid. "
         				+ "This will likely lead to a JVM crash in a draw call");
@@ -92,9 +97,10 @@ public class GL20 {
 
     public static void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            Context.vertexAttribPointer(index, size, type, stride, pointer);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.initializedVertexArrays[index] = true;
+                Context.currentContext().currentVao.initializeVertexArray(index, true);
             } else if (isInvalidPointer(pointer)) {
         		throwIAEOrLogError("There is no GL_ARRAY_BUFFER bound and pointer argument [" + pointer + "] is invalid. "
         				+ "This will likely lead to a JVM crash in a draw call");
@@ -194,4 +200,25 @@ public class GL20 {
         }
     }
 
+    public static void glDrawBuffers(IntBuffer bufs) {
+        org.lwjgl.opengl.GL20.glDrawBuffers(bufs);
+        if (Properties.VALIDATE.enabled) {
+            Context.framebufferChanged(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER);
+        }
+    }
+
+    public static void glDrawBuffers(int buf) {
+        org.lwjgl.opengl.GL20.glDrawBuffers(buf);
+        if (Properties.VALIDATE.enabled) {
+            Context.framebufferChanged(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER);
+        }
+    }
+
+    public static void glDrawBuffers(int[] bufs) {
+        org.lwjgl.opengl.GL20.glDrawBuffers(bufs);
+        if (Properties.VALIDATE.enabled) {
+            Context.framebufferChanged(org.lwjgl.opengl.GL30.GL_DRAW_FRAMEBUFFER);
+        }
+    }
+
 }
@@ -34,18 +34,27 @@ import org.lwjglx.debug.org.lwjgl.opengl.Context.VAO;
 
 public class GL30 {
 
+    public static void glBindRenderbuffer(int target, int renderbuffer) {
+        if (Properties.GPU_MEMORY.enabled) {
+            bindRenderbuffer(renderbuffer);
+        }
+        org.lwjgl.opengl.GL30.glBindRenderbuffer(target, renderbuffer);
+    }
+
     public static void glVertexAttribIPointer(int index, int size, int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL30.glVertexAttribIPointer(index, size, type, stride, pointer);
     }
 
     public static void glVertexAttribIPointer(int index, int size, int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            Context.vertexAttribPointer(index, size, type, stride, pointer);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.initializedVertexArrays[index] = true;
+                Context.currentContext().currentVao.initializeVertexArray(index, true);
             }
         }
         org.lwjgl.opengl.GL30.glVertexAttribIPointer(index, size, type, stride, pointer);
@@ -53,18 +62,35 @@ public class GL30 {
 
     public static void glVertexAttribIPointer(int index, int size, int type, int stride, ShortBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL30.glVertexAttribIPointer(index, size, type, stride, pointer);
     }
 
     public static void glVertexAttribIPointer(int index, int size, int type, int stride, IntBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL30.glVertexAttribIPointer(index, size, type, stride, pointer);
     }
 
+    public static void glBindBufferBase(int target, int index, int buffer) {
+        if (Properties.VALIDATE.enabled) {
+            bindBuffer(target, buffer);
+        }
+        org.lwjgl.opengl.GL30.glBindBufferBase(target, index, buffer);
+    }
+
+    public static void glBindBufferRange(int target, int index, int buffer, long offset, long size) {
+        if (Properties.VALIDATE.enabled) {
+            bindBufferRange("glBindBufferRange", buffer, offset, size);
+            bindBuffer(target, buffer);
+        }
+        org.lwjgl.opengl.GL30.glBindBufferRange(target, index, buffer, offset, size);
+    }
+
     public static void glGenVertexArrays(IntBuffer arrays) {
         org.lwjgl.opengl.GL30.glGenVertexArrays(arrays);
         if (Properties.VALIDATE.enabled) {
@@ -112,6 +138,13 @@ public class GL30 {
             ctx.currentVao = vao;
         }
         org.lwjgl.opengl.GL30.glBindVertexArray(index);
+        if (Properties.VALIDATE.enabled) {
+            Context ctx = Context.currentContext();
+            if (ctx.currentVao == null && ctx.adopted) {
+                /* Created before attaching, so query its state now that it is bound */
+                ctx.currentVao = ctx.adoptVertexArray(index);
+            }
+        }
     }
 
     public static void glDeleteVertexArrays(int[] indices) {
@@ -172,16 +205,7 @@ public class GL30 {
 
     public static void glBindFramebuffer(int target, int framebuffer) {
         if (Properties.VALIDATE.enabled) {
-            Context ctx = Context.currentContext();
-            FBO fbo = ctx.fbos.get(framebuffer);
-            if (fbo == null && ctx.shareGroup != null) {
-                for (Context c : ctx.shareGroup.contexts) {
-                    if (c.fbos.containsKey(framebuffer)) {
-                        throwISEOrLogError("Trying to bind unknown FBO [" + framebuffer + "] from shared context [" + c.counter + "]");
-                    }
-                }
-            }
-            ctx.currentFbo = fbo;
+            bindFramebuffer(target, framebuffer);
         }
         org.lwjgl.opengl.GL30.glBindFramebuffer(target, framebuffer);
     }
@@ -189,50 +213,113 @@ public class GL30 {
     public static void glDeleteFramebuffers(IntBuffer framebuffers) {
         org.lwjgl.opengl.GL30.glDeleteFramebuffers(framebuffers);
         if (Properties.VALIDATE.enabled) {
-            Context context = Context.currentContext();
-            int pos = framebuffers.position();
-            for (int i = 0; i < framebuffers.remaining(); i++) {
-                int framebuffer = framebuffers.get(pos + i);
-                if (framebuffer == 0)
-                    continue;
-                FBO fbo = context.fbos.get(framebuffer);
-                if (fbo != null && fbo == context.currentFbo) {
-                    context.currentFbo = context.defaultFbo;
-                }
-                context.fbos.remove(framebuffer);
-            }
+            deleteFramebuffers(framebuffers);
         }
     }
 
     public static void glDeleteFramebuffers(int framebuffer) {
         org.lwjgl.opengl.GL30.glDeleteFramebuffers(framebuffer);
         if (Properties.VALIDATE.enabled) {
-            if (framebuffer == 0)
-                return;
-            Context context = Context.currentContext();
-            FBO fbo = context.fbos.get(framebuffer);
-            if (fbo != null && fbo == context.currentFbo) {
-                context.currentFbo = context.defaultFbo;
-            }
-            context.fbos.remove(framebuffer);
+            deleteFramebuffer(framebuffer);
         }
     }
 
     public static void glDeleteFramebuffers(int[] framebuffers) {
         org.lwjgl.opengl.GL30.glDeleteFramebuffers(framebuffers);
         if (Properties.VALIDATE.enabled) {
-            Context context = Context.currentContext();
-            for (int i = 0; i < framebuffers.length; i++) {
-                int framebuffer = framebuffers[i];
-                if (framebuffer == 0)
-                    continue;
-                FBO fbo = context.fbos.get(framebuffer);
-                if (fbo != null && fbo == context.currentFbo) {
-                    context.currentFbo = context.defaultFbo;
-                }
-                context.fbos.remove(framebuffer);
-            }
+            deleteFramebuffers(framebuffers);
+        }
+    }
+
+    public static void glFramebufferTexture1D(int target, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.GL30.glFramebufferTexture1D(target, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTexture2D(int target, int attachment, int textarget, int texture, int level) {
+        org.lwjgl.opengl.GL30.glFramebufferTexture2D(target, attachment, textarget, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTexture3D(int target, int attachment, int textarget, int texture, int level, int zoffset) {
+        org.lwjgl.opengl.GL30.glFramebufferTexture3D(target, attachment, textarget, texture, level, zoffset);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferTextureLayer(int target, int attachment, int texture, int level, int layer) {
+        org.lwjgl.opengl.GL30.glFramebufferTextureLayer(target, attachment, texture, level, layer);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glFramebufferRenderbuffer(int target, int attachment, int renderbuffertarget, int renderbuffer) {
+        org.lwjgl.opengl.GL30.glFramebufferRenderbuffer(target, attachment, renderbuffertarget, renderbuffer);
+        if (Properties.VALIDATE.enabled) {
+            framebufferChanged(target);
+        }
+    }
+
+    public static void glDeleteRenderbuffers(IntBuffer renderbuffers) {
+        org.lwjgl.opengl.GL30.glDeleteRenderbuffers(renderbuffers);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbuffersDeleted(renderbuffers);
+        }
+    }
+
+    public static void glDeleteRenderbuffers(int renderbuffer) {
+        org.lwjgl.opengl.GL30.glDeleteRenderbuffers(renderbuffer);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferDeleted(renderbuffer);
+        }
+    }
+
+    public static void glDeleteRenderbuffers(int[] renderbuffers) {
+        org.lwjgl.opengl.GL30.glDeleteRenderbuffers(renderbuffers);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbuffersDeleted(renderbuffers);
+        }
+    }
+
+    public static void glRenderbufferStorage(int target, int internalformat, int width, int height) {
+        org.lwjgl.opengl.GL30.glRenderbufferStorage(target, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferStorage(0, internalformat, width, height);
+        }
+    }
+
+    public static void glRenderbufferStorageMultisample(int target, int samples, int internalformat, int width, int height) {
+        org.lwjgl.opengl.GL30.glRenderbufferStorageMultisample(target, samples, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.renderbufferStorage(samples, internalformat, width, height);
+        }
+    }
+
+    public static void glGenerateMipmap(int target) {
+        org.lwjgl.opengl.GL30.glGenerateMipmap(target);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.generateMipmap(target);
+        }
+    }
+
+    public static ByteBuffer glMapBufferRange(int target, long offset, long length, int access) {
+        if (Properties.VALIDATE.enabled) {
+            mapBufferRange("glMapBufferRange", target, offset, length, access);
+        }
+        return org.lwjgl.opengl.GL30.glMapBufferRange(target, offset, length, access);
+    }
+
+    public static ByteBuffer glMapBufferRange(int target, long offset, long length, int access, ByteBuffer old_buffer) {
+        if (Properties.VALIDATE.enabled) {
+            mapBufferRange("glMapBufferRange", target, offset, length, access);
         }
+        return org.lwjgl.opengl.GL30.glMapBufferRange(target, offset, length, access, old_buffer);
     }
 
 }
@@ -34,9 +34,17 @@ import org.lwjglx.debug.RT;
 
 public class GL31 {
 
+    public static void glPrimitiveRestartIndex(int index) {
+        if (Properties.VALIDATE.enabled) {
+            primitiveRestartIndex(index);
+        }
+        org.lwjgl.opengl.GL31.glPrimitiveRestartIndex(index);
+    }
+
     public static void glDrawArraysInstanced(int mode, int first, int count, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkVertexFetch("glDrawArraysInstanced", first, count, 0, primcount);
         }
         org.lwjgl.opengl.GL31.glDrawArraysInstanced(mode, first, count, primcount);
         RT.draw(count * primcount);
@@ -44,11 +52,12 @@ public class GL31 {
 
     public static void glDrawElementsInstanced(int mode, int count, int type, long indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
-            int ibo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
+            int ibo = Context.elementArrayBufferBinding();
             if (ibo == 0) {
                 throwISEOrLogError("glDrawElementsInstanced called with index offset but no ELEMENT_ARRAY_BUFFER bound");
             }
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstanced", count, type, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.GL31.glDrawElementsInstanced(mode, count, type, indices, primcount);
         RT.draw(count * primcount);
@@ -57,6 +66,7 @@ public class GL31 {
     public static void glDrawElementsInstanced(int mode, int type, ByteBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstanced", type, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.GL31.glDrawElementsInstanced(mode, type, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -65,6 +75,7 @@ public class GL31 {
     public static void glDrawElementsInstanced(int mode, ByteBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstanced", org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE, indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.GL31.glDrawElementsInstanced(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -73,6 +84,7 @@ public class GL31 {
     public static void glDrawElementsInstanced(int mode, ShortBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstanced", indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.GL31.glDrawElementsInstanced(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
@@ -81,9 +93,17 @@ public class GL31 {
     public static void glDrawElementsInstanced(int mode, IntBuffer indices, int primcount) {
         if (Properties.VALIDATE.enabled) {
             checkBeforeDrawCall();
+            checkElementFetch("glDrawElementsInstanced", indices, 0, 0, primcount);
         }
         org.lwjgl.opengl.GL31.glDrawElementsInstanced(mode, indices, primcount);
         RT.draw(indices.remaining() * primcount);
     }
 
+    public static void glCopyBufferSubData(int readTarget, int writeTarget, long readOffset, long writeOffset, long size) {
+        if (Properties.VALIDATE.enabled) {
+            copyBufferSubData("glCopyBufferSubData", readTarget, writeTarget, readOffset, writeOffset, size);
+        }
+        org.lwjgl.opengl.GL31.glCopyBufferSubData(readTarget, writeTarget, readOffset, writeOffset, size);
+    }
+
 }
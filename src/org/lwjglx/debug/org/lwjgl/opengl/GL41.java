@@ -39,16 +39,18 @@ public class GL41 {
 
     public static void glVertexAttribLPointer(int index, int size, int type, int stride, ByteBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, type, stride);
         }
         org.lwjgl.opengl.GL41.glVertexAttribLPointer(index, size, type, stride, pointer);
     }
 
     public static void glVertexAttribLPointer(int index, int size, int type, int stride, long pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            int vbo = org.lwjgl.opengl.GL11.glGetInteger(org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER_BINDING);
+            Context.vertexAttribPointer(index, size, type, stride, pointer);
+            int vbo = Context.arrayBufferBinding();
             if (vbo != 0) {
-                Context.currentContext().currentVao.initializedVertexArrays[index] = true;
+                Context.currentContext().currentVao.initializeVertexArray(index, true);
             }
         }
         org.lwjgl.opengl.GL41.glVertexAttribLPointer(index, size, type, stride, pointer);
@@ -56,7 +58,8 @@ public class GL41 {
 
     public static void glVertexAttribLPointer(int index, int size, int stride, DoubleBuffer pointer) {
         if (Properties.VALIDATE.enabled && index > -1) {
-            Context.currentContext().currentVao.initializedVertexArrays[index] = pointer != null;
+            Context.currentContext().currentVao.initializeVertexArray(index, pointer != null);
+            Context.clientVertexAttribPointer(index, size, org.lwjgl.opengl.GL11.GL_DOUBLE, stride);
         }
         org.lwjgl.opengl.GL41.glVertexAttribLPointer(index, size, stride, pointer);
     }
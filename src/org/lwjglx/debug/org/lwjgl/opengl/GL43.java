@@ -0,0 +1,111 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import static org.lwjglx.debug.org.lwjgl.opengl.Context.*;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.system.MemoryUtil;
+import org.lwjglx.debug.Properties;
+
+public class GL43 {
+
+    public static void glPushDebugGroup(int source, int id, ByteBuffer message) {
+        org.lwjgl.opengl.GL43.glPushDebugGroup(source, id, message);
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.push(MemoryUtil.memUTF8(message, message.remaining()));
+        }
+    }
+
+    public static void glPushDebugGroup(int source, int id, CharSequence message) {
+        org.lwjgl.opengl.GL43.glPushDebugGroup(source, id, message);
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.push(message.toString());
+        }
+    }
+
+    public static void glPopDebugGroup() {
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.pop();
+        }
+        org.lwjgl.opengl.GL43.glPopDebugGroup();
+    }
+
+    public static void glTexStorage2DMultisample(int target, int samples, int internalformat, int width, int height, boolean fixedsamplelocations) {
+        org.lwjgl.opengl.GL43.glTexStorage2DMultisample(target, samples, internalformat, width, height, fixedsamplelocations);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texStorageMultisample(target, samples, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTexStorage3DMultisample(int target, int samples, int internalformat, int width, int height, int depth, boolean fixedsamplelocations) {
+        org.lwjgl.opengl.GL43.glTexStorage3DMultisample(target, samples, internalformat, width, height, depth, fixedsamplelocations);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.texStorageMultisample(target, samples, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glBindVertexBuffer(int bindingindex, int buffer, long offset, int stride) {
+        if (Properties.VALIDATE.enabled) {
+            bindVertexBuffer(bindingindex, buffer, offset, stride);
+        }
+        org.lwjgl.opengl.GL43.glBindVertexBuffer(bindingindex, buffer, offset, stride);
+    }
+
+    public static void glVertexAttribFormat(int attribindex, int size, int type, boolean normalized, int relativeoffset) {
+        if (Properties.VALIDATE.enabled) {
+            vertexAttribFormat(attribindex, size, type, relativeoffset);
+        }
+        org.lwjgl.opengl.GL43.glVertexAttribFormat(attribindex, size, type, normalized, relativeoffset);
+    }
+
+    public static void glVertexAttribIFormat(int attribindex, int size, int type, int relativeoffset) {
+        if (Properties.VALIDATE.enabled) {
+            vertexAttribFormat(attribindex, size, type, relativeoffset);
+        }
+        org.lwjgl.opengl.GL43.glVertexAttribIFormat(attribindex, size, type, relativeoffset);
+    }
+
+    public static void glVertexAttribLFormat(int attribindex, int size, int type, int relativeoffset) {
+        if (Properties.VALIDATE.enabled) {
+            vertexAttribFormat(attribindex, size, type, relativeoffset);
+        }
+        org.lwjgl.opengl.GL43.glVertexAttribLFormat(attribindex, size, type, relativeoffset);
+    }
+
+    public static void glVertexAttribBinding(int attribindex, int bindingindex) {
+        if (Properties.VALIDATE.enabled) {
+            vertexAttribBinding(attribindex, bindingindex);
+        }
+        org.lwjgl.opengl.GL43.glVertexAttribBinding(attribindex, bindingindex);
+    }
+
+    public static void glVertexBindingDivisor(int bindingindex, int divisor) {
+        if (Properties.VALIDATE.enabled) {
+            vertexBindingDivisor(bindingindex, divisor);
+        }
+        org.lwjgl.opengl.GL43.glVertexBindingDivisor(bindingindex, divisor);
+    }
+
+}
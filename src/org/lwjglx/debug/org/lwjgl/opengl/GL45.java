@@ -8,6 +8,13 @@ import org.lwjglx.debug.*;
 
 public class GL45 {
 
+    public static void glBindTextureUnit(int unit, int texture) {
+        if (Properties.GPU_MEMORY.enabled) {
+            bindTextureUnit(unit, texture);
+        }
+        org.lwjgl.opengl.GL45.glBindTextureUnit(unit, texture);
+    }
+
     public static void glCreateVertexArrays(IntBuffer arrays) {
         org.lwjgl.opengl.GL45.glCreateVertexArrays(arrays);
         if (Properties.VALIDATE.enabled) {
@@ -34,7 +41,7 @@ public class GL45 {
         org.lwjgl.opengl.GL45.glDisableVertexArrayAttrib(vaobj, index);
         if (Properties.VALIDATE.enabled) {
             Context context = Context.currentContext();
-            context.vaos.get(vaobj).enabledVertexArrays[index] = false;
+            context.vaos.get(vaobj).enableVertexArray(index, false);
         }
     }
 
@@ -42,7 +49,7 @@ public class GL45 {
         org.lwjgl.opengl.GL45.glEnableVertexArrayAttrib(vaobj, index);
         if (Properties.VALIDATE.enabled) {
             Context context = Context.currentContext();
-            context.vaos.get(vaobj).enabledVertexArrays[index] = true;
+            context.vaos.get(vaobj).enableVertexArray(index, true);
         }
     }
 
@@ -81,4 +88,523 @@ public class GL45 {
         }
     }
 
+    public static void glVertexArrayElementBuffer(int vaobj, int buffer) {
+        org.lwjgl.opengl.GL45.glVertexArrayElementBuffer(vaobj, buffer);
+        if (Properties.VALIDATE.enabled) {
+            Context.vertexArrayElementBuffer(vaobj, buffer);
+        }
+    }
+
+    public static void glNamedFramebufferTexture(int framebuffer, int attachment, int texture, int level) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferTexture(framebuffer, attachment, texture, level);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferTextureLayer(int framebuffer, int attachment, int texture, int level, int layer) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferTextureLayer(framebuffer, attachment, texture, level, layer);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferRenderbuffer(int framebuffer, int attachment, int renderbuffertarget, int renderbuffer) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferRenderbuffer(framebuffer, attachment, renderbuffertarget, renderbuffer);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferDrawBuffer(int framebuffer, int buf) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferDrawBuffer(framebuffer, buf);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferDrawBuffers(int framebuffer, IntBuffer bufs) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferDrawBuffers(framebuffer, bufs);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferDrawBuffers(int framebuffer, int buf) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferDrawBuffers(framebuffer, buf);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferDrawBuffers(int framebuffer, int[] bufs) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferDrawBuffers(framebuffer, bufs);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedFramebufferReadBuffer(int framebuffer, int src) {
+        org.lwjgl.opengl.GL45.glNamedFramebufferReadBuffer(framebuffer, src);
+        if (Properties.VALIDATE.enabled) {
+            namedFramebufferChanged(framebuffer);
+        }
+    }
+
+    public static void glNamedBufferStorage(int buffer, long size, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, size, flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, size, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, ByteBuffer data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, (long) data.remaining(), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, ShortBuffer data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.remaining() << 1), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, IntBuffer data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.remaining() << 2), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, FloatBuffer data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.remaining() << 2), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, DoubleBuffer data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.remaining() << 3), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, short[] data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.length << 1), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, int[] data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.length << 2), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, float[] data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.length << 2), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferStorage(int buffer, double[] data, int flags) {
+        if (tracksBuffers()) {
+            namedBufferStorage(buffer, ((long) data.length << 3), flags);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferStorage(buffer, data, flags);
+    }
+
+    public static void glNamedBufferData(int buffer, long size, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, size, usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, size, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, ByteBuffer data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, (long) data.remaining(), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, ShortBuffer data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.remaining() << 1), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, IntBuffer data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.remaining() << 2), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, LongBuffer data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.remaining() << 3), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, FloatBuffer data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.remaining() << 2), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, DoubleBuffer data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.remaining() << 3), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, short[] data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.length << 1), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, int[] data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.length << 2), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, long[] data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.length << 3), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, float[] data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.length << 2), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedBufferData(int buffer, double[] data, int usage) {
+        if (tracksBuffers()) {
+            namedBufferData(buffer, ((long) data.length << 3), usage);
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferData(buffer, data, usage);
+    }
+
+    public static void glNamedRenderbufferStorage(int renderbuffer, int internalformat, int width, int height) {
+        org.lwjgl.opengl.GL45.glNamedRenderbufferStorage(renderbuffer, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.namedRenderbufferStorage(renderbuffer, 0, internalformat, width, height);
+        }
+    }
+
+    public static void glNamedRenderbufferStorageMultisample(int renderbuffer, int samples, int internalformat, int width, int height) {
+        org.lwjgl.opengl.GL45.glNamedRenderbufferStorageMultisample(renderbuffer, samples, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.namedRenderbufferStorage(renderbuffer, samples, internalformat, width, height);
+        }
+    }
+
+    public static void glTextureStorage1D(int texture, int levels, int internalformat, int width) {
+        org.lwjgl.opengl.GL45.glTextureStorage1D(texture, levels, internalformat, width);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.textureStorage(texture, levels, internalformat, width, 1, 1);
+        }
+    }
+
+    public static void glTextureStorage2D(int texture, int levels, int internalformat, int width, int height) {
+        org.lwjgl.opengl.GL45.glTextureStorage2D(texture, levels, internalformat, width, height);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.textureStorage(texture, levels, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTextureStorage3D(int texture, int levels, int internalformat, int width, int height, int depth) {
+        org.lwjgl.opengl.GL45.glTextureStorage3D(texture, levels, internalformat, width, height, depth);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.textureStorage(texture, levels, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glTextureStorage2DMultisample(int texture, int samples, int internalformat, int width, int height, boolean fixedsamplelocations) {
+        org.lwjgl.opengl.GL45.glTextureStorage2DMultisample(texture, samples, internalformat, width, height, fixedsamplelocations);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.textureStorageMultisample(texture, samples, internalformat, width, height, 1);
+        }
+    }
+
+    public static void glTextureStorage3DMultisample(int texture, int samples, int internalformat, int width, int height, int depth, boolean fixedsamplelocations) {
+        org.lwjgl.opengl.GL45.glTextureStorage3DMultisample(texture, samples, internalformat, width, height, depth, fixedsamplelocations);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.textureStorageMultisample(texture, samples, internalformat, width, height, depth);
+        }
+    }
+
+    public static void glGenerateTextureMipmap(int texture) {
+        org.lwjgl.opengl.GL45.glGenerateTextureMipmap(texture);
+        if (Properties.GPU_MEMORY.enabled) {
+            GpuMemory.generateTextureMipmap(texture);
+        }
+    }
+
+    public static void glCreateBuffers(IntBuffer buffers) {
+        org.lwjgl.opengl.GL45.glCreateBuffers(buffers);
+        if (tracksBuffers()) {
+            genBuffers(buffers);
+        }
+    }
+
+    public static int glCreateBuffers() {
+        int buffer = org.lwjgl.opengl.GL45.glCreateBuffers();
+        if (tracksBuffers()) {
+            genBuffer(buffer);
+        }
+        return buffer;
+    }
+
+    public static void glCreateBuffers(int[] buffers) {
+        org.lwjgl.opengl.GL45.glCreateBuffers(buffers);
+        if (tracksBuffers()) {
+            genBuffers(buffers);
+        }
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, ByteBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, (long) data.remaining());
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, ShortBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.remaining() << 1));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, IntBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, LongBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, FloatBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, DoubleBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, short[] data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.length << 1));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, int[] data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, long[] data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, float[] data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glNamedBufferSubData(int buffer, long offset, double[] data) {
+        if (Properties.VALIDATE.enabled) {
+            namedBufferSubData("glNamedBufferSubData", buffer, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL45.glNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glCopyNamedBufferSubData(int readBuffer, int writeBuffer, long readOffset, long writeOffset, long size) {
+        if (Properties.VALIDATE.enabled) {
+            copyNamedBufferSubData("glCopyNamedBufferSubData", readBuffer, writeBuffer, readOffset, writeOffset, size);
+        }
+        org.lwjgl.opengl.GL45.glCopyNamedBufferSubData(readBuffer, writeBuffer, readOffset, writeOffset, size);
+    }
+
+    public static ByteBuffer glMapNamedBufferRange(int buffer, long offset, long length, int access) {
+        if (Properties.VALIDATE.enabled) {
+            mapNamedBufferRange("glMapNamedBufferRange", buffer, offset, length, access);
+        }
+        return org.lwjgl.opengl.GL45.glMapNamedBufferRange(buffer, offset, length, access);
+    }
+
+    public static ByteBuffer glMapNamedBufferRange(int buffer, long offset, long length, int access, ByteBuffer old_buffer) {
+        if (Properties.VALIDATE.enabled) {
+            mapNamedBufferRange("glMapNamedBufferRange", buffer, offset, length, access);
+        }
+        return org.lwjgl.opengl.GL45.glMapNamedBufferRange(buffer, offset, length, access, old_buffer);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, ByteBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, (long) data.remaining());
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, ShortBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.remaining() << 1));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, IntBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, LongBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, FloatBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.remaining() << 2));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, DoubleBuffer data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.remaining() << 3));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, short[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.length << 1));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, int[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, long[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, float[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.length << 2));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glGetNamedBufferSubData(int buffer, long offset, double[] data) {
+        if (Properties.VALIDATE.enabled) {
+            getNamedBufferSubData("glGetNamedBufferSubData", buffer, offset, ((long) data.length << 3));
+        }
+        org.lwjgl.opengl.GL45.glGetNamedBufferSubData(buffer, offset, data);
+    }
+
+    public static void glVertexArrayVertexBuffer(int vaobj, int bindingindex, int buffer, long offset, int stride) {
+        if (Properties.VALIDATE.enabled) {
+            vertexArrayVertexBuffer(vaobj, bindingindex, buffer, offset, stride);
+        }
+        org.lwjgl.opengl.GL45.glVertexArrayVertexBuffer(vaobj, bindingindex, buffer, offset, stride);
+    }
+
+    public static void glVertexArrayAttribFormat(int vaobj, int attribindex, int size, int type, boolean normalized, int relativeoffset) {
+        if (Properties.VALIDATE.enabled) {
+            vertexArrayAttribFormat(vaobj, attribindex, size, type, relativeoffset);
+        }
+        org.lwjgl.opengl.GL45.glVertexArrayAttribFormat(vaobj, attribindex, size, type, normalized, relativeoffset);
+    }
+
+    public static void glVertexArrayAttribIFormat(int vaobj, int attribindex, int size, int type, int relativeoffset) {
+        if (Properties.VALIDATE.enabled) {
+            vertexArrayAttribFormat(vaobj, attribindex, size, type, relativeoffset);
+        }
+        org.lwjgl.opengl.GL45.glVertexArrayAttribIFormat(vaobj, attribindex, size, type, relativeoffset);
+    }
+
+    public static void glVertexArrayAttribLFormat(int vaobj, int attribindex, int size, int type, int relativeoffset) {
+        if (Properties.VALIDATE.enabled) {
+            vertexArrayAttribFormat(vaobj, attribindex, size, type, relativeoffset);
+        }
+        org.lwjgl.opengl.GL45.glVertexArrayAttribLFormat(vaobj, attribindex, size, type, relativeoffset);
+    }
+
+    public static void glVertexArrayAttribBinding(int vaobj, int attribindex, int bindingindex) {
+        if (Properties.VALIDATE.enabled) {
+            vertexArrayAttribBinding(vaobj, attribindex, bindingindex);
+        }
+        org.lwjgl.opengl.GL45.glVertexArrayAttribBinding(vaobj, attribindex, bindingindex);
+    }
+
+    public static void glVertexArrayBindingDivisor(int vaobj, int bindingindex, int divisor) {
+        if (Properties.VALIDATE.enabled) {
+            vertexArrayBindingDivisor(vaobj, bindingindex, divisor);
+        }
+        org.lwjgl.opengl.GL45.glVertexArrayBindingDivisor(vaobj, bindingindex, divisor);
+    }
+
+    public static boolean glUnmapNamedBuffer(int buffer) {
+        if (Properties.VALIDATE.enabled) {
+            unmapNamedBuffer(buffer);
+        }
+        return org.lwjgl.opengl.GL45.glUnmapNamedBuffer(buffer);
+    }
+
 }
@@ -0,0 +1,433 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.lwjglx.debug.GLmetadata;
+import org.lwjglx.debug.Log;
+import org.lwjglx.debug.RT;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.BufferObject;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.RenderbufferObject;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.ShareGroup;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.TextureLevel;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.TextureObject;
+
+/**
+ * Accounts the GPU memory allocated for buffer objects, textures and renderbuffers per share group.
+ * <p>
+ * Sizes are computed from the parameters of the allocating calls, so they are an estimate of what the driver actually allocates. Whenever the total
+ * of a share group grows past a threshold, which doubles each time, the current usage is logged. When the last context of a share group is
+ * destroyed or GLFW is terminated, all objects that are still alive are reported as leaks.
+ */
+public class GpuMemory {
+
+    public static final int BUFFERS = 0;
+    public static final int TEXTURES = 1;
+    public static final int RENDERBUFFERS = 2;
+    public static final int KINDS = 3;
+
+    private static final String[] KIND_NAMES = { "buffer objects", "textures", "renderbuffers" };
+
+    private static final long FIRST_LOG_THRESHOLD = 64L << 20;
+    private static final int MAX_REPORTED_OBJECTS = 50;
+
+    private static void allocated(ShareGroup sg, int kind, long delta) {
+        if (delta == 0L)
+            return;
+        long total = 0L;
+        synchronized (sg) {
+            /* Report again when the share group lives on after it was reported */
+            sg.memoryReported = false;
+            sg.memory[kind] += delta;
+            if (sg.memory[kind] > sg.memoryHighWater[kind])
+                sg.memoryHighWater[kind] = sg.memory[kind];
+            for (int i = 0; i < KINDS; i++)
+                total += sg.memory[i];
+            if (total > sg.memoryHighWaterTotal)
+                sg.memoryHighWaterTotal = total;
+            if (sg.memoryLogThreshold == 0L)
+                sg.memoryLogThreshold = FIRST_LOG_THRESHOLD;
+            if (total < sg.memoryLogThreshold)
+                return;
+            while (total >= sg.memoryLogThreshold)
+                sg.memoryLogThreshold <<= 1;
+        }
+        Log.info("GPU memory of share group [" + sg.counter + "] grew to " + bytes(total) + usage(sg));
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes < 1024L)
+            return bytes + " bytes";
+        if (bytes < 1024L * 1024L)
+            return String.format("%.1f KiB", bytes / 1024.0);
+        if (bytes < 1024L * 1024L * 1024L)
+            return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+        return String.format("%.2f GiB", bytes / (1024.0 * 1024.0 * 1024.0));
+    }
+
+    private static String usage(ShareGroup sg) {
+        StringBuilder sb = new StringBuilder();
+        synchronized (sg) {
+            for (int i = 0; i < KINDS; i++) {
+                sb.append("\n").append(KIND_NAMES[i]).append(": ").append(bytes(sg.memory[i]));
+                sb.append(" (peak ").append(bytes(sg.memoryHighWater[i])).append(")");
+            }
+            sb.append("\ntotal peak: ").append(bytes(sg.memoryHighWaterTotal));
+        }
+        return sb.toString();
+    }
+
+    private static String format(int internalformat) {
+        String name = RT.glEnumFor(internalformat, GLmetadata.InternalFormat());
+        return name != null ? name : "0x" + Integer.toHexString(internalformat).toUpperCase();
+    }
+
+    /* Buffer objects */
+
+    public static void bufferResized(ShareGroup sg, long oldSize, long newSize) {
+        allocated(sg, BUFFERS, newSize - oldSize);
+    }
+
+    public static void bufferDeleted(ShareGroup sg, BufferObject bo) {
+        allocated(sg, BUFFERS, -bo.size);
+    }
+
+    /* Textures */
+
+    private static int textureBindingQuery(int target) {
+        switch (target) {
+        case org.lwjgl.opengl.GL11.GL_TEXTURE_1D:
+            return org.lwjgl.opengl.GL11.GL_TEXTURE_BINDING_1D;
+        case org.lwjgl.opengl.GL11.GL_TEXTURE_2D:
+            return org.lwjgl.opengl.GL11.GL_TEXTURE_BINDING_2D;
+        case org.lwjgl.opengl.GL12.GL_TEXTURE_3D:
+            return org.lwjgl.opengl.GL12.GL_TEXTURE_BINDING_3D;
+        case org.lwjgl.opengl.GL30.GL_TEXTURE_1D_ARRAY:
+            return org.lwjgl.opengl.GL30.GL_TEXTURE_BINDING_1D_ARRAY;
+        case org.lwjgl.opengl.GL30.GL_TEXTURE_2D_ARRAY:
+            return org.lwjgl.opengl.GL30.GL_TEXTURE_BINDING_2D_ARRAY;
+        case org.lwjgl.opengl.GL31.GL_TEXTURE_RECTANGLE:
+            return org.lwjgl.opengl.GL31.GL_TEXTURE_BINDING_RECTANGLE;
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP:
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X:
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_NEGATIVE_X:
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_Y:
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_NEGATIVE_Y:
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_Z:
+        case org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_NEGATIVE_Z:
+            return org.lwjgl.opengl.GL13.GL_TEXTURE_BINDING_CUBE_MAP;
+        case org.lwjgl.opengl.GL40.GL_TEXTURE_CUBE_MAP_ARRAY:
+            return org.lwjgl.opengl.GL40.GL_TEXTURE_BINDING_CUBE_MAP_ARRAY;
+        case org.lwjgl.opengl.GL32.GL_TEXTURE_2D_MULTISAMPLE:
+            return org.lwjgl.opengl.GL32.GL_TEXTURE_BINDING_2D_MULTISAMPLE;
+        case org.lwjgl.opengl.GL32.GL_TEXTURE_2D_MULTISAMPLE_ARRAY:
+            return org.lwjgl.opengl.GL32.GL_TEXTURE_BINDING_2D_MULTISAMPLE_ARRAY;
+        default:
+            /* Proxy targets allocate nothing */
+            return 0;
+        }
+    }
+
+    private static TextureObject boundTexture(Context ctx, int target) {
+        int query = textureBindingQuery(target);
+        if (query == 0)
+            return null;
+        /* The faces of a cube map belong to the texture bound to GL_TEXTURE_CUBE_MAP */
+        int bindingTarget = query == org.lwjgl.opengl.GL13.GL_TEXTURE_BINDING_CUBE_MAP ? org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP : target;
+        return ctx.textureBinding(bindingTarget, query);
+    }
+
+    private static TextureObject texture(Context ctx, int texture) {
+        return Context.textureObject(ctx, texture);
+    }
+
+    /* The target of a texture used via direct state access, which is only queried when the texture was never bound */
+    private static int target(TextureObject to) {
+        if (to.target == 0)
+            to.target = org.lwjgl.opengl.GL45C.glGetTextureParameteri(to.handle, org.lwjgl.opengl.GL45C.GL_TEXTURE_TARGET);
+        return to.target;
+    }
+
+    private static void textureLevel(Context ctx, TextureObject to, int target, int level, int internalformat, int width, int height, int depth, long size) {
+        if (to == null)
+            return;
+        long before = to.size();
+        TextureLevel tlevel = RT.setTextureLayerSize(target, level, internalformat, width, height, depth, to);
+        if (size >= 0L)
+            tlevel.size = size;
+        allocated(ctx.shareGroup, TEXTURES, to.size() - before);
+    }
+
+    public static void texImage(int target, int level, int internalformat, int width, int height, int depth) {
+        Context ctx = Context.currentContext();
+        textureLevel(ctx, boundTexture(ctx, target), target, level, internalformat, width, height, depth, -1L);
+    }
+
+    public static void texImageMultisample(int target, int samples, int internalformat, int width, int height, int depth) {
+        Context ctx = Context.currentContext();
+        long size = RT.textureSize(internalformat, width, height, depth) * Math.max(1, samples);
+        textureLevel(ctx, boundTexture(ctx, target), target, 0, internalformat, width, height, depth, size);
+    }
+
+    public static void compressedTexImage(int target, int level, int internalformat, int width, int height, int depth, long imageSize) {
+        Context ctx = Context.currentContext();
+        textureLevel(ctx, boundTexture(ctx, target), target, level, internalformat, width, height, depth, imageSize);
+    }
+
+    private static void storage(Context ctx, TextureObject to, int target, int levels, int internalformat, int width, int height, int depth) {
+        if (to == null)
+            return;
+        long before = to.size();
+        int[] size = { width, height, depth };
+        for (int level = 0; level < levels; level++) {
+            if (target == org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP) {
+                for (int face = 0; face < 6; face++)
+                    RT.setTextureLayerSize(org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X + face, level, internalformat, size[0], size[1], size[2], to);
+            } else {
+                RT.setTextureLayerSize(target, level, internalformat, size[0], size[1], size[2], to);
+            }
+            RT.nextMipmapLevel(target, size);
+        }
+        allocated(ctx.shareGroup, TEXTURES, to.size() - before);
+    }
+
+    public static void texStorage(int target, int levels, int internalformat, int width, int height, int depth) {
+        Context ctx = Context.currentContext();
+        storage(ctx, boundTexture(ctx, target), target, levels, internalformat, width, height, depth);
+    }
+
+    public static void textureStorage(int texture, int levels, int internalformat, int width, int height, int depth) {
+        Context ctx = Context.currentContext();
+        TextureObject to = texture(ctx, texture);
+        if (to != null)
+            storage(ctx, to, target(to), levels, internalformat, width, height, depth);
+    }
+
+    public static void texStorageMultisample(int target, int samples, int internalformat, int width, int height, int depth) {
+        texImageMultisample(target, samples, internalformat, width, height, depth);
+    }
+
+    public static void textureStorageMultisample(int texture, int samples, int internalformat, int width, int height, int depth) {
+        Context ctx = Context.currentContext();
+        TextureObject to = texture(ctx, texture);
+        if (to == null)
+            return;
+        long size = RT.textureSize(internalformat, width, height, depth) * Math.max(1, samples);
+        textureLevel(ctx, to, target(to), 0, internalformat, width, height, depth, size);
+    }
+
+    private static void mipmaps(Context ctx, TextureObject to, int target, int baseLevel, int maxLevel) {
+        long before = to.size();
+        RT.generateMipmap(target, baseLevel, maxLevel, to);
+        allocated(ctx.shareGroup, TEXTURES, to.size() - before);
+    }
+
+    public static void generateMipmap(int target) {
+        Context ctx = Context.currentContext();
+        TextureObject to = boundTexture(ctx, target);
+        if (to == null)
+            return;
+        /* Not tracked, since there are many ways to set them, but mipmaps are generated rarely enough to query them */
+        int baseLevel = org.lwjgl.opengl.GL11.glGetTexParameteri(target, org.lwjgl.opengl.GL12.GL_TEXTURE_BASE_LEVEL);
+        int maxLevel = org.lwjgl.opengl.GL11.glGetTexParameteri(target, org.lwjgl.opengl.GL12.GL_TEXTURE_MAX_LEVEL);
+        mipmaps(ctx, to, target, baseLevel, maxLevel);
+    }
+
+    public static void generateTextureMipmap(int texture) {
+        Context ctx = Context.currentContext();
+        TextureObject to = texture(ctx, texture);
+        if (to == null)
+            return;
+        int baseLevel = org.lwjgl.opengl.GL45C.glGetTextureParameteri(texture, org.lwjgl.opengl.GL12.GL_TEXTURE_BASE_LEVEL);
+        int maxLevel = org.lwjgl.opengl.GL45C.glGetTextureParameteri(texture, org.lwjgl.opengl.GL12.GL_TEXTURE_MAX_LEVEL);
+        mipmaps(ctx, to, target(to), baseLevel, maxLevel);
+    }
+
+    public static void textureDeleted(int texture) {
+        if (texture == 0)
+            return;
+        Context ctx = Context.currentContext();
+        TextureObject to = ctx.shareGroup.textureObjects.remove(texture);
+        if (to != null) {
+            /* Deleting a bound texture unbinds it in the current context */
+            ctx.textureObjectBindings.removeValue(to);
+            allocated(ctx.shareGroup, TEXTURES, -to.size());
+        }
+    }
+
+    public static void texturesDeleted(IntBuffer textures) {
+        int pos = textures.position();
+        for (int i = 0; i < textures.remaining(); i++)
+            textureDeleted(textures.get(pos + i));
+    }
+
+    public static void texturesDeleted(int[] textures) {
+        for (int i = 0; i < textures.length; i++)
+            textureDeleted(textures[i]);
+    }
+
+    /* Renderbuffers */
+
+    private static RenderbufferObject renderbuffer(Context ctx, int renderbuffer) {
+        if (renderbuffer == 0)
+            return null;
+        RenderbufferObject rbo = ctx.shareGroup.renderbufferObjects.get(renderbuffer);
+        if (rbo == null) {
+            rbo = new RenderbufferObject(renderbuffer);
+            ctx.shareGroup.renderbufferObjects.put(renderbuffer, rbo);
+        }
+        return rbo;
+    }
+
+    private static void renderbufferStorage(Context ctx, RenderbufferObject rbo, int samples, int internalformat, int width, int height) {
+        if (rbo == null)
+            return;
+        long size = RT.textureSize(internalformat, width, height, 1) * Math.max(1, samples);
+        long delta = size - rbo.size;
+        rbo.size = size;
+        rbo.internalformat = internalformat;
+        rbo.width = width;
+        rbo.height = height;
+        rbo.samples = samples;
+        allocated(ctx.shareGroup, RENDERBUFFERS, delta);
+    }
+
+    public static void renderbufferStorage(int samples, int internalformat, int width, int height) {
+        Context ctx = Context.currentContext();
+        /* There is only the GL_RENDERBUFFER target */
+        renderbufferStorage(ctx, renderbuffer(ctx, ctx.renderbufferBinding()), samples, internalformat, width, height);
+    }
+
+    public static void namedRenderbufferStorage(int renderbuffer, int samples, int internalformat, int width, int height) {
+        Context ctx = Context.currentContext();
+        renderbufferStorage(ctx, renderbuffer(ctx, renderbuffer), samples, internalformat, width, height);
+    }
+
+    public static void renderbufferDeleted(int renderbuffer) {
+        if (renderbuffer == 0)
+            return;
+        Context ctx = Context.currentContext();
+        if (ctx.renderbufferBinding == renderbuffer)
+            ctx.renderbufferBinding = 0;
+        RenderbufferObject rbo = ctx.shareGroup.renderbufferObjects.remove(renderbuffer);
+        if (rbo != null)
+            allocated(ctx.shareGroup, RENDERBUFFERS, -rbo.size);
+    }
+
+    public static void renderbuffersDeleted(IntBuffer renderbuffers) {
+        int pos = renderbuffers.position();
+        for (int i = 0; i < renderbuffers.remaining(); i++)
+            renderbufferDeleted(renderbuffers.get(pos + i));
+    }
+
+    public static void renderbuffersDeleted(int[] renderbuffers) {
+        for (int i = 0; i < renderbuffers.length; i++)
+            renderbufferDeleted(renderbuffers[i]);
+    }
+
+    /* Reporting */
+
+    private static class Leak {
+        long size;
+        String description;
+
+        Leak(long size, String description) {
+            this.size = size;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Log the GPU memory usage of the given share group together with all objects that are still alive.
+     */
+    public static void report(ShareGroup sg, String reason) {
+        List<Leak> leaks = new ArrayList<>();
+        synchronized (sg) {
+            if (sg.memoryReported)
+                return;
+            sg.memoryReported = true;
+        }
+        for (BufferObject bo : sg.bufferObjects.values()) {
+            if (bo.size > 0L)
+                leaks.add(new Leak(bo.size, "buffer object " + bo.handle));
+        }
+        for (TextureObject to : sg.textureObjects.values()) {
+            long size = to.size();
+            if (size > 0L) {
+                TextureLevel level0 = to.layers[0].levels != null ? to.layers[0].levels[0] : null;
+                String description = "texture " + to.handle;
+                if (level0 != null)
+                    description += " " + level0.width + "x" + level0.height + "x" + level0.depth + " " + format(level0.internalformat);
+                leaks.add(new Leak(size, description));
+            }
+        }
+        for (RenderbufferObject rbo : sg.renderbufferObjects.values()) {
+            if (rbo.size > 0L) {
+                String description = "renderbuffer " + rbo.handle + " " + rbo.width + "x" + rbo.height + " " + format(rbo.internalformat);
+                if (rbo.samples > 1)
+                    description += " " + rbo.samples + "x multisampled";
+                leaks.add(new Leak(rbo.size, description));
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("GPU memory of share group [").append(sg.counter).append("] ").append(reason).append(":");
+        sb.append(usage(sg));
+        if (leaks.isEmpty()) {
+            Log.info(sb.toString(), Integer.MAX_VALUE);
+            return;
+        }
+        Collections.sort(leaks, new Comparator<Leak>() {
+            public int compare(Leak o1, Leak o2) {
+                return Long.compare(o2.size, o1.size);
+            }
+        });
+        sb.append("\n").append(leaks.size()).append(" objects were not deleted:");
+        for (int i = 0; i < leaks.size() && i < MAX_REPORTED_OBJECTS; i++) {
+            Leak leak = leaks.get(i);
+            sb.append("\n  ").append(leak.description).append(": ").append(bytes(leak.size));
+        }
+        if (leaks.size() > MAX_REPORTED_OBJECTS)
+            sb.append("\n  ... and ").append(leaks.size() - MAX_REPORTED_OBJECTS).append(" more");
+        Log.info(sb.toString(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Report all share groups that still have contexts when GLFW is terminated.
+     */
+    public static void terminate() {
+        List<ShareGroup> reported = new ArrayList<>();
+        for (Context ctx : Context.CONTEXTS.values()) {
+            ShareGroup sg = ctx.shareGroup;
+            if (sg != null && !reported.contains(sg)) {
+                reported.add(sg);
+                report(sg, "when terminating GLFW");
+            }
+        }
+    }
+
+}
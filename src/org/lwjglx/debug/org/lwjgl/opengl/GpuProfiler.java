@@ -0,0 +1,299 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.lwjglx.debug.IntMap;
+import org.lwjglx.debug.Log;
+import org.lwjglx.debug.Properties;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.TimedCodeSection;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.TimingQuery;
+
+/**
+ * Measures the GPU time of code sections and draw calls with <code>GL_TIMESTAMP</code> queries.
+ * <p>
+ * Sections are marked with <code>glPushDebugGroup</code>/<code>glPopDebugGroup</code> or with {@link org.lwjglx.debug.Control#pushGpuSection(String)}.
+ * Every section boundary, every draw call (when requested) and the end of each frame issues a timestamp query. The queries of a frame are only read
+ * back once the last query of that frame is available, which is checked at the end of each following frame, so the profiler never waits for the
+ * GPU. Then the GPU times of that frame and its sections are logged.
+ * <p>
+ * There is one instance per context, which is only used by the thread the context is current in.
+ */
+public class GpuProfiler {
+
+    /* Number of frames whose queries may still be pending before the results of the oldest frame are discarded */
+    private static final int MAX_PENDING_FRAMES = 8;
+    private static final int QUERY_BATCH = 64;
+
+    private static class Frame {
+        long number;
+        int[] queries = new int[QUERY_BATCH];
+        int queryCount;
+        int end;
+        TimingQuery frame = new TimingQuery();
+        /* The whole frame and the draw calls outside of any section */
+        TimedCodeSection root = new TimedCodeSection();
+        Map<String, TimedCodeSection> sections = new LinkedHashMap<>();
+
+        TimedCodeSection section(String name) {
+            if (name == null)
+                return root;
+            TimedCodeSection section = sections.get(name);
+            if (section == null) {
+                section = new TimedCodeSection();
+                section.name = name;
+                sections.put(name, section);
+            }
+            return section;
+        }
+    }
+
+    private final boolean supported;
+    private int[] pool = new int[QUERY_BATCH];
+    private int poolSize;
+    private final ArrayDeque<Frame> pending = new ArrayDeque<>();
+    private Frame current;
+    private long frameNumber;
+    private long reportedFrames;
+    private boolean droppedFrames;
+    /* The currently open sections, outermost first */
+    private final ArrayList<TimingQuery> open = new ArrayList<>();
+    private final ArrayList<String> openNames = new ArrayList<>();
+    /* The last timestamp query, which is the start of the next draw call */
+    private int lastQuery;
+
+    private GpuProfiler(boolean supported) {
+        this.supported = supported;
+    }
+
+    private static GpuProfiler of(Context ctx) {
+        GpuProfiler profiler = ctx.gpuProfiler;
+        if (profiler != null)
+            return profiler.supported ? profiler : null;
+        if (ctx.caps == null) {
+            /* GL.createCapabilities() was not called yet */
+            return null;
+        }
+        boolean supported = ctx.caps.OpenGL33 || ctx.caps.GL_ARB_timer_query;
+        if (!supported)
+            Log.info("GPU profiler disabled for this context, because it requires OpenGL 3.3 or ARB_timer_query");
+        profiler = new GpuProfiler(supported);
+        ctx.gpuProfiler = profiler;
+        if (supported)
+            profiler.beginFrame();
+        return supported ? profiler : null;
+    }
+
+    private int timestamp() {
+        if (poolSize == 0) {
+            org.lwjgl.opengl.GL15C.glGenQueries(pool);
+            poolSize = pool.length;
+        }
+        int query = pool[--poolSize];
+        org.lwjgl.opengl.GL33C.glQueryCounter(query, org.lwjgl.opengl.GL33C.GL_TIMESTAMP);
+        if (current.queryCount == current.queries.length)
+            current.queries = Arrays.copyOf(current.queries, current.queries.length * 2);
+        current.queries[current.queryCount++] = query;
+        lastQuery = query;
+        return query;
+    }
+
+    private void release(Frame frame) {
+        for (int i = 0; i < frame.queryCount; i++) {
+            if (poolSize == pool.length)
+                pool = Arrays.copyOf(pool, pool.length * 2);
+            pool[poolSize++] = frame.queries[i];
+        }
+    }
+
+    private void beginFrame() {
+        current = new Frame();
+        current.number = frameNumber;
+        current.frame.before = timestamp();
+        current.root.queries.add(current.frame);
+        /* Sections still open at the end of the last frame continue in this frame */
+        for (int i = 0; i < open.size(); i++) {
+            TimingQuery query = new TimingQuery();
+            query.before = current.frame.before;
+            current.section(openNames.get(i)).queries.add(query);
+            open.set(i, query);
+        }
+    }
+
+    public static void push(String name) {
+        GpuProfiler profiler = of(Context.currentContext());
+        if (profiler == null)
+            return;
+        String path = profiler.openNames.isEmpty() ? name : profiler.openNames.get(profiler.openNames.size() - 1) + "/" + name;
+        TimingQuery query = new TimingQuery();
+        query.before = profiler.timestamp();
+        profiler.current.section(path).queries.add(query);
+        profiler.open.add(query);
+        profiler.openNames.add(path);
+    }
+
+    public static void pop() {
+        GpuProfiler profiler = of(Context.currentContext());
+        if (profiler == null || profiler.open.isEmpty())
+            return;
+        int last = profiler.open.size() - 1;
+        profiler.open.remove(last).after = profiler.timestamp();
+        profiler.openNames.remove(last);
+    }
+
+    /**
+     * Called after each draw call. The GPU time of a draw call is the time since the previous timestamp, which is the end of the previous draw call
+     * or section boundary.
+     */
+    public static void draw(Context ctx) {
+        if (!"draws".equals(Properties.GPU_PROFILE))
+            return;
+        GpuProfiler profiler = of(ctx);
+        if (profiler == null)
+            return;
+        TimingQuery query = new TimingQuery();
+        query.drawTime = true;
+        query.before = profiler.lastQuery;
+        query.after = profiler.timestamp();
+        String section = profiler.openNames.isEmpty() ? null : profiler.openNames.get(profiler.openNames.size() - 1);
+        profiler.current.section(section).queries.add(query);
+    }
+
+    /**
+     * Called at the end of each frame to start the next frame and to report the frames whose queries are available by now.
+     */
+    public static void frame(Context ctx) {
+        GpuProfiler profiler = of(ctx);
+        if (profiler == null)
+            return;
+        Frame frame = profiler.current;
+        frame.end = profiler.timestamp();
+        frame.frame.after = frame.end;
+        for (TimingQuery query : profiler.open)
+            query.after = frame.end;
+        profiler.pending.add(frame);
+        profiler.frameNumber++;
+        profiler.beginFrame();
+        profiler.readBack();
+    }
+
+    private void readBack() {
+        while (!pending.isEmpty()) {
+            Frame frame = pending.peek();
+            /* Timestamps complete in order, so once the last one is available, all queries of the frame are */
+            if (org.lwjgl.opengl.GL15C.glGetQueryObjecti(frame.end, org.lwjgl.opengl.GL15C.GL_QUERY_RESULT_AVAILABLE) == 0)
+                break;
+            pending.poll();
+            IntMap<Long> times = new IntMap<>(frame.queryCount);
+            for (int i = 0; i < frame.queryCount; i++) {
+                int query = frame.queries[i];
+                times.put(query, Long.valueOf(org.lwjgl.opengl.GL33C.glGetQueryObjecti64(query, org.lwjgl.opengl.GL15C.GL_QUERY_RESULT)));
+            }
+            readTimes(frame.root, times);
+            for (TimedCodeSection section : frame.sections.values())
+                readTimes(section, times);
+            release(frame);
+            report(frame);
+            reportedFrames++;
+        }
+        while (pending.size() > MAX_PENDING_FRAMES) {
+            if (!droppedFrames) {
+                Log.info("GPU profiler results are not available after " + MAX_PENDING_FRAMES + " frames. Discarding the results of older frames");
+                droppedFrames = true;
+            }
+            release(pending.poll());
+        }
+    }
+
+    private static void readTimes(TimedCodeSection section, IntMap<Long> times) {
+        for (TimingQuery query : section.queries) {
+            query.time0 = times.get(query.before).longValue();
+            query.time1 = times.get(query.after).longValue();
+            query.used = true;
+        }
+    }
+
+    /**
+     * Return the number of frames whose GPU times were reported so far.
+     */
+    public long reportedFrames() {
+        return reportedFrames;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%,.3f ms", nanos / 1E6);
+    }
+
+    private static int draws(TimedCodeSection section) {
+        int draws = 0;
+        for (TimingQuery query : section.queries) {
+            if (query.drawTime)
+                draws++;
+        }
+        return draws;
+    }
+
+    private static long drawsTime(TimedCodeSection section) {
+        long time = 0L;
+        for (TimingQuery query : section.queries) {
+            if (query.drawTime)
+                time += query.time1 - query.time0;
+        }
+        return time;
+    }
+
+    private static void report(Frame frame) {
+        long drawsTime = drawsTime(frame.root);
+        int draws = draws(frame.root);
+        for (TimedCodeSection section : frame.sections.values()) {
+            drawsTime += drawsTime(section);
+            draws += draws(section);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("GPU time of frame ").append(frame.number).append(": ").append(millis(frame.frame.time1 - frame.frame.time0));
+        if (draws > 0)
+            sb.append(" (").append(draws).append(" draws: ").append(millis(drawsTime)).append(")");
+        for (TimedCodeSection section : frame.sections.values()) {
+            long time = 0L;
+            int count = 0;
+            for (TimingQuery query : section.queries) {
+                if (!query.drawTime) {
+                    time += query.time1 - query.time0;
+                    count++;
+                }
+            }
+            sb.append("\n  ").append(section.name).append(": ").append(millis(time));
+            if (count > 1)
+                sb.append(" in ").append(count).append(" sections");
+            if (draws(section) > 0)
+                sb.append(" (").append(draws(section)).append(" draws: ").append(millis(drawsTime(section))).append(")");
+        }
+        Log.info(sb.toString(), Integer.MAX_VALUE);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * The smallest and the largest index of a range of GL_UNSIGNED_BYTE, GL_UNSIGNED_SHORT or GL_UNSIGNED_INT indices.
+ * <p>
+ * The indices are scanned a 64-bit word at a time, keeping the minimum and maximum of all 8, 4 or 2 lanes of a word in parallel using SWAR
+ * arithmetic, so that only the final accumulators have to be split into their lanes.
+ */
+public class IndexRange {
+
+    /* Key of the cached range in its element array buffer object, which equals() and hashCode() compare */
+    public long offset;
+    public int count;
+    public int type;
+
+    public long min;
+    public long max;
+
+    private static final long[] HIGH_BITS = { 0x8080808080808080L, 0x8000800080008000L, 0x8000000080000000L };
+    private static final long[] LANE_MASKS = { 0xFFL, 0xFFFFL, 0xFFFFFFFFL };
+
+    public int hashCode() {
+        return ((int) (offset ^ offset >>> 32) * 31 + count) * 31 + type;
+    }
+
+    public boolean equals(Object o) {
+        if (!(o instanceof IndexRange))
+            return false;
+        IndexRange r = (IndexRange) o;
+        return offset == r.offset && count == r.count && type == r.type;
+    }
+
+    /**
+     * Return the binary logarithm of the size of an index of the given type or -1 if the type is not a valid index type.
+     */
+    public static int shift(int type) {
+        switch (type) {
+        case org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE:
+            return 0;
+        case org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT:
+            return 1;
+        case org.lwjgl.opengl.GL11.GL_UNSIGNED_INT:
+            return 2;
+        default:
+            return -1;
+        }
+    }
+
+    private static long index(long address, int shift) {
+        switch (shift) {
+        case 0:
+            return MemoryUtil.memGetByte(address) & 0xFFL;
+        case 1:
+            return MemoryUtil.memGetShort(address) & 0xFFFFL;
+        default:
+            return MemoryUtil.memGetInt(address) & 0xFFFFFFFFL;
+        }
+    }
+
+    public static IndexRange scan(long address, int count, int type) {
+        int shift = shift(type);
+        int laneBits = 8 << shift;
+        long high = HIGH_BITS[shift];
+        long laneMask = LANE_MASKS[shift];
+        long words = ((long) count << shift) >>> 3;
+        long maxs = 0L, mins = -1L;
+        for (long i = 0L; i < words; i++) {
+            long w = MemoryUtil.memGetLong(address + (i << 3));
+            /* Per lane: the high bit of (w | high) - (maxs & ~high) is set iff the low bits of w are not less than those of maxs */
+            long lowGreaterEqual = ((w | high) - (maxs & ~high)) & high;
+            long greaterEqual = (w & ~maxs | ~(w ^ maxs) & lowGreaterEqual) & high;
+            long mask = (greaterEqual >>> laneBits - 1) * laneMask;
+            maxs = w & mask | maxs & ~mask;
+            lowGreaterEqual = ((mins | high) - (w & ~high)) & high;
+            greaterEqual = (mins & ~w | ~(mins ^ w) & lowGreaterEqual) & high;
+            mask = (greaterEqual >>> laneBits - 1) * laneMask;
+            mins = w & mask | mins & ~mask;
+        }
+        IndexRange range = new IndexRange();
+        range.count = count;
+        range.type = type;
+        range.min = laneMask;
+        range.max = words > 0L ? 0L : -1L;
+        if (words > 0L) {
+            for (int lane = 0; lane < 64; lane += laneBits) {
+                range.min = Math.min(range.min, mins >>> lane & laneMask);
+                range.max = Math.max(range.max, maxs >>> lane & laneMask);
+            }
+        }
+        for (long i = words << 3 >>> shift; i < count; i++) {
+            long index = index(address + (i << shift), shift);
+            range.min = Math.min(range.min, index);
+            range.max = Math.max(range.max, index);
+        }
+        return range;
+    }
+
+    /**
+     * Recompute the largest index ignoring the given primitive restart index, which is the only index that may legally exceed the vertex arrays.
+     */
+    public void excludeRestartIndex(long address, long restartIndex) {
+        if (restartIndex < 0L || max != restartIndex)
+            return;
+        int shift = shift(type);
+        max = -1L;
+        for (long i = 0L; i < count; i++) {
+            long index = index(address + (i << shift), shift);
+            if (index != restartIndex)
+                max = Math.max(max, index);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright 2017 Kai Burjack
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+
+ */
+package org.lwjglx.debug.org.lwjgl.opengl;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.system.MemoryUtil;
+import org.lwjglx.debug.Properties;
+
+public class KHRDebug {
+
+    public static void glPushDebugGroup(int source, int id, ByteBuffer message) {
+        org.lwjgl.opengl.KHRDebug.glPushDebugGroup(source, id, message);
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.push(MemoryUtil.memUTF8(message, message.remaining()));
+        }
+    }
+
+    public static void glPushDebugGroup(int source, int id, CharSequence message) {
+        org.lwjgl.opengl.KHRDebug.glPushDebugGroup(source, id, message);
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.push(message.toString());
+        }
+    }
+
+    public static void glPopDebugGroup() {
+        if (Properties.GPU_PROFILE != null) {
+            GpuProfiler.pop();
+        }
+        org.lwjgl.opengl.KHRDebug.glPopDebugGroup();
+    }
+
+}
@@ -0,0 +1,164 @@
+package bench;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Metaspace, code cache and loaded classes of an application with many classes calling the same few LWJGL methods, without the agent and with the
+ * agent generating its proxy classes for validation and for <code>mutable</code> (which includes the trace code).
+ * <p>
+ * The memory figures are reported as secondary results of the single shot. Each forked JVM attaches the agent jar given by the system property
+ * <code>bench.agent</code> to itself, which defaults to the jar built into <code>target</code> by <code>./mvnw package</code>. To compare with
+ * the proxy classes generated per calling class, run the benchmark once more with <code>-Dbench.agent</code> set to a jar built from the commit
+ * before the proxies were shared. Leave <code>target/classes</code> off the class path, so that the agent classes are loaded from that jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.attach.allowAttachSelf=true")
+public class ProxySharingBenchmark {
+
+    /* The LWJGL methods called by every generated class, each allocating a buffer that is freed again */
+    private static final String[][] ALLOCATIONS = {
+        { "memAlloc", "java/nio/ByteBuffer" },
+        { "memCalloc", "java/nio/ByteBuffer" },
+        { "memAllocInt", "java/nio/IntBuffer" },
+        { "memAllocFloat", "java/nio/FloatBuffer" },
+        { "memAllocLong", "java/nio/LongBuffer" },
+        { "memAllocShort", "java/nio/ShortBuffer" },
+        { "memAllocDouble", "java/nio/DoubleBuffer" },
+    };
+
+    private static final int CLASSES = 400;
+    /* Not more, because validation enables the LWJGL debug allocator, which records the stack of every allocation */
+    private static final int CALLS = 1000;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Memory {
+        public long metaspaceKB;
+        public long codeCacheKB;
+        public long loadedClasses;
+
+        void measure() {
+            System.gc();
+            metaspaceKB = codeCacheKB = 0L;
+            for (MemoryPoolMXBean p : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (p.getName().equals("Metaspace"))
+                    metaspaceKB = p.getUsage().getUsed() / 1024L;
+                else if (p.getName().startsWith("CodeHeap") || p.getName().equals("Code Cache"))
+                    codeCacheKB += p.getUsage().getUsed() / 1024L;
+            }
+            loadedClasses = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        }
+    }
+
+    private static class Loader extends ClassLoader {
+        Loader() {
+            super(ProxySharingBenchmark.class.getClassLoader());
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    /* The agent arguments, where "none" only attaches to the JVM without loading the agent, so that all runs load the attach classes */
+    @Param({ "none", "validate", "mutable" })
+    public String agent;
+
+    private IntConsumer[] callers;
+
+    private static String agentJar() {
+        String jar = System.getProperty("bench.agent");
+        if (jar != null)
+            return jar;
+        File[] jars = new File("target").listFiles();
+        if (jars != null) {
+            for (File f : jars) {
+                String name = f.getName();
+                if (name.startsWith("lwjglx-debug-") && name.endsWith(".jar") && !name.endsWith("-sources.jar") && !name.endsWith("-javadoc.jar"))
+                    return f.getAbsolutePath();
+            }
+        }
+        throw new IllegalStateException("No agent jar in target. Run ./mvnw package or set the system property bench.agent");
+    }
+
+    private void attach() throws Exception {
+        /* Via reflection, since Java 8 only has the attach API in tools.jar */
+        Class<?> virtualMachine = Class.forName("com.sun.tools.attach.VirtualMachine");
+        String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        Object vm = virtualMachine.getMethod("attach", String.class).invoke(null, pid);
+        try {
+            if (!agent.equals("none"))
+                virtualMachine.getMethod("loadAgent", String.class, String.class).invoke(vm, agentJar(), agent.equals("mutable") ? "m" : null);
+        } finally {
+            virtualMachine.getMethod("detach").invoke(vm);
+        }
+    }
+
+    private static byte[] generateCaller(String internalName) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", new String[] { "java/util/function/IntConsumer" });
+        MethodVisitor ctor = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        ctor.visitCode();
+        ctor.visitVarInsn(Opcodes.ALOAD, 0);
+        ctor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        ctor.visitInsn(Opcodes.RETURN);
+        ctor.visitMaxs(0, 0);
+        ctor.visitEnd();
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "accept", "(I)V", null, null);
+        mv.visitCode();
+        for (int i = 0; i < ALLOCATIONS.length; i++) {
+            mv.visitVarInsn(Opcodes.ILOAD, 1);
+            mv.visitIntInsn(Opcodes.BIPUSH, 8);
+            mv.visitInsn(Opcodes.IADD);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "org/lwjgl/system/MemoryUtil", ALLOCATIONS[i][0], "(I)L" + ALLOCATIONS[i][1] + ";", false);
+            mv.visitVarInsn(Opcodes.ASTORE, 2 + i);
+        }
+        for (int i = 0; i < ALLOCATIONS.length; i++) {
+            mv.visitVarInsn(Opcodes.ALOAD, 2 + i);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "org/lwjgl/system/MemoryUtil", "memFree", "(Ljava/nio/Buffer;)V", false);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        attach();
+        Loader loader = new Loader();
+        callers = new IntConsumer[CLASSES];
+        for (int i = 0; i < CLASSES; i++) {
+            String name = "bench/generated/Caller" + i;
+            callers[i] = (IntConsumer) loader.define(name.replace('/', '.'), generateCaller(name)).getDeclaredConstructor().newInstance();
+        }
+    }
+
+    private void callAll(Memory memory) {
+        for (int i = 0; i < CALLS; i++) {
+            for (IntConsumer caller : callers)
+                caller.accept(i & 7);
+        }
+        memory.measure();
+    }
+
+    @Benchmark
+    public void calls(Memory memory) {
+        callAll(memory);
+    }
+
+}
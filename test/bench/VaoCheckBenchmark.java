@@ -0,0 +1,87 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lwjglx.debug.org.lwjgl.opengl.Context;
+import org.lwjglx.debug.org.lwjgl.opengl.Context.VAO;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Per-draw cost of checking that all enabled vertex arrays are initialized, comparing the boolean arrays the VAO used to have with the bitsets
+ * of {@link Context#checkVertexAttributes(VAO)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VaoCheckBenchmark {
+
+    /* The old representation of the vertex array state */
+    static class BooleanVAO {
+        boolean[] enabledVertexArrays;
+        boolean[] initializedVertexArrays;
+        boolean vertexArrayEnabled, vertexArrayInitialized;
+        boolean normalArrayEnabled, normalArrayInitialized;
+        boolean colorArrayEnabled, colorArrayInitialized;
+        boolean texCoordArrayEnabled, texCoordArrayInitialized;
+
+        BooleanVAO(int maxVertexAttribs) {
+            enabledVertexArrays = new boolean[maxVertexAttribs];
+            initializedVertexArrays = new boolean[maxVertexAttribs];
+        }
+    }
+
+    @Param({ "16", "32" })
+    public int maxVertexAttribs;
+
+    @Param({ "4" })
+    public int enabledArrays;
+
+    private BooleanVAO booleanVao;
+    private VAO vao;
+
+    @Setup
+    public void setup() {
+        booleanVao = new BooleanVAO(maxVertexAttribs);
+        vao = new VAO(maxVertexAttribs);
+        for (int i = 0; i < enabledArrays; i++) {
+            booleanVao.enabledVertexArrays[i] = true;
+            booleanVao.initializedVertexArrays[i] = true;
+            vao.enableVertexArray(i, true);
+            vao.initializeVertexArray(i, true);
+        }
+    }
+
+    private static void checkBooleanVertexAttributes(BooleanVAO vao) {
+        for (int i = 0; i < vao.enabledVertexArrays.length; i++) {
+            if (vao.enabledVertexArrays[i] && !vao.initializedVertexArrays[i]) {
+                throw new IllegalStateException("Vertex array [" + i + "] enabled but not initialized");
+            }
+        }
+        if (vao.vertexArrayEnabled && !vao.vertexArrayInitialized) {
+            throw new IllegalStateException("GL_VERTEX_ARRAY enabled but not initialized");
+        }
+        if (vao.normalArrayEnabled && !vao.normalArrayInitialized) {
+            throw new IllegalStateException("GL_NORMAL_ARRAY enabled but not initialized");
+        }
+        if (vao.colorArrayEnabled && !vao.colorArrayInitialized) {
+            throw new IllegalStateException("GL_COLOR_ARRAY enabled but not initialized");
+        }
+        if (vao.texCoordArrayEnabled && !vao.texCoordArrayInitialized) {
+            throw new IllegalStateException("GL_TEXTURE_COORD_ARRAY enabled but not initialized");
+        }
+    }
+
+    @Benchmark
+    public void booleanArrays() {
+        checkBooleanVertexAttributes(booleanVao);
+    }
+
+    @Benchmark
+    public void bitsets() {
+        Context.checkVertexAttributes(vao);
+    }
+
+}
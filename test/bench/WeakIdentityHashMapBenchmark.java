@@ -0,0 +1,103 @@
+package bench;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.lwjglx.debug.WeakIdentityHashMap;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Multi-threaded lookups and updates of buffer provenance maps, comparing {@link WeakIdentityHashMap} with the synchronized map that allocates a
+ * weak reference for every lookup, which <code>RT</code> used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class WeakIdentityHashMapBenchmark {
+
+    /* The previous implementation, reduced to the operations measured here */
+    static class SynchronizedWeakIdentityHashMap<K, V> {
+        private final Map<IdentityWeakReference, V> backingStore = Collections.synchronizedMap(new HashMap<IdentityWeakReference, V>());
+
+        V get(Object key) {
+            return backingStore.get(new IdentityWeakReference(key));
+        }
+
+        V put(K key, V value) {
+            return backingStore.put(new IdentityWeakReference(key), value);
+        }
+
+        static class IdentityWeakReference extends WeakReference<Object> {
+            final int hash;
+
+            IdentityWeakReference(Object obj) {
+                super(obj);
+                hash = System.identityHashCode(obj);
+            }
+
+            public int hashCode() {
+                return hash;
+            }
+
+            public boolean equals(Object o) {
+                return this == o || o instanceof IdentityWeakReference && get() == ((IdentityWeakReference) o).get();
+            }
+        }
+    }
+
+    private static final int KEYS = 1024;
+
+    private ByteBuffer[] keys;
+    private WeakIdentityHashMap<ByteBuffer, Boolean> weakIdentityHashMap;
+    private SynchronizedWeakIdentityHashMap<ByteBuffer, Boolean> synchronizedMap;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int next() {
+            return next++ & KEYS - 1;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        keys = new ByteBuffer[KEYS];
+        weakIdentityHashMap = new WeakIdentityHashMap<>();
+        synchronizedMap = new SynchronizedWeakIdentityHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = ByteBuffer.allocateDirect(16);
+            weakIdentityHashMap.put(keys[i], Boolean.TRUE);
+            synchronizedMap.put(keys[i], Boolean.TRUE);
+        }
+    }
+
+    @Benchmark
+    public Boolean getWeakIdentityHashMap(Cursor cursor) {
+        return weakIdentityHashMap.get(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public Boolean getSynchronized(Cursor cursor) {
+        return synchronizedMap.get(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public Boolean putWeakIdentityHashMap(Cursor cursor) {
+        return weakIdentityHashMap.put(keys[cursor.next()], Boolean.TRUE);
+    }
+
+    @Benchmark
+    public Boolean putSynchronized(Cursor cursor) {
+        return synchronizedMap.put(keys[cursor.next()], Boolean.TRUE);
+    }
+
+}
@@ -9,6 +9,8 @@ import static org.lwjgl.opengl.GL15.*;
 import static org.lwjgl.opengl.GL20.*;
 import static org.lwjgl.opengl.GL30.*;
 
+import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
@@ -28,8 +30,10 @@ import org.lwjgl.*;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.opengl.*;
 import org.lwjgl.system.*;
+import org.lwjglx.debug.Control;
 import org.lwjglx.debug.Properties;
 import org.lwjglx.debug.org.lwjgl.opengl.Context;
+import org.lwjglx.debug.org.lwjgl.opengl.GpuMemory;
 
 public class DebugIT {
 
@@ -45,7 +49,9 @@ public class DebugIT {
             "testNoVertexAttribPointerInCustomVAO",
             "testNoVertexAttribPointerInCustomVAOWithIndicesBuffer",
             "testBindVAOFromSharedContext",
-            "testBindFBOFromSharedContext"
+            "testBindFBOFromSharedContext",
+            "testFramebufferCompleteAfterAttachment",
+            "testGpuProfiler"
     ));
 
     static {
@@ -240,6 +246,30 @@ public class DebugIT {
         assertThrows(IllegalStateException.class, () -> glEnable(GL_VERTEX_ARRAY_POINTER), Pattern.compile("glEnable produced error: 1280 \\(GL_INVALID_ENUM\\)"));
     }
 
+    @Test
+    public void testLazyGLErrorBisection() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        Properties.LAZY_ERRORS.enabled = true;
+        try {
+            /* Two different errors in the first frame, which must both be drained when the frame ends */
+            glEnable(GL_VERTEX_ARRAY_POINTER); // <--- MUST NOT THROW
+            for (int i = 0; i < 100; i++) {
+                glClearColor(0.0f, 0.0f, 0.0f, 1.0f);
+                if (i == 50)
+                    glLineWidth(-1.0f); // <--- MUST NOT THROW
+            }
+            glfwSwapBuffers(window);
+            /* Now every call is checked, so the second frame finds the culprit instead of blaming the first call */
+            for (int i = 0; i < 50; i++)
+                glClearColor(0.0f, 0.0f, 0.0f, 1.0f);
+            assertThrows(IllegalStateException.class, () -> glLineWidth(-1.0f), Pattern.compile("glLineWidth produced error: 1281 \\(GL_INVALID_VALUE\\)"));
+        } finally {
+            Properties.LAZY_ERRORS.enabled = false;
+        }
+    }
+
     @Test
     public void testNoVertexAttribPointerDefaultVAO() {
         window = glfwCreateWindow(800, 600, "", 0L, 0L);
@@ -366,6 +396,67 @@ public class DebugIT {
         		"There is no GL_ARRAY_BUFFER bound and pointer argument [0] is invalid. This will likely lead to a JVM crash in a draw call");
     }
 
+    @Test
+    public void testVertexAttribPointerAfterDeletingBuffer() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        int vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
+        /* Deleting the bound buffer object reverts the GL_ARRAY_BUFFER binding to zero */
+        glDeleteBuffers(vbo);
+        assertThrows(IllegalArgumentException.class, () -> glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L), 
+        		"There is no GL_ARRAY_BUFFER bound and pointer argument [0] is invalid. This will likely lead to a JVM crash in a draw call");
+    }
+
+    @Test
+    public void testBufferSubDataOutOfRange() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        int vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, 16L, GL_STATIC_DRAW);
+        glBufferSubData(GL_ARRAY_BUFFER, 8L, new float[2]);
+        assertThrows(IllegalStateException.class, () -> glBufferSubData(GL_ARRAY_BUFFER, 12L, new float[2]),
+                Pattern.compile("glBufferSubData called with range \\[12, 20\\) outside of the 16 bytes of buffer object \\[\\d+\\]"));
+    }
+
+    @Test
+    public void testDrawArraysBeyondBufferSize() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        int vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, 16L, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
+        glEnableVertexAttribArray(0);
+        glDrawArrays(GL_POINTS, 0, 2);
+        assertThrows(IllegalStateException.class, () -> glDrawArrays(GL_POINTS, 1, 2),
+                Pattern.compile("glDrawArrays fetches vertices \\[1\\.\\.2\\] but vertex array \\[0\\] only holds 2 vertices in buffer object \\[\\d+\\]"));
+    }
+
+    @Test
+    public void testDrawElementsIndexBeyondBufferSize() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        int vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, 16L, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
+        glEnableVertexAttribArray(0);
+        int ibo = glGenBuffers();
+        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ibo);
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, new short[] { 0, 1 }, GL_STATIC_DRAW);
+        glDrawElements(GL_POINTS, 2, GL_UNSIGNED_SHORT, 0L);
+        glBufferSubData(GL_ELEMENT_ARRAY_BUFFER, 2L, new short[] { 2 });
+        assertThrows(IllegalStateException.class, () -> glDrawElements(GL_POINTS, 2, GL_UNSIGNED_SHORT, 0L),
+                Pattern.compile("glDrawElements fetches vertices \\[0\\.\\.2\\] but vertex array \\[0\\] only holds 2 vertices in buffer object \\[\\d+\\]"));
+    }
+
     @Test
     public void testUnsafeVertexAttribPointerWithoutBuffer() {
         window = glfwCreateWindow(800, 600, "", 0L, 0L);
@@ -401,6 +492,131 @@ public class DebugIT {
         ARBVertexArrayObject.glDeleteVertexArrays(new int[] { vao });
     }
 
+    @Test
+    public void testVertexArrayBoundWhileNotValidating() {
+        assumeFalse(isMac); // Incompatible with macOS (requires GL3+ for VAO but GL2 behavior for default VAO)
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        Properties.MUTABLE.enabled = true;
+        try {
+            Control.setValidating(false);
+            int vao = glGenVertexArrays();
+            glBindVertexArray(vao);
+            int vbo = glGenBuffers();
+            glBindBuffer(GL_ARRAY_BUFFER, vbo);
+            glBufferData(GL_ARRAY_BUFFER, 16L, GL_STATIC_DRAW);
+            Control.setValidating(true);
+            glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L); // <--- MUST NOT THROW
+            glEnableVertexAttribArray(0);
+            glDrawArrays(GL_POINTS, 0, 2);
+            glBindVertexArray(0);
+            glBindVertexArray(vao);
+            glDrawArrays(GL_POINTS, 0, 2); // <--- MUST NOT THROW
+            glDeleteVertexArrays(new int[] { vao });
+        } finally {
+            Control.setValidating(true);
+            Properties.MUTABLE.enabled = false;
+        }
+    }
+
+    /*
+     * Load the agent from the jar it was started with into this JVM, which requires the system property jdk.attach.allowAttachSelf.
+     */
+    private static void loadAgent(String options) throws Exception {
+        Class<?> virtualMachine;
+        try {
+            virtualMachine = Class.forName("com.sun.tools.attach.VirtualMachine");
+        } catch (ClassNotFoundException e) {
+            assumeNoException(e);
+            return;
+        }
+        String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        String jar = new File(Control.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        Object vm = virtualMachine.getMethod("attach", String.class).invoke(null, pid);
+        try {
+            virtualMachine.getMethod("loadAgent", String.class, String.class).invoke(vm, jar, options);
+        } finally {
+            virtualMachine.getMethod("detach").invoke(vm);
+        }
+    }
+
+    /*
+     * Not intercepted, since this method is first invoked after the agent was detached.
+     */
+    private static int bindVertexArrayWhileDetached() {
+        int vao = glGenVertexArrays();
+        glBindVertexArray(vao);
+        int vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, 64L, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
+        glEnableVertexAttribArray(0);
+        return vao;
+    }
+
+    @Test
+    public void testVertexArrayBoundWhileDetached() throws Exception {
+        assumeFalse(isMac); // Incompatible with macOS (requires GL3+ for VAO but GL2 behavior for default VAO)
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        int vbo = glGenBuffers();
+        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        glBufferData(GL_ARRAY_BUFFER, 16L, GL_STATIC_DRAW);
+        glVertexAttribPointer(0, 2, GL_FLOAT, false, 0, 0L);
+        glEnableVertexAttribArray(0);
+        glDrawArrays(GL_POINTS, 0, 2);
+        loadAgent("detach");
+        int vao;
+        try {
+            vao = bindVertexArrayWhileDetached();
+        } finally {
+            loadAgent(null);
+            /* Detaching reset all options */
+            Properties.STRICT.enable();
+        }
+        glDrawArrays(GL_POINTS, 0, 8); // <--- MUST NOT THROW
+        glDeleteVertexArrays(new int[] { vao });
+    }
+
+    @Test
+    public void testGpuMemoryOfBoundTexturesAndRenderbuffers() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        Properties.GPU_MEMORY.enabled = true;
+        try {
+            Context.ShareGroup sg = Context.currentContext().shareGroup;
+            GL13.glActiveTexture(GL13.GL_TEXTURE1);
+            int tex = glGenTextures();
+            glBindTexture(GL_TEXTURE_2D, tex);
+            glTexParameteri(GL_TEXTURE_2D, GL12.GL_TEXTURE_MAX_LEVEL, 2);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, 64, 64, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+            GL13.glActiveTexture(GL13.GL_TEXTURE0);
+            glBindTexture(GL_TEXTURE_2D, 0);
+            GL13.glActiveTexture(GL13.GL_TEXTURE1);
+            glGenerateMipmap(GL_TEXTURE_2D);
+            /* Level 0 and the two levels up to GL_TEXTURE_MAX_LEVEL */
+            assertEquals(64 * 64 * 4 + 32 * 32 * 4 + 16 * 16 * 4, sg.memory[GpuMemory.TEXTURES]);
+            int rbo = glGenRenderbuffers();
+            glBindRenderbuffer(GL_RENDERBUFFER, rbo);
+            glRenderbufferStorage(GL_RENDERBUFFER, GL_RGBA8, 16, 16);
+            assertEquals(16 * 16 * 4, sg.memory[GpuMemory.RENDERBUFFERS]);
+            GpuMemory.report(sg, "in test");
+            assertTrue(sg.memoryReported);
+            glDeleteTextures(tex);
+            glDeleteRenderbuffers(rbo);
+            assertEquals(0L, sg.memory[GpuMemory.TEXTURES]);
+            assertEquals(0L, sg.memory[GpuMemory.RENDERBUFFERS]);
+            /* Freeing memory after the report must be reported again */
+            assertFalse(sg.memoryReported);
+            GL13.glActiveTexture(GL13.GL_TEXTURE0);
+        } finally {
+            Properties.GPU_MEMORY.enabled = false;
+        }
+    }
+
     @Test
     public void testEnabledAndDisabledVertexAttribute() {
         window = glfwCreateWindow(800, 600, "", 0L, 0L);
@@ -595,6 +811,48 @@ public class DebugIT {
                         "Trying to bind unknown FBO [1] from shared context [" + (Context.CURRENT_CONTEXT.get().counter - 1) + "]");
     }
 
+    @Test
+    public void testFramebufferCompleteAfterAttachment() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        int fbo = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, fbo);
+        assertThrows(IllegalStateException.class, () -> glClear(GL_COLOR_BUFFER_BIT),
+                        "Framebuffer [" + fbo + "] is not complete: " + GL_FRAMEBUFFER_INCOMPLETE_MISSING_ATTACHMENT);
+        int tex = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, tex);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        /* Attaching the texture must invalidate the completeness status remembered for the FBO */
+        glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, tex, 0);
+        glClear(GL_COLOR_BUFFER_BIT); // <--- MUST NOT THROW
+        /* Deleting the texture detaches it from the bound framebuffer */
+        glDeleteTextures(tex);
+        assertThrows(IllegalStateException.class, () -> glClear(GL_COLOR_BUFFER_BIT),
+                        "Framebuffer [" + fbo + "] is not complete: " + GL_FRAMEBUFFER_INCOMPLETE_MISSING_ATTACHMENT);
+    }
+
+    @Test
+    public void testGpuProfiler() {
+        window = glfwCreateWindow(800, 600, "", 0L, 0L);
+        glfwMakeContextCurrent(window);
+        createCapabilities();
+        Properties.GPU_PROFILE = "";
+        try {
+            for (int i = 0; i < 4; i++) {
+                Control.pushGpuSection("clear");
+                glClear(GL_COLOR_BUFFER_BIT);
+                Control.popGpuSection();
+                /* Make the queries of this frame available when the next frame ends */
+                glFinish();
+                glfwSwapBuffers(window);
+            }
+            assertTrue(Context.currentContext().gpuProfiler.reportedFrames() > 0);
+        } finally {
+            Properties.GPU_PROFILE = null;
+        }
+    }
+
     @Test
     public void testUniformWithoutBoundShader() {
         window = glfwCreateWindow(800, 600, "", 0L, 0L);